@@ -0,0 +1,104 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline and exits with status 1 if any benchmark
+ * regressed by more than the threshold.
+ * <p>
+ * A benchmark is matched by name, parameters and thread count. A regression is a change in the
+ * worse direction (lower throughput, higher time) larger than the threshold percentage and larger
+ * than the two runs' combined error margins, so noisy results do not fail the comparison.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> [thresholdPercent]}
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BaselineComparison() {
+    }
+
+    record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline at " + baselineFile + "; record one with -Djmh.results.dir=baselines");
+            System.exit(2);
+        }
+
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> result = read(resultFile);
+        int regressions = 0;
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(result).entrySet()) {
+            Score current = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  new%n", entry.getKey(), "-", current.score(), "");
+                continue;
+            }
+            if (!before.unit().equals(current.unit())) {
+                System.out.printf("%-90s unit changed from %s to %s, not compared%n",
+                        entry.getKey(), before.unit(), current.unit());
+                continue;
+            }
+            double changePercent = (current.score() - before.score()) / before.score() * 100;
+            double worsePercent = current.higherIsBetter() ? -changePercent : changePercent;
+            boolean beyondNoise = Math.abs(current.score() - before.score()) > before.error() + current.error();
+            boolean regressed = worsePercent > threshold && beyondNoise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.score(),
+                    current.score(), changePercent, current.unit(), regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !result.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s missing from the current run%n", key));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("No regressions beyond %.1f%%%n", threshold);
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replaceFirst("^com\\.bofa\\.aml\\.hra\\.benchmark\\.", ""));
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            key.append(" threads=").append(run.path("threads").asInt());
+
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,220 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.AmlHraApplication;
+import com.bofa.aml.hra.model.BusinessLine;
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.service.CaseAggregateReconciler;
+import com.bofa.aml.hra.service.CaseAssignmentEngine;
+import com.bofa.aml.hra.service.CompanySearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the API in-process for a benchmark fork and seeds its H2 database.
+ * Most suites start it without a web server and call the services directly, so they measure the
+ * service and persistence layers without HTTP; {@link #startServer} starts Tomcat for the suites
+ * that compare request handling. Scheduled jobs are pushed out past any benchmark run.
+ */
+public final class BenchmarkContext {
+
+    static final BusinessLine[] BUSINESS_LINES = BusinessLine.values();
+    static final int BATCH_SIZE = 1000;
+    static final String PASSWORD = "benchmark";
+
+    private static final String[] COMPANY_WORDS = {"Atlantic", "Meridian", "Summit", "Harbor", "Crescent",
+            "Pinnacle", "Granite", "Northern", "Silver", "Oak", "Cedar", "Union", "Pacific", "Sterling", "Beacon"};
+    private static final String[] COMPANY_SUFFIXES = {"Capital", "Holdings", "Partners", "Trading", "Investments",
+            "Group", "Securities", "Asset Management"};
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param profiles Spring profiles, e.g. slow-db or virtual-threads
+     */
+    public static ConfigurableApplicationContext start(String... profiles) {
+        return startWith(List.of(), profiles);
+    }
+
+    /**
+     * @param properties extra application properties as name=value, overriding application.yml
+     */
+    public static ConfigurableApplicationContext startWith(List<String> properties, String... profiles) {
+        return new SpringApplicationBuilder(AmlHraApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles)
+                .run(arguments(properties));
+    }
+
+    /**
+     * Start the API with Tomcat on a free port, read with {@link #port}. Requests authenticate with
+     * HTTP Basic as one of the generated analysts, with {@link #PASSWORD}.
+     */
+    public static ConfigurableApplicationContext startServer(List<String> properties, String... profiles) {
+        List<String> serverProperties = new ArrayList<>(properties);
+        serverProperties.add("server.port=0");
+        return new SpringApplicationBuilder(AmlHraApplication.class, AnalystUsers.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(profiles)
+                .run(arguments(serverProperties));
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    /**
+     * Analyst logins for {@link #startServer}; not a stereotype, so only the server suites register it
+     */
+    static class AnalystUsers {
+
+        private static final int USERS = 256;
+
+        @Bean
+        UserDetailsService benchmarkUsers() {
+            List<UserDetails> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(User.withUsername(analyst(i)).password("{noop}" + PASSWORD).roles("ANALYST").build());
+            }
+            return new InMemoryUserDetailsManager(users);
+        }
+    }
+
+    private static String[] arguments(List<String> properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.bofa.aml.hra=WARN",
+                "--logging.file.name=",
+                "--app.dashboard.reconcile-interval-ms=86400000",
+                "--app.assignment.reaper-interval-ms=86400000",
+                "--app.assignment.resync-interval-ms=86400000",
+                "--app.search.rebuild-interval-ms=86400000",
+                "--app.quick-actions.idle-check-interval-ms=86400000"));
+        properties.forEach(property -> args.add("--" + property));
+        return args.toArray(String[]::new);
+    }
+
+    public static String analyst(int index) {
+        return String.format("analyst-%03d", index);
+    }
+
+    public static String lob(int index) {
+        return BUSINESS_LINES[index % BUSINESS_LINES.length].getLabel();
+    }
+
+    /**
+     * Insert cases with a fixed status mix: 40% unassigned, the rest spread over the workflow
+     * statuses and assigned round-robin to the analysts. Creation times are one minute apart.
+     */
+    public static void seedCases(ConfigurableApplicationContext context, int count, int analysts) {
+        CaseJdbcRepository caseJdbcRepository = context.getBean(CaseJdbcRepository.class);
+        LocalDateTime start = LocalDateTime.now().minusMinutes(count);
+        List<Case> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            CaseStatus status = switch (i % 10) {
+                case 0, 1, 2, 3 -> CaseStatus.UNASSIGNED;
+                case 4 -> CaseStatus.ASSIGNED;
+                case 5 -> CaseStatus.IN_PROGRESS;
+                case 6 -> CaseStatus.ESCALATED;
+                case 7 -> CaseStatus.RETURNED;
+                default -> CaseStatus.COMPLETED;
+            };
+            boolean assigned = status != CaseStatus.UNASSIGNED;
+            LocalDateTime createdDate = start.plusMinutes(i);
+            batch.add(Case.builder()
+                    .caseId(caseId(i))
+                    .clientId(clientId(i % Math.max(1, count / 2)))
+                    .clientName(companyName(i))
+                    .clientType("Corporate")
+                    .status(status)
+                    .priority(i % 7 == 0 ? "high" : "medium")
+                    .riskRating(i % 3 == 0 ? "High" : "Medium")
+                    .lob(lob(i))
+                    .jurisdiction("United States")
+                    .assignedAnalyst(assigned ? analyst(i % analysts) : null)
+                    .createdDate(createdDate)
+                    .dueDate(createdDate.toLocalDate().plusDays(30))
+                    .assignedDate(assigned ? createdDate.plusHours(1) : null)
+                    .build());
+            if (batch.size() == BATCH_SIZE) {
+                caseJdbcRepository.batchInsert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            caseJdbcRepository.batchInsert(batch);
+        }
+    }
+
+    /**
+     * Insert clients with generated company names for the search benchmarks
+     */
+    public static void seedClients(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        java.sql.Date refreshed = java.sql.Date.valueOf(LocalDate.now().minusMonths(6));
+        for (int i = 0; i < count; i++) {
+            BusinessLine businessLine = BUSINESS_LINES[i % BUSINESS_LINES.length];
+            batch.add(new Object[]{clientId(i), companyName(i), "Corporate", businessLine.name(),
+                    businessLine.getLabel(), "United States", i % 3 == 0 ? "High" : "Medium", "active",
+                    refreshed, refreshed, now});
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO clients (client_id, legal_name, client_type, business_line, "
+                        + "lob, jurisdiction, risk_rating, status, refresh_initiation_date, "
+                        + "refresh_completion_date, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the in-memory queues, counters and search index from the seeded tables,
+     * as the application does at startup
+     */
+    public static void rebuildInMemoryState(ConfigurableApplicationContext context) {
+        context.getBean(CaseAssignmentEngine.class).rebuildQueues();
+        context.getBean(CaseAggregateReconciler.class).rebuildOnStartup();
+        context.getBean(CompanySearchIndex.class).rebuild();
+    }
+
+    /**
+     * Authenticate the calling thread, for the services that read the user from the security context
+     */
+    public static void authenticate(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    public static String caseId(int index) {
+        return String.format("HRA-B%08d", index);
+    }
+
+    public static String clientId(int index) {
+        return String.format("CLT-B%08d", index);
+    }
+
+    public static String companyName(int index) {
+        int words = COMPANY_WORDS.length;
+        int variants = words * words * COMPANY_SUFFIXES.length;
+        return String.format("%s %s %s %d", COMPANY_WORDS[index % words], COMPANY_WORDS[(index / words) % words],
+                COMPANY_SUFFIXES[(index / (words * words)) % COMPANY_SUFFIXES.length], index / variants + 1);
+    }
+}
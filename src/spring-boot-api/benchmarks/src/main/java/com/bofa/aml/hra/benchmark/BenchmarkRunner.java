@@ -0,0 +1,45 @@
+package com.bofa.aml.hra.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Runs one benchmark suite and writes its JMH results as JSON to {@code <resultsDir>/<suite>.json},
+ * the layout {@link BaselineComparison} expects.
+ * <p>
+ * Usage: {@code BenchmarkRunner <suite> <resultsDir> [jmh options]}
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkRunner <suite> <resultsDir> [jmh options]");
+            System.exit(2);
+        }
+        String suite = args[0];
+        Path results = Path.of(args[1]).resolve(suite + ".json");
+        Files.createDirectories(results.getParent());
+
+        CommandLineOptions jmhOptions = new CommandLineOptions(Arrays.copyOfRange(args, 2, args.length));
+        new Runner(new OptionsBuilder()
+                .parent(jmhOptions)
+                .include("\\." + suite + "\\.")
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build())
+                .run();
+        System.out.println("Results written to " + results);
+    }
+}
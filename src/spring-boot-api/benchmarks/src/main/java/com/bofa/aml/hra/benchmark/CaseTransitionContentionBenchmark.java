@@ -0,0 +1,152 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.dto.request.EscalateRequest;
+import com.bofa.aml.hra.dto.request.ReturnCaseRequest;
+import com.bofa.aml.hra.exception.CaseConflictException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.service.AuditJournal;
+import com.bofa.aml.hra.service.WorkflowService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escalations and returns racing on a handful of hot cases, with and without write-behind.
+ * Every thread escalates a random hot case, or returns it if it is already escalated, so most
+ * attempts collide with another thread's; the counters split them into applied transitions,
+ * version conflicts and attempts that lost on a stale status.
+ * <p>
+ * At the end of the trial the run is checked for lost updates: every applied transition must have
+ * moved its case version by exactly one and written exactly one audit record, otherwise the trial
+ * fails.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CaseTransitionContentionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    @Param({"8"})
+    public int hotCases;
+
+    private static final int SEEDED_CASES = 1000;
+    private static final AtomicInteger USER_IDS = new AtomicInteger();
+    private static final AtomicLong APPLIED = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private WorkflowService workflowService;
+    private List<String> hotCaseIds;
+    private long firstAuditSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.startWith(List.of(
+                "app.workflow.write-behind.enabled=" + writeBehind,
+                "app.audit.directory=" + Files.createTempDirectory("hra-audit-bench")));
+        BenchmarkContext.seedCases(context, SEEDED_CASES, 10);
+        BenchmarkContext.rebuildInMemoryState(context);
+        workflowService = context.getBean(WorkflowService.class);
+        // Every tenth case from the sixth on is seeded in progress, where an escalation can start
+        hotCaseIds = new ArrayList<>(hotCases);
+        for (int i = 0; i < hotCases; i++) {
+            hotCaseIds.add(BenchmarkContext.caseId(5 + 10 * i));
+        }
+        firstAuditSequence = context.getBean(AuditJournal.class).lastSequence() + 1;
+        APPLIED.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAndTearDown() {
+        try {
+            long versions = context.getBean(CaseJdbcRepository.class).findStates(hotCaseIds).stream()
+                    .mapToLong(CaseJdbcRepository.CaseState::version)
+                    .sum();
+            Set<String> hot = Set.copyOf(hotCaseIds);
+            AtomicLong audited = new AtomicLong();
+            context.getBean(AuditJournal.class).replay(firstAuditSequence, entry -> {
+                if (hot.contains(entry.caseId())) {
+                    audited.incrementAndGet();
+                }
+                return true;
+            });
+            long applied = APPLIED.get();
+            if (versions != applied || audited.get() != applied) {
+                throw new IllegalStateException(String.format(
+                        "Lost updates: %d transitions applied, case versions moved by %d, %d audit records",
+                        applied, versions, audited.get()));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Actor {
+        public long applied;
+        public long conflicts;
+        public long stale;
+
+        @Setup(Level.Trial)
+        public void authenticate() {
+            BenchmarkContext.authenticate("bench-manager-" + USER_IDS.getAndIncrement());
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            applied = 0;
+            conflicts = 0;
+            stale = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String transition04(Actor actor) {
+        return transition(actor);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String transition16(Actor actor) {
+        return transition(actor);
+    }
+
+    private String transition(Actor actor) {
+        String caseId = hotCaseIds.get(ThreadLocalRandom.current().nextInt(hotCaseIds.size()));
+        try {
+            String status;
+            try {
+                status = workflowService.escalateCase(new EscalateRequest(caseId, "hra-manager", "benchmark", null))
+                        .getStatus();
+            } catch (ValidationException alreadyEscalated) {
+                status = workflowService.returnCase(new ReturnCaseRequest(caseId, "benchmark", null)).getStatus();
+            }
+            actor.applied++;
+            APPLIED.incrementAndGet();
+            return status;
+        } catch (CaseConflictException e) {
+            actor.conflicts++;
+            return null;
+        } catch (ValidationException e) {
+            // Returned by another thread between the failed escalation and this return
+            actor.stale++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.dto.response.CaseAssignmentResponse;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.service.CaseAssignmentEngine;
+import com.bofa.aml.hra.service.WorkflowService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Get-next-case claim throughput from 1 to 64 concurrent analysts, through the workflow service
+ * and the assignment engine. Leases expire at once and are released before every iteration, so each
+ * iteration starts from the full queue; the "empty" counter shows if an iteration drained it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ClaimThroughputBenchmark {
+
+    /** 40% of the seeded cases are unassigned, enough for an iteration at the highest thread count */
+    @Param({"250000"})
+    public int cases;
+
+    private static final AtomicInteger ANALYST_IDS = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private CaseAssignmentEngine assignmentEngine;
+    private WorkflowService workflowService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWith(List.of("app.assignment.lease-ttl-seconds=0"));
+        BenchmarkContext.seedCases(context, cases, 10);
+        BenchmarkContext.rebuildInMemoryState(context);
+        assignmentEngine = context.getBean(CaseAssignmentEngine.class);
+        workflowService = context.getBean(WorkflowService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void refillQueues() {
+        assignmentEngine.releaseExpiredLeases();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Analyst {
+        public long claimed;
+        public long empty;
+
+        @Setup(Level.Trial)
+        public void authenticate() {
+            BenchmarkContext.authenticate("bench-" + BenchmarkContext.analyst(ANALYST_IDS.getAndIncrement()));
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            claimed = 0;
+            empty = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CaseAssignmentResponse claim01(Analyst analyst) {
+        return claim(analyst);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CaseAssignmentResponse claim04(Analyst analyst) {
+        return claim(analyst);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CaseAssignmentResponse claim16(Analyst analyst) {
+        return claim(analyst);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public CaseAssignmentResponse claim64(Analyst analyst) {
+        return claim(analyst);
+    }
+
+    private CaseAssignmentResponse claim(Analyst analyst) {
+        try {
+            CaseAssignmentResponse response = workflowService.getNextCase(null);
+            analyst.claimed++;
+            return response;
+        } catch (ResourceNotFoundException e) {
+            analyst.empty++;
+            return null;
+        }
+    }
+}
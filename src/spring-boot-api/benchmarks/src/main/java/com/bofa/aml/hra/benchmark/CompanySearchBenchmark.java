@@ -0,0 +1,70 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.service.CompanySearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company type-ahead through the in-memory search index, against a LIKE scan of the clients
+ * table as the reference point, for word-prefix, client-ID and misspelled queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CompanySearchBenchmark {
+
+    private static final int MAX_RESULTS = 20;
+
+    @Param({"100000", "1000000"})
+    public int clients;
+
+    @Param({"prefix", "two-words", "client-id", "typo"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private CompanySearchIndex searchIndex;
+    private JdbcTemplate jdbcTemplate;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedClients(context, clients);
+        searchIndex = context.getBean(CompanySearchIndex.class);
+        searchIndex.rebuild();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        text = switch (query) {
+            case "prefix" -> "mer";
+            case "two-words" -> "summit cap";
+            case "client-id" -> BenchmarkContext.clientId(clients / 2).substring(0, 10);
+            case "typo" -> "sterlnig";
+            default -> throw new IllegalArgumentException("Unknown query " + query);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CompanySearchIndex.Match> index() {
+        return searchIndex.search(text, null, MAX_RESULTS);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sqlLikeScan() {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return jdbcTemplate.queryForList("SELECT client_id, legal_name, lob FROM clients "
+                + "WHERE LOWER(legal_name) LIKE ? OR LOWER(client_id) LIKE ? LIMIT " + MAX_RESULTS, pattern, pattern);
+    }
+}
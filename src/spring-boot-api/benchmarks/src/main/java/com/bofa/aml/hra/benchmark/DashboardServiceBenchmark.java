@@ -0,0 +1,126 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.service.ActivityFeed;
+import com.bofa.aml.hra.service.DashboardService;
+import com.bofa.aml.hra.service.DashboardSummaryService;
+import com.bofa.aml.hra.service.EscalationRollupStore;
+import com.bofa.aml.hra.service.TurnaroundSketchStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard reads against a seeded case table and 90 days of escalation, turnaround and activity
+ * history. These go through the service, not the response cache in front of the controller, so
+ * they measure the cost of a cache miss.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DashboardServiceBenchmark {
+
+    private static final int HISTORY_DAYS = 90;
+    private static final int ANALYSTS = 50;
+
+    @Param({"20000"})
+    public int cases;
+
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private DashboardSummaryService summaryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedCases(context, cases, ANALYSTS);
+        BenchmarkContext.rebuildInMemoryState(context);
+        seedHistory();
+        dashboardService = context.getBean(DashboardService.class);
+        summaryService = context.getBean(DashboardSummaryService.class);
+    }
+
+    private void seedHistory() {
+        EscalationRollupStore rollups = context.getBean(EscalationRollupStore.class);
+        TurnaroundSketchStore turnaround = context.getBean(TurnaroundSketchStore.class);
+        ActivityFeed activityFeed = context.getBean(ActivityFeed.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day < HISTORY_DAYS; day++) {
+            LocalDate date = today.minusDays(day);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < 20; i++) {
+                    rollups.recordEscalation(EscalationDestination.values()[i % EscalationDestination.values().length], date);
+                }
+            });
+            LocalDateTime leftAt = date.atTime(17, 0);
+            for (int i = 0; i < 200; i++) {
+                TurnaroundSketchStore.Stage stage = TurnaroundSketchStore.Stage.values()[i % TurnaroundSketchStore.Stage.values().length];
+                turnaround.recordStage(BenchmarkContext.caseId(i), stage, BenchmarkContext.lob(i),
+                        leftAt.minusMinutes(30L + i * 37L), leftAt);
+            }
+        }
+        for (int i = 0; i < activityFeed.capacity(); i++) {
+            activityFeed.publish("assigned", "Case " + BenchmarkContext.caseId(i) + " assigned",
+                    BenchmarkContext.caseId(i), BenchmarkContext.analyst(i % ANALYSTS), null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RiskOverviewResponse riskOverview() {
+        return dashboardService.getRiskOverview();
+    }
+
+    @Benchmark
+    public WorkflowDistributionResponse workflowDistribution() {
+        return dashboardService.getWorkflowDistribution();
+    }
+
+    @Benchmark
+    public EscalationTrendsResponse escalationTrends() {
+        return dashboardService.getEscalationTrends(12, "week");
+    }
+
+    @Benchmark
+    public TurnaroundTimesResponse turnaroundTimes() {
+        return dashboardService.getTurnaroundTimes(HISTORY_DAYS, null);
+    }
+
+    @Benchmark
+    public RecentActivityResponse recentActivity() {
+        return dashboardService.getRecentActivity(10);
+    }
+
+    @Benchmark
+    public QuickActionsResponse quickActions() {
+        return dashboardService.getQuickActions("hra-analyst", BenchmarkContext.analyst(0));
+    }
+
+    @Benchmark
+    public TeamCapacityResponse teamCapacity() {
+        return dashboardService.getTeamCapacity();
+    }
+
+    @Benchmark
+    public DashboardSummaryResponse summary() {
+        return summaryService.getSummary(List.of(), new DashboardSummaryService.SummaryParams(
+                4, "week", 30, null, 10, "hra-analyst", BenchmarkContext.analyst(0)));
+    }
+}
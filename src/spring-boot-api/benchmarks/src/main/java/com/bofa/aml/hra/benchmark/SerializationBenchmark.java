@@ -0,0 +1,70 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.dto.response.ApiResponse;
+import com.bofa.aml.hra.service.CaseViewService;
+import com.bofa.aml.hra.service.DashboardSummaryService;
+import com.bofa.aml.hra.service.WorkflowService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping a response in {@link ApiResponse} and writing it with the application's
+ * ObjectMapper, for the largest response bodies. The payloads are built once by the real services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final int CASES = 2_000;
+    private static final String ANALYST = BenchmarkContext.analyst(0);
+
+    @Param({"workbasket", "work-queue", "case-view", "dashboard-summary"})
+    public String payload;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedClients(context, CASES / 2);
+        BenchmarkContext.seedCases(context, CASES, 4);
+        BenchmarkContext.rebuildInMemoryState(context);
+        BenchmarkContext.authenticate(ANALYST);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        body = switch (payload) {
+            case "workbasket" -> context.getBean(WorkflowService.class).getMyWorkbasket("all", 100, 0, null);
+            case "work-queue" -> context.getBean(WorkflowService.class).getWorkQueue(null, 100, 0, null);
+            case "case-view" -> context.getBean(CaseViewService.class).getCaseView(BenchmarkContext.caseId(0));
+            case "dashboard-summary" -> context.getBean(DashboardSummaryService.class).getSummary(List.of(),
+                    new DashboardSummaryService.SummaryParams(4, "week", 30, null, 10, "hra-analyst", ANALYST));
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApiResponse<Object> wrap() {
+        return ApiResponse.success(body);
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(body));
+    }
+}
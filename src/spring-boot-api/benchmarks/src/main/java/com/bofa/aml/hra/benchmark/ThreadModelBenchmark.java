@@ -0,0 +1,106 @@
+package com.bofa.aml.hra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform against virtual threads with the slow-db profile, which adds 20 ms to every statement.
+ * 256 callers send HTTP requests to the running API, more than Tomcat's 200 platform request threads,
+ * so the thread model that serves the requests and the case-view sections is what differs between
+ * the two runs. The JDBC pool and the case-view section limit are sized to the callers so neither is
+ * the limit in either mode. Reports
+ * the latency distribution per request; compare p50 and p99 between the modes. The virtual mode needs
+ * a Java 21 runtime.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(ThreadModelBenchmark.CALLERS)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    static final int CALLERS = 256;
+    private static final int CASES = 5_000;
+    private static final int ANALYSTS = 64;
+    // Section loads a case view starts: the case's client and the four sections
+    private static final int SECTIONS = 5;
+
+    @Param({"platform", "virtual"})
+    public String threadModel;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadModel);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime, found " + Runtime.version());
+        }
+        // The case view would otherwise be served from the risk lookup cache after the first pass
+        List<String> properties = List.of("app.risk-cache.max-entries=0",
+                "spring.datasource.hikari.maximum-pool-size=" + CALLERS,
+                "app.case-view.threads=" + CALLERS * SECTIONS);
+        context = virtual
+                ? BenchmarkContext.startServer(properties, "slow-db", "virtual-threads")
+                : BenchmarkContext.startServer(properties, "slow-db");
+        BenchmarkContext.seedClients(context, CASES / 2);
+        BenchmarkContext.seedCases(context, CASES, ANALYSTS);
+        BenchmarkContext.rebuildInMemoryState(context);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + BenchmarkContext.port(context) + "/api";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        String authorization;
+
+        @Setup(Level.Trial)
+        public void login() {
+            String credentials = BenchmarkContext.analyst(ThreadLocalRandom.current().nextInt(ANALYSTS))
+                    + ":" + BenchmarkContext.PASSWORD;
+            authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public byte[] caseView(Caller caller) throws IOException, InterruptedException {
+        return get(caller, "/v1/risk-assessment/case-view/"
+                + BenchmarkContext.caseId(ThreadLocalRandom.current().nextInt(CASES)));
+    }
+
+    @Benchmark
+    public byte[] myWorkbasket(Caller caller) throws IOException, InterruptedException {
+        return get(caller, "/v1/workflows/workbasket/my-cases?filter=active&limit=50");
+    }
+
+    private byte[] get(Caller caller, String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", caller.authorization)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
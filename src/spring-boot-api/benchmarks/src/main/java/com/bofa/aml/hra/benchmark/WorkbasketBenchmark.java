@@ -0,0 +1,87 @@
+package com.bofa.aml.hra.benchmark;
+
+import com.bofa.aml.hra.dto.response.WorkQueueResponse;
+import com.bofa.aml.hra.dto.response.WorkbasketResponse;
+import com.bofa.aml.hra.service.WorkflowService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workbasket and work-queue filtering and paging, comparing offset and keyset (cursor) paging
+ * on the first page and on a deep page. Each analyst holds about 3,000 of the seeded cases.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WorkbasketBenchmark {
+
+    private static final int CASES = 50_000;
+    private static final int ANALYSTS = 10;
+    private static final int PAGE_SIZE = 50;
+    private static final int DEEP_PAGE = 20;
+    private static final String ANALYST = BenchmarkContext.analyst(0);
+
+    @Param({"all", "active"})
+    public String filter;
+
+    @Param({"offset", "cursor"})
+    public String paging;
+
+    @Param({"first", "deep"})
+    public String page;
+
+    private ConfigurableApplicationContext context;
+    private WorkflowService workflowService;
+    private int offset;
+    private String workbasketCursor;
+    private String workQueueCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedCases(context, CASES, ANALYSTS);
+        BenchmarkContext.rebuildInMemoryState(context);
+        workflowService = context.getBean(WorkflowService.class);
+
+        boolean deep = "deep".equals(page);
+        offset = deep ? DEEP_PAGE * PAGE_SIZE : 0;
+        if ("cursor".equals(paging)) {
+            BenchmarkContext.authenticate(ANALYST);
+            // An empty cursor starts keyset paging at the first page; follow it down to the deep page
+            workbasketCursor = "";
+            workQueueCursor = "";
+            for (int i = 0; deep && i < DEEP_PAGE; i++) {
+                workbasketCursor = workflowService.getMyWorkbasket(filter, PAGE_SIZE, 0, workbasketCursor).getNext();
+                workQueueCursor = workflowService.getWorkQueue(null, PAGE_SIZE, 0, workQueueCursor).getNext();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        @Setup(Level.Trial)
+        public void authenticate() {
+            BenchmarkContext.authenticate(ANALYST);
+        }
+    }
+
+    @Benchmark
+    public WorkbasketResponse myWorkbasket(Caller caller) {
+        return workflowService.getMyWorkbasket(filter, PAGE_SIZE, offset, workbasketCursor);
+    }
+
+    @Benchmark
+    public WorkQueueResponse workQueue() {
+        return workflowService.getWorkQueue(null, PAGE_SIZE, offset, workQueueCursor);
+    }
+}
@@ -0,0 +1,119 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.util.QueryAccounting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for background work such as bulk jobs and request fan-out.
+ * With spring.threads.virtual.enabled (the virtual-threads profile, Java 21) the same limits
+ * apply but the work runs on virtual threads. Executors that load parts of a request carry its
+ * query accounting ledger over, so their statements count towards the request.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String BULK_JOB_EXECUTOR = "bulkJobExecutor";
+    public static final String CASE_VIEW_EXECUTOR = "caseViewExecutor";
+    public static final String ACTIVITY_STREAM_EXECUTOR = "activityStreamExecutor";
+    public static final String DASHBOARD_SUMMARY_EXECUTOR = "dashboardSummaryExecutor";
+
+    @Bean(name = BULK_JOB_EXECUTOR)
+    public Executor bulkJobExecutor(@Value("${app.bulk.max-concurrent-jobs:4}") int maxConcurrentJobs,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads) {
+            // Keep the job queue so submitting a job never blocks the request
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("bulk-job-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("bulk-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Loads case-view sections concurrently. Section loads are short blocking DB calls, so the
+     * pool is sized by concurrent sections rather than cores; when it is saturated the request
+     * thread loads the section itself instead of failing it. On virtual threads the limit is a
+     * concurrency throttle instead of a pool, and a saturated request waits for a free slot.
+     */
+    @Bean(name = CASE_VIEW_EXECUTOR)
+    public Executor caseViewExecutor(@Value("${app.case-view.threads:32}") int threads,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("case-view-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            executor.setTaskDecorator(QueryAccounting::propagate);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("case-view-");
+        executor.setTaskDecorator(QueryAccounting::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Computes dashboard summary sections concurrently. Sections mostly read in-memory aggregates,
+     * so a small pool is enough; when it is saturated the request thread computes the section itself.
+     */
+    @Bean(name = DASHBOARD_SUMMARY_EXECUTOR)
+    public Executor dashboardSummaryExecutor(@Value("${app.dashboard.summary.threads:8}") int threads,
+                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-summary-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            executor.setTaskDecorator(QueryAccounting::propagate);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("dashboard-summary-");
+        executor.setTaskDecorator(QueryAccounting::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes activity events to SSE subscribers. Only subscribers with pending events occupy a
+     * thread, so a few threads serve thousands of idle streams. Tasks are handed straight to a
+     * thread, never queued, so a send blocked on one client cannot delay another; the pool grows to
+     * max-dispatch-threads and then rejects, which the broadcaster treats as "catch up later".
+     */
+    @Bean(name = ACTIVITY_STREAM_EXECUTOR)
+    public Executor activityStreamExecutor(@Value("${app.activity.dispatch-threads:4}") int threads,
+                                           @Value("${app.activity.max-dispatch-threads:64}") int maxThreads,
+                                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("activity-stream-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(Math.max(threads, maxThreads));
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("activity-stream-");
+        executor.initialize();
+        return executor;
+    }
+}
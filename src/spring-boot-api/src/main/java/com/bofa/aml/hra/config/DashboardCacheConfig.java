@@ -0,0 +1,33 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.service.DashboardResponseCache;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Puts the dashboard response cache in front of the read-only dashboard endpoints.
+ * The activity stream is deliberately not listed. Quick actions include the caller's own counts,
+ * so they are cached per user.
+ */
+@Configuration
+public class DashboardCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<DashboardCacheFilter> dashboardCacheFilter(DashboardResponseCache responseCache) {
+        FilterRegistrationBean<DashboardCacheFilter> registration =
+                new FilterRegistrationBean<>(new DashboardCacheFilter(responseCache,
+                        Set.of("/v1/dashboard/quick-actions")));
+        registration.addUrlPatterns(
+                "/v1/dashboard/risk-overview",
+                "/v1/dashboard/workflow-distribution",
+                "/v1/dashboard/escalation-trends",
+                "/v1/dashboard/turnaround-times",
+                "/v1/dashboard/recent-activity",
+                "/v1/dashboard/quick-actions",
+                "/v1/dashboard/team-capacity");
+        return registration;
+    }
+}
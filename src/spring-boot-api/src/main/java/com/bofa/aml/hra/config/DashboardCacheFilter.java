@@ -0,0 +1,99 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.service.DashboardResponseCache;
+import com.bofa.aml.hra.util.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Serves GETs on the dashboard endpoints from {@link DashboardResponseCache}.
+ * A hit replays the stored bytes, or answers 304 with no body when If-None-Match carries the
+ * entry's ETag. A miss runs the controller, keeps the body if the status is 200 and returns it
+ * with its new ETag. Registered for the dashboard endpoint paths only by {@link DashboardCacheConfig};
+ * responses of the per-user paths are cached per caller.
+ */
+public class DashboardCacheFilter extends OncePerRequestFilter {
+
+    private final DashboardResponseCache responseCache;
+    private final Set<String> perUserPaths;
+
+    public DashboardCacheFilter(DashboardResponseCache responseCache, Set<String> perUserPaths) {
+        this.responseCache = responseCache;
+        this.perUserPaths = perUserPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        if (perUserPaths.contains(request.getServletPath())) {
+            key = SecurityUtils.currentUserId() + " " + key;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        DashboardResponseCache.Entry entry = responseCache.lookup(key);
+        if (entry != null) {
+            // No handler runs on a hit; name the endpoint for the per-request metrics
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, request.getServletPath());
+            write(response, entry, ifNoneMatch);
+            return;
+        }
+
+        long version = responseCache.version();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        entry = responseCache.store(key, wrapper.getContentAsByteArray(), wrapper.getContentType(), version);
+        wrapper.resetBuffer();
+        write(response, entry, ifNoneMatch);
+    }
+
+    private void write(HttpServletResponse response, DashboardResponseCache.Entry entry, String ifNoneMatch)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        // Let browsers keep the body but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (matches(ifNoneMatch, entry.etag())) {
+            responseCache.recordNotModified();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.service.CaseAssignmentEngine;
+import com.bofa.aml.hra.service.DashboardResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Application metrics, published with the Spring Boot ones at /actuator/prometheus.
+ * Request latency per endpoint (http.server.requests) and JDBC pool usage (hikaricp.*) come from
+ * Spring Boot; histograms for them are enabled in application.yml. This adds service method timers
+ * and gauges over the assignment queues and the dashboard response cache, which are read when the
+ * registry is scraped and cost nothing on the request path.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String BASE_PACKAGE = "com.bofa.aml.hra.";
+
+    @Bean
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut servicePublicMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass().getName().startsWith(BASE_PACKAGE);
+            }
+        };
+        servicePublicMethods.setClassFilter(type -> type.getName().startsWith(BASE_PACKAGE)
+                && AnnotatedElementUtils.hasAnnotation(type, Service.class));
+        return new DefaultPointcutAdvisor(servicePublicMethods, new ServiceTimingInterceptor(meterRegistry));
+    }
+
+    @Bean
+    public MeterBinder assignmentMetrics(CaseAssignmentEngine assignmentEngine) {
+        return registry -> {
+            Gauge.builder("hra.assignment.queue.depth", assignmentEngine, CaseAssignmentEngine::totalQueueDepth)
+                    .description("Unassigned cases waiting in the get-next-case queues")
+                    .register(registry);
+            Gauge.builder("hra.assignment.leases.active", assignmentEngine, CaseAssignmentEngine::activeLeases)
+                    .description("Claimed cases not yet opened")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dashboardCacheMetrics(DashboardResponseCache responseCache) {
+        return registry -> {
+            FunctionCounter.builder("hra.dashboard.cache.requests", responseCache, cache -> cache.stats().hits())
+                    .description("Dashboard response cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hra.dashboard.cache.requests", responseCache, cache -> cache.stats().misses())
+                    .description("Dashboard response cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hra.dashboard.cache.not.modified", responseCache,
+                            cache -> cache.stats().notModified())
+                    .description("Dashboard requests answered 304 Not Modified")
+                    .register(registry);
+            Gauge.builder("hra.dashboard.cache.entries", responseCache, cache -> cache.stats().entries())
+                    .description("Cached dashboard responses")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.util.QueryAccounting;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Per-request SQL accounting. The data source is wrapped so that statements, rows read and
+ * driver time are added to the calling thread's {@link QueryAccounting} ledger, and
+ * {@link QueryBudgetFilter} opens a ledger per request and checks it when the request ends.
+ * Statements prepared without a ledger, such as in background jobs, are not wrapped.
+ */
+@Configuration
+public class QueryAccountingConfig {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate", "executeLargeBatch");
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+
+    @Bean
+    public static BeanPostProcessor queryAccountingDataSourcePostProcessor() {
+        return new QueryAccountingPostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.query-budget.enforce:false}") boolean enforce,
+            @Value("${app.query-budget.debug-header:false}") boolean debugHeader,
+            @Value("${app.query-budget.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+                new QueryBudgetFilter(meterRegistry, enforce, debugHeader, repeatedStatementThreshold));
+        // Outermost, so the debug header also covers responses served by the dashboard cache
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Runs after the slow-db post-processor, so this wrapper is the outer one and the measured
+     * driver time includes the latency that profile adds
+     */
+    private static final class QueryAccountingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return accountedConnection(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return accountedConnection(super.getConnection(username, password));
+                }
+            };
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    private static Connection accountedConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryAccountingConfig.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (QueryAccounting.current() == null) {
+                        return result;
+                    }
+                    String sql = PREPARE_METHODS.contains(method.getName()) ? (String) args[0] : null;
+                    if (result instanceof CallableStatement statement) {
+                        return accountedStatement(statement, CallableStatement.class, sql);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return accountedStatement(statement, PreparedStatement.class, sql);
+                    }
+                    if (result instanceof Statement statement) {
+                        return accountedStatement(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object accountedStatement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return Proxy.newProxyInstance(QueryAccountingConfig.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    QueryAccounting.Ledger ledger = QueryAccounting.current();
+                    if (ledger == null) {
+                        return invoke(statement, method, args);
+                    }
+                    Object result;
+                    if (EXECUTE_METHODS.contains(method.getName())) {
+                        long startedAt = System.nanoTime();
+                        try {
+                            result = invoke(statement, method, args);
+                        } finally {
+                            String sql = preparedSql != null ? preparedSql
+                                    : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                            ledger.recordStatement(sql, System.nanoTime() - startedAt);
+                        }
+                    } else {
+                        result = invoke(statement, method, args);
+                    }
+                    return result instanceof ResultSet resultSet ? countedRows(resultSet, ledger) : result;
+                });
+    }
+
+    private static ResultSet countedRows(ResultSet resultSet, QueryAccounting.Ledger ledger) {
+        return (ResultSet) Proxy.newProxyInstance(QueryAccountingConfig.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        ledger.recordRow();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.exception.QueryBudgetExceededException;
+import com.bofa.aml.hra.util.QueryAccounting;
+import com.bofa.aml.hra.util.QueryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link QueryAccounting} ledger for each request and, when it ends, records the statement
+ * count, rows read and JDBC time per endpoint, flags SQL repeated often enough to suggest an N+1
+ * pattern, and checks the endpoint's {@link QueryBudget}.
+ * <p>
+ * With enforcement or the debug header enabled the body is buffered until the request ends, so an
+ * endpoint over budget fails before any of its response is committed, and the response can carry
+ * the numbers in X-Query-Stats; both are meant for tests and development. Streamed responses are
+ * never buffered, so their budget is only logged, see {@link BudgetedResponse}.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATS_HEADER = "X-Query-Stats";
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enforce;
+    private final boolean debugHeader;
+    private final int repeatedStatementThreshold;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry, boolean enforce, boolean debugHeader,
+                             int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enforce = enforce;
+        this.debugHeader = debugHeader;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    private record EndpointMeters(DistributionSummary statements, DistributionSummary rows, Timer jdbcTime,
+                                  Counter overBudget, Counter repeatedStatements) {
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        BudgetedResponse buffered = debugHeader || enforce ? new BudgetedResponse(request, response) : null;
+        QueryAccounting.Ledger ledger = QueryAccounting.begin();
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryAccounting.end();
+        }
+
+        String endpoint = endpoint(request);
+        EndpointMeters endpointMeters = meters.computeIfAbsent(endpoint, this::register);
+        endpointMeters.statements().record(ledger.statements());
+        endpointMeters.rows().record(ledger.rows());
+        endpointMeters.jdbcTime().record(ledger.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Long> repeated = ledger.mostRepeated();
+        if (repeated != null && repeated.getValue() > repeatedStatementThreshold) {
+            endpointMeters.repeatedStatements().increment();
+            log.warn("Possible N+1 on {} {}: same statement run {} times: {}",
+                    request.getMethod(), endpoint, repeated.getValue(), repeated.getKey());
+        }
+
+        boolean streamed = buffered == null || buffered.streamed();
+        QueryBudget budget = budget(request);
+        String overBudget = null;
+        if (budget != null && ledger.statements() > budget.statements()) {
+            endpointMeters.overBudget().increment();
+            overBudget = String.format("%s %s ran %d statements, over its budget of %d",
+                    request.getMethod(), endpoint, ledger.statements(), budget.statements());
+            if (enforce && !streamed) {
+                // Nothing has reached the client yet, so the request fails instead of its body being sent
+                buffered.resetBuffer();
+                throw new QueryBudgetExceededException(overBudget);
+            }
+        }
+
+        if (buffered != null) {
+            if (debugHeader && !streamed) {
+                buffered.setHeader(STATS_HEADER, String.format("statements=%d; rows=%d; jdbc-ms=%.1f",
+                        ledger.statements(), ledger.rows(), ledger.jdbcNanos() / 1_000_000.0));
+            }
+            buffered.copyBodyToResponse();
+        }
+        if (overBudget != null) {
+            log.warn(overBudget);
+        }
+    }
+
+    /**
+     * Buffers the body until the filter has checked the budget, except for a streamed response, which
+     * is written straight through: one whose handler returns an emitter or a streaming body, or that
+     * is written after the request went async. Such a response has reached the client by the time the
+     * filter runs, so going over its budget is only logged and counted, enforced or not.
+     */
+    private static final class BudgetedResponse extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+        private volatile boolean streamed;
+
+        BudgetedResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        boolean streamed() {
+            if (!streamed && (request.isAsyncStarted() || returnsStream(request))) {
+                streamed = true;
+            }
+            return streamed;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return streamed() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return streamed() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (streamed()) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            if (streamed()) {
+                getResponse().setContentLength(len);
+            } else {
+                super.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (streamed()) {
+                getResponse().setContentLengthLong(len);
+            } else {
+                super.setContentLengthLong(len);
+            }
+        }
+    }
+
+    /**
+     * Whether the matched handler returns an emitter, such as an SSE one, or a streaming body,
+     * possibly inside a ResponseEntity
+     */
+    private static boolean returnsStream(HttpServletRequest request) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return false;
+        }
+        ResolvableType returnType = ResolvableType.forMethodParameter(handler.getReturnType());
+        if (ResponseEntity.class.isAssignableFrom(returnType.toClass())) {
+            returnType = returnType.getGeneric(0);
+        }
+        Class<?> body = returnType.toClass();
+        return ResponseBodyEmitter.class.isAssignableFrom(body) || StreamingResponseBody.class.isAssignableFrom(body);
+    }
+
+    /**
+     * The matched mapping pattern, e.g. /v1/workflows/workbasket/my-cases, so path variables do not
+     * create a meter per case
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMAPPED;
+    }
+
+    private static QueryBudget budget(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                ? handler.getMethodAnnotation(QueryBudget.class)
+                : null;
+    }
+
+    private EndpointMeters register(String endpoint) {
+        return new EndpointMeters(
+                DistributionSummary.builder("hra.request.statements")
+                        .description("JDBC statements per request")
+                        .tag("uri", endpoint)
+                        .register(meterRegistry),
+                DistributionSummary.builder("hra.request.rows")
+                        .description("Rows read per request")
+                        .tag("uri", endpoint)
+                        .register(meterRegistry),
+                Timer.builder("hra.request.jdbc")
+                        .description("Time spent in JDBC calls per request")
+                        .tag("uri", endpoint)
+                        .register(meterRegistry),
+                Counter.builder("hra.request.query.budget.exceeded")
+                        .description("Requests that ran more statements than their query budget")
+                        .tag("uri", endpoint)
+                        .register(meterRegistry),
+                Counter.builder("hra.request.repeated.statements")
+                        .description("Requests that ran one statement often enough to suggest an N+1 pattern")
+                        .tag("uri", endpoint)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,60 @@
+package com.bofa.aml.hra.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call to a public service method as {@code hra.service}, tagged with the class, the
+ * method and whether it returned or threw. The timers of a method are registered on its first call
+ * and cached, so later calls only read the clock and record into an existing timer.
+ * The registry is looked up lazily: advisors are created before the registry is configured.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+
+    static final String METRIC = "hra.service";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record MethodTimers(Timer success, Timer error) {
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(invocation.getMethod(), this::register);
+        long startedAt = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.error().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MethodTimers register(Method method) {
+        return new MethodTimers(timer(method, "success"), timer(method, "error"));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Service method latency")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry.getObject());
+    }
+}
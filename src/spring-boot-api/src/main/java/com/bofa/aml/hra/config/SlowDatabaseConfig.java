@@ -0,0 +1,112 @@
+package com.bofa.aml.hra.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Benchmark-only profile that adds a fixed latency to every statement execution, so the
+ * platform-thread and virtual-thread modes can be compared against a slow database using
+ * the in-memory H2 database. Never enable in production.
+ */
+@Configuration
+@Profile("slow-db")
+@Slf4j
+public class SlowDatabaseConfig {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate", "executeLargeBatch");
+
+    @Bean
+    public static BeanPostProcessor slowDataSourcePostProcessor(
+            @Value("${app.benchmark.db-latency-ms:20}") long latencyMs) {
+        return new SlowDataSourcePostProcessor(latencyMs);
+    }
+
+    /**
+     * Runs first, so query accounting wraps this data source and counts the added latency as driver time
+     */
+    private static final class SlowDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final long latencyMs;
+
+        private SlowDataSourcePostProcessor(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            log.warn("slow-db profile active: adding {} ms to every statement on data source {}", latencyMs, beanName);
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slowConnection(super.getConnection(), latencyMs);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return slowConnection(super.getConnection(username, password), latencyMs);
+                }
+            };
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static Connection slowConnection(Connection connection, long latencyMs) {
+        return (Connection) Proxy.newProxyInstance(SlowDatabaseConfig.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return slowStatement(statement, CallableStatement.class, latencyMs);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return slowStatement(statement, PreparedStatement.class, latencyMs);
+                    }
+                    if (result instanceof Statement statement) {
+                        return slowStatement(statement, Statement.class, latencyMs);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object slowStatement(Statement statement, Class<? extends Statement> type, long latencyMs) {
+        return Proxy.newProxyInstance(SlowDatabaseConfig.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (EXECUTE_METHODS.contains(method.getName())) {
+                        Thread.sleep(latencyMs);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
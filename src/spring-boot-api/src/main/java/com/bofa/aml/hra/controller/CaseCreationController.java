@@ -0,0 +1,51 @@
+package com.bofa.aml.hra.controller;
+
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.service.CaseCreationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * REST Controller for Case Creation APIs
+ * Handles bulk case uploads and bulk job progress
+ */
+@RestController
+@RequestMapping("/v1/cases")
+@RequiredArgsConstructor
+@Tag(name = "Case Creation", description = "Case creation and bulk job APIs")
+@CrossOrigin(origins = "*")
+public class CaseCreationController {
+
+    private final CaseCreationService caseCreationService;
+
+    @PostMapping(value = "/bulk-upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk case upload", 
+               description = "Upload a CSV of cases to create as a background job; poll /bulk-jobs/{jobId} for progress")
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> bulkUpload(
+            @Parameter(description = "CSV with columns clientId, clientName, lob, riskRating and optionally " +
+                    "caseId, clientType, jurisdiction, priority, dueDate") 
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Priority for rows without one: low, medium, high, critical") 
+            @RequestParam(defaultValue = "medium") String defaultPriority,
+            @Parameter(description = "Analyst to assign all cases to, or auto-assign to leave them in the work queue") 
+            @RequestParam(defaultValue = "auto-assign") String defaultAnalyst) {
+        BulkJobStatusResponse response = caseCreationService.startBulkUpload(file, defaultPriority, defaultAnalyst);
+        return ResponseEntity.accepted().body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/bulk-jobs/{jobId}")
+    @Operation(summary = "Get bulk job status", 
+               description = "Progress and per-item failures of a background bulk upload or bulk reassignment job")
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> getBulkJobStatus(
+            @Parameter(description = "Job ID") 
+            @PathVariable String jobId) {
+        BulkJobStatusResponse response = caseCreationService.getBulkJobStatus(jobId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -1,13 +1,22 @@
 package com.bofa.aml.hra.controller;
 
 import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.service.ActivityStreamBroadcaster;
+import com.bofa.aml.hra.service.DashboardResponseCache;
 import com.bofa.aml.hra.service.DashboardService;
+import com.bofa.aml.hra.service.DashboardSummaryService;
+import com.bofa.aml.hra.util.QueryBudget;
+import com.bofa.aml.hra.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 /**
  * REST Controller for Dashboard APIs
@@ -21,8 +30,12 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardSummaryService dashboardSummaryService;
+    private final ActivityStreamBroadcaster activityStreamBroadcaster;
+    private final DashboardResponseCache responseCache;
 
     @GetMapping("/risk-overview")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Get risk overview metrics", 
                description = "Retrieves high-level risk metrics for the dashboard overview cards")
     public ResponseEntity<ApiResponse<RiskOverviewResponse>> getRiskOverview() {
@@ -31,6 +44,7 @@ public class DashboardController {
     }
 
     @GetMapping("/workflow-distribution")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Get workflow status distribution", 
                description = "Returns case count distribution across workflow statuses for pie chart visualization")
     public ResponseEntity<ApiResponse<WorkflowDistributionResponse>> getWorkflowDistribution() {
@@ -39,24 +53,33 @@ public class DashboardController {
     }
 
     @GetMapping("/escalation-trends")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get escalation trends", 
                description = "Weekly escalation patterns by destination role for trend analysis")
     public ResponseEntity<ApiResponse<EscalationTrendsResponse>> getEscalationTrends(
             @Parameter(description = "Number of weeks to retrieve") 
-            @RequestParam(defaultValue = "4") int weeks) {
-        EscalationTrendsResponse response = dashboardService.getEscalationTrends(weeks);
+            @RequestParam(defaultValue = "4") int weeks,
+            @Parameter(description = "Period of each row: week or day") 
+            @RequestParam(defaultValue = "week") String granularity) {
+        EscalationTrendsResponse response = dashboardService.getEscalationTrends(weeks, granularity);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/turnaround-times")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Get turnaround time metrics", 
-               description = "Average case processing times by role with target comparisons")
-    public ResponseEntity<ApiResponse<TurnaroundTimesResponse>> getTurnaroundTimes() {
-        TurnaroundTimesResponse response = dashboardService.getTurnaroundTimes();
+               description = "Average and p50/p90/p99 time cases spend with each role, with target comparisons")
+    public ResponseEntity<ApiResponse<TurnaroundTimesResponse>> getTurnaroundTimes(
+            @Parameter(description = "Number of days, including today, of stage exits to include") 
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Restrict to one LOB") 
+            @RequestParam(required = false) String lob) {
+        TurnaroundTimesResponse response = dashboardService.getTurnaroundTimes(days, lob);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/recent-activity")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Get recent workflow activity", 
                description = "Recent case activities and workflow events across all users")
     public ResponseEntity<ApiResponse<RecentActivityResponse>> getRecentActivity(
@@ -66,21 +89,77 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping(value = "/recent-activity/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream recent workflow activity", 
+               description = "Server-Sent Events stream of new activities ('activity' events). A 'resync' event means " +
+                       "events were dropped for a slow client and /recent-activity should be reloaded")
+    public SseEmitter streamRecentActivity(
+            @Parameter(description = "ID of the last event received, to replay missed events after a reconnect") 
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return activityStreamBroadcaster.subscribe(lastEventId);
+    }
+
     @GetMapping("/quick-actions")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get role-specific quick actions", 
                description = "Returns action cards with counts based on user role")
     public ResponseEntity<ApiResponse<QuickActionsResponse>> getQuickActions(
             @Parameter(description = "User role: hra-analyst, hra-manager, flu-aml, gfc") 
             @RequestParam String userRole) {
-        QuickActionsResponse response = dashboardService.getQuickActions(userRole);
+        QuickActionsResponse response = dashboardService.getQuickActions(userRole, SecurityUtils.currentUserId());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/team-capacity")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Get team capacity overview", 
                description = "Team workload and capacity metrics (Manager and above only)")
     public ResponseEntity<ApiResponse<TeamCapacityResponse>> getTeamCapacity() {
         TeamCapacityResponse response = dashboardService.getTeamCapacity();
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/summary")
+    @QueryBudget(statements = 2)
+    @Operation(summary = "Get several dashboard sections in one call", 
+               description = "Computes the requested sections in parallel. A section that fails or times out is " +
+                       "listed in sectionErrors and the other sections are still returned")
+    public ResponseEntity<ApiResponse<DashboardSummaryResponse>> getSummary(
+            @Parameter(description = "Comma-separated sections: risk-overview, workflow-distribution, escalation-trends, " +
+                    "turnaround-times, recent-activity, quick-actions, team-capacity. Defaults to all") 
+            @RequestParam(required = false) List<String> sections,
+            @Parameter(description = "escalation-trends: number of weeks to retrieve") 
+            @RequestParam(defaultValue = "4") int weeks,
+            @Parameter(description = "escalation-trends: period of each row, week or day") 
+            @RequestParam(defaultValue = "week") String granularity,
+            @Parameter(description = "turnaround-times: number of days of stage exits to include") 
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "turnaround-times: restrict to one LOB") 
+            @RequestParam(required = false) String lob,
+            @Parameter(description = "recent-activity: number of activities to retrieve") 
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "quick-actions: user role, required when quick-actions is requested") 
+            @RequestParam(required = false) String userRole) {
+        DashboardSummaryResponse response = dashboardSummaryService.getSummary(sections,
+                new DashboardSummaryService.SummaryParams(weeks, granularity, days, lob, limit, userRole,
+                        SecurityUtils.currentUserId()));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Get dashboard response cache statistics", 
+               description = "Hit, miss and 304 counts of the server-side cache in front of the dashboard endpoints on this node")
+    public ResponseEntity<ApiResponse<DashboardCacheStatsResponse>> getCacheStats() {
+        DashboardResponseCache.Stats stats = responseCache.stats();
+        DashboardCacheStatsResponse response = DashboardCacheStatsResponse.builder()
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .hitRatio(stats.hitRatio())
+                .notModified(stats.notModified())
+                .rejected(stats.rejected())
+                .entries(stats.entries())
+                .dataVersion(stats.version())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
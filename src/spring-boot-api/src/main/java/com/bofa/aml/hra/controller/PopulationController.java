@@ -0,0 +1,53 @@
+package com.bofa.aml.hra.controller;
+
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.service.PopulationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for Population Identification APIs
+ * Exposes the monthly High Risk Summary population and its eligibility criteria
+ */
+@RestController
+@RequestMapping("/v1/population")
+@RequiredArgsConstructor
+@Tag(name = "Population Identification", description = "Monthly HRS population identification APIs")
+@CrossOrigin(origins = "*")
+public class PopulationController {
+
+    private final PopulationService populationService;
+
+    @GetMapping("/overview")
+    @Operation(summary = "Get population overview", 
+               description = "Eligible population and progress of the latest identification run")
+    public ResponseEntity<ApiResponse<PopulationOverviewResponse>> getOverview() {
+        PopulationOverviewResponse response = populationService.getOverview();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/criteria-matrix")
+    @Operation(summary = "Get criteria matrix", 
+               description = "Pass/fail counts per eligibility criterion and business line rules for the latest run")
+    public ResponseEntity<ApiResponse<CriteriaMatrixResponse>> getCriteriaMatrix() {
+        CriteriaMatrixResponse response = populationService.getCriteriaMatrix();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/runs")
+    @Operation(summary = "Start population identification", 
+               description = "Starts an identification run in the background; poll /overview for progress")
+    public ResponseEntity<ApiResponse<PopulationOverviewResponse>> startRun(
+            @Parameter(description = "Run date the criteria are evaluated against, defaults to today") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate runDate) {
+        PopulationOverviewResponse response = populationService.startRun(runDate);
+        return ResponseEntity.accepted().body(ApiResponse.success(response));
+    }
+}
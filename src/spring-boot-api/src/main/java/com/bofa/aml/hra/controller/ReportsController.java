@@ -0,0 +1,78 @@
+package com.bofa.aml.hra.controller;
+
+import com.bofa.aml.hra.dto.request.GenerateReportRequest;
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.service.ReportService;
+import com.bofa.aml.hra.util.QueryBudget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+/**
+ * REST Controller for Reports APIs
+ * Generates case and population reports as CSV or JSON lines, streamed or as background jobs
+ */
+@RestController
+@RequestMapping("/v1/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Report generation and download APIs")
+@CrossOrigin(origins = "*")
+public class ReportsController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/available-reports")
+    @QueryBudget(statements = 0)
+    @Operation(summary = "List available reports", 
+               description = "Reports that can be generated, with their columns and formats")
+    public ResponseEntity<ApiResponse<List<ReportDefinitionResponse>>> getAvailableReports() {
+        return ResponseEntity.ok(ApiResponse.success(reportService.listReports()));
+    }
+
+    @PostMapping("/generate")
+    @Operation(summary = "Generate report", 
+               description = "Stream the report as it is read from the database. For large reports use /jobs instead, " +
+                       "which does not hold a database connection while the client downloads")
+    public ResponseEntity<StreamingResponseBody> generateReport(@Valid @RequestBody GenerateReportRequest request) {
+        ReportService.ReportContent<StreamingResponseBody> report = reportService.stream(request);
+        return attachment(report);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Generate report as a background job", 
+               description = "Generate the report into a file; poll /v1/cases/bulk-jobs/{jobId} for progress, then " +
+                       "download it from /jobs/{jobId}/file")
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> startReportJob(
+            @Valid @RequestBody GenerateReportRequest request) {
+        BulkJobStatusResponse response = reportService.startExport(request);
+        return ResponseEntity.accepted().body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/jobs/{jobId}/file")
+    @Operation(summary = "Download generated report", 
+               description = "File of a finished report job; supports Range requests to resume an interrupted download")
+    public ResponseEntity<Resource> downloadReport(
+            @Parameter(description = "Report job ID") 
+            @PathVariable String jobId) {
+        return attachment(reportService.download(jobId));
+    }
+
+    private static <T> ResponseEntity<T> attachment(ReportService.ReportContent<T> report) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(report.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(report.filename()).build().toString())
+                .body(report.body());
+    }
+}
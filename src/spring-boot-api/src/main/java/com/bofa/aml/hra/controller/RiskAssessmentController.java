@@ -2,15 +2,23 @@ package com.bofa.aml.hra.controller;
 
 import com.bofa.aml.hra.dto.request.RiskSummaryRequest;
 import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.service.CaseViewService;
+import com.bofa.aml.hra.service.CrrSnapshotService;
 import com.bofa.aml.hra.service.RiskAssessmentService;
+import com.bofa.aml.hra.util.QueryBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -25,8 +33,11 @@ import java.util.List;
 public class RiskAssessmentController {
 
     private final RiskAssessmentService riskAssessmentService;
+    private final CaseViewService caseViewService;
+    private final CrrSnapshotService crrSnapshotService;
 
     @GetMapping("/companies/search")
+    @QueryBudget(statements = 0)
     @Operation(summary = "Search companies", 
                description = "Search companies for risk assessment")
     public ResponseEntity<ApiResponse<List<CompanySearchResult>>> searchCompanies(
@@ -39,6 +50,7 @@ public class RiskAssessmentController {
     }
 
     @GetMapping("/customer/{clientId}")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get customer information", 
                description = "Retrieve detailed customer information for risk assessment")
     public ResponseEntity<ApiResponse<CustomerInfoResponse>> getCustomerInfo(
@@ -48,7 +60,20 @@ public class RiskAssessmentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/case-view/{caseId}")
+    @QueryBudget(statements = 5)
+    @Operation(summary = "Get case view", 
+               description = "Customer information, CRR factors, additional factors and mitigants for a case in one call; " +
+                       "sections that fail or time out are reported in sectionErrors")
+    public ResponseEntity<ApiResponse<CaseViewResponse>> getCaseView(
+            @Parameter(description = "Case ID") 
+            @PathVariable String caseId) {
+        CaseViewResponse response = caseViewService.getCaseView(caseId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/crr-factors/{caseId}")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get CRR risk factors", 
                description = "Current and previous CRR risk factors comparison")
     public ResponseEntity<ApiResponse<CrrRiskFactorsResponse>> getCrrRiskFactors(
@@ -58,7 +83,59 @@ public class RiskAssessmentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PostMapping(value = "/crr-snapshots", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import CRR snapshot", 
+               description = "Import one refresh's CRR risk factors from a CSV as a background job; poll " +
+                       "/v1/cases/bulk-jobs/{jobId} for progress")
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> importCrrSnapshot(
+            @Parameter(description = "CSV with columns clientId, category, factor, value, impact, sorted by clientId") 
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Refresh date (yyyy-MM-dd); replaces an earlier snapshot of the same date") 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate refreshDate) {
+        BulkJobStatusResponse response = crrSnapshotService.startImport(file, refreshDate);
+        return ResponseEntity.accepted().body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/crr-snapshots")
+    @QueryBudget(statements = 0)
+    @Operation(summary = "List CRR snapshots", 
+               description = "Imported CRR refreshes, oldest first")
+    public ResponseEntity<ApiResponse<List<CrrSnapshotResponse>>> listCrrSnapshots() {
+        return ResponseEntity.ok(ApiResponse.success(crrSnapshotService.listSnapshots()));
+    }
+
+    @GetMapping("/crr-diffs/{clientId}")
+    @QueryBudget(statements = 0)
+    @Operation(summary = "Get CRR factor diff", 
+               description = "CRR risk factors of a client that changed between two refreshes, by default the latest two")
+    public ResponseEntity<ApiResponse<CrrFactorDiffResponse>> getCrrFactorDiff(
+            @Parameter(description = "Client ID") 
+            @PathVariable String clientId,
+            @Parameter(description = "Refresh to compare (yyyy-MM-dd), default the latest") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate refreshDate,
+            @Parameter(description = "Refresh to compare against (yyyy-MM-dd), default the one before refreshDate") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate previousDate) {
+        CrrFactorDiffResponse response = crrSnapshotService.getDiff(clientId, refreshDate, previousDate);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping(value = "/crr-diffs", produces = "application/x-ndjson")
+    @QueryBudget(statements = 0)
+    @Operation(summary = "Stream CRR factor diffs", 
+               description = "Every client whose CRR risk factors changed between two refreshes, one JSON object per " +
+                       "line in client ID order")
+    public ResponseEntity<StreamingResponseBody> streamCrrFactorDiffs(
+            @Parameter(description = "Refresh to compare (yyyy-MM-dd), default the latest") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate refreshDate,
+            @Parameter(description = "Refresh to compare against (yyyy-MM-dd), default the one before refreshDate") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate previousDate) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(crrSnapshotService.streamDiffs(refreshDate, previousDate));
+    }
+
     @GetMapping("/additional-factors/{caseId}")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get additional risk factors", 
                description = "CAM, TRMS, and escalation information")
     public ResponseEntity<ApiResponse<AdditionalRiskFactorsResponse>> getAdditionalRiskFactors(
@@ -69,6 +146,7 @@ public class RiskAssessmentController {
     }
 
     @GetMapping("/mitigants/{caseId}")
+    @QueryBudget(statements = 1)
     @Operation(summary = "Get risk mitigants", 
                description = "Active risk mitigation controls and measures")
     public ResponseEntity<ApiResponse<RiskMitigantsResponse>> getRiskMitigants(
@@ -3,14 +3,17 @@ package com.bofa.aml.hra.controller;
 import com.bofa.aml.hra.dto.request.*;
 import com.bofa.aml.hra.dto.response.*;
 import com.bofa.aml.hra.service.WorkflowService;
+import com.bofa.aml.hra.util.QueryBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 
 /**
  * REST Controller for Workflow APIs
@@ -26,34 +29,57 @@ public class WorkflowController {
     private final WorkflowService workflowService;
 
     @GetMapping("/workbasket/my-cases")
+    @QueryBudget(statements = 2)
     @Operation(summary = "Get my workbasket cases", 
-               description = "Retrieve cases assigned to current user")
+               description = "Retrieve cases assigned to current user. Pass the returned next token " +
+                       "as cursor for stable keyset paging; offset is kept for backward compatibility")
     public ResponseEntity<ApiResponse<WorkbasketResponse>> getMyWorkbasket(
             @Parameter(description = "Filter: all, active, escalations, completed, returned") 
             @RequestParam(defaultValue = "all") String filter,
             @RequestParam(defaultValue = "50") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
-        WorkbasketResponse response = workflowService.getMyWorkbasket(filter, limit, offset);
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Page cursor from a previous response; empty for the first page") 
+            @RequestParam(required = false) String cursor) {
+        WorkbasketResponse response = workflowService.getMyWorkbasket(filter, limit, offset, cursor);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/work-queue")
+    @QueryBudget(statements = 2)
     @Operation(summary = "Get work queue", 
-               description = "Get unassigned cases in the work queue (Manager view)")
+               description = "Get unassigned cases in the work queue (Manager view). Pass the returned " +
+                       "next token as cursor for stable keyset paging")
     public ResponseEntity<ApiResponse<WorkQueueResponse>> getWorkQueue(
             @Parameter(description = "Line of Business filter") 
             @RequestParam(required = false) String lob,
             @RequestParam(defaultValue = "50") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
-        WorkQueueResponse response = workflowService.getWorkQueue(lob, limit, offset);
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Page cursor from a previous response; empty for the first page") 
+            @RequestParam(required = false) String cursor) {
+        WorkQueueResponse response = workflowService.getWorkQueue(lob, limit, offset, cursor);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/get-next-case")
+    @QueryBudget(statements = 3)
     @Operation(summary = "Get next case (FIFO)", 
-               description = "Assign next available case to analyst using FIFO logic")
-    public ResponseEntity<ApiResponse<CaseAssignmentResponse>> getNextCase() {
-        CaseAssignmentResponse response = workflowService.getNextCase();
+               description = "Assign next available case to analyst using FIFO logic. " +
+                       "The assignment is a lease that returns to the queue unless the case is opened")
+    public ResponseEntity<ApiResponse<CaseAssignmentResponse>> getNextCase(
+            @Parameter(description = "Line of Business filter, oldest case across all LOBs when omitted") 
+            @RequestParam(required = false) String lob) {
+        CaseAssignmentResponse response = workflowService.getNextCase(lob);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/cases/{caseId}/open")
+    @QueryBudget(statements = 2)
+    @Operation(summary = "Open assigned case", 
+               description = "Open a case claimed through get-next-case, making the assignment permanent")
+    public ResponseEntity<ApiResponse<CaseAssignmentResponse>> openCase(
+            @Parameter(description = "Case ID") 
+            @PathVariable String caseId) {
+        CaseAssignmentResponse response = workflowService.openCase(caseId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -77,11 +103,12 @@ public class WorkflowController {
 
     @PostMapping("/bulk-reassign")
     @Operation(summary = "Bulk reassignment", 
-               description = "Reassign multiple cases to different analyst or LOB")
+               description = "Reassign multiple cases to different analyst or LOB. Runs as a background " +
+                       "job; poll /v1/cases/bulk-jobs/{jobId} for progress")
     public ResponseEntity<ApiResponse<BulkReassignmentResponse>> bulkReassign(
             @Valid @RequestBody BulkReassignRequest request) {
         BulkReassignmentResponse response = workflowService.bulkReassign(request);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.accepted().body(ApiResponse.success(response));
     }
 
     @PostMapping("/disposition")
@@ -92,4 +119,21 @@ public class WorkflowController {
         DispositionResponse response = workflowService.submitDisposition(request);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/audit")
+    @QueryBudget(statements = 0)
+    @Operation(summary = "Get audit trail", 
+               description = "Escalations, returns, bulk reassignments and dispositions from the audit journal, " +
+                       "oldest first")
+    public ResponseEntity<ApiResponse<AuditTrailResponse>> getAuditTrail(
+            @Parameter(description = "Case ID, all cases when omitted") 
+            @RequestParam(required = false) String caseId,
+            @Parameter(description = "Earliest record time, inclusive") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Latest record time, exclusive") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        AuditTrailResponse response = workflowService.getAuditTrail(caseId, from, to, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
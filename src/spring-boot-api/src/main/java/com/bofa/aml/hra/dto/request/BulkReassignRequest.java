@@ -0,0 +1,25 @@
+package com.bofa.aml.hra.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReassignRequest {
+
+    @NotEmpty(message = "At least one case ID is required")
+    private List<String> caseIds;
+
+    private String targetAnalyst;
+
+    private String targetLob;
+
+    private String reason;
+}
@@ -0,0 +1,27 @@
+package com.bofa.aml.hra.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscalateRequest {
+
+    @NotBlank(message = "Case ID is required")
+    private String caseId;
+
+    @NotBlank(message = "Escalation target is required")
+    @Pattern(regexp = "hra-manager|flu-aml|gfc", message = "Escalation target must be hra-manager, flu-aml or gfc")
+    private String escalateTo;
+
+    @NotBlank(message = "Reason is required")
+    private String reason;
+
+    private Long version; // optional: version the client last read; a changed case fails with CASE_CONFLICT
+}
@@ -0,0 +1,36 @@
+package com.bofa.aml.hra.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateReportRequest {
+
+    @NotBlank(message = "Report type is required")
+    @Pattern(regexp = "case-detail|client-population",
+             message = "Report type must be case-detail or client-population")
+    private String reportType;
+
+    @Builder.Default
+    @Pattern(regexp = "csv|jsonl", message = "Format must be csv or jsonl")
+    private String format = "csv";
+
+    private String lob;
+
+    private String status; // case status code for case-detail, client status for client-population
+
+    private String riskRating;
+
+    private LocalDate fromDate; // inclusive, on the report's date column
+
+    private LocalDate toDate; // inclusive
+}
@@ -0,0 +1,22 @@
+package com.bofa.aml.hra.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnCaseRequest {
+
+    @NotBlank(message = "Case ID is required")
+    private String caseId;
+
+    @NotBlank(message = "Return reason is required")
+    private String reason;
+
+    private Long version; // optional: version the client last read; a changed case fails with CASE_CONFLICT
+}
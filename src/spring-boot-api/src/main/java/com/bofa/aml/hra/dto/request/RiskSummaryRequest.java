@@ -0,0 +1,34 @@
+package com.bofa.aml.hra.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskSummaryRequest {
+
+    @NotBlank(message = "Case ID is required")
+    private String caseId;
+
+    @NotBlank(message = "Summary is required")
+    private String summary;
+
+    @NotBlank(message = "Recommendation is required")
+    @Pattern(regexp = "no_factors|escalate_flu|escalate_gfc|reject|cancel",
+             message = "Recommendation must be no_factors, escalate_flu, escalate_gfc, reject or cancel")
+    private String recommendation;
+
+    private String escalationReason;
+
+    private boolean fileTrms;
+
+    private String trmsTrackingNumber;
+
+    private boolean confirmDataReviewed;
+}
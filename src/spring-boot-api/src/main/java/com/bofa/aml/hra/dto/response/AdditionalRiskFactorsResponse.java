@@ -0,0 +1,63 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for CAM, TRMS, escalation and key attribute change information
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdditionalRiskFactorsResponse {
+    private String caseId;
+    private CamInfo cam;
+    private TrmsInfo trms;
+    private EscalationInfo clientEscalation;
+    private AttributeChanges attributeChanges;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CamInfo {
+        private Boolean hadBreaches;
+        private String caseStatus;
+        private Boolean trmsFiled;
+        private String summaryNarrative;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrmsInfo {
+        private Boolean hadTrmsReferrals;
+        private List<String> referralTypes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EscalationInfo {
+        private Boolean hadEscalations;
+        private String escalationDescription;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AttributeChanges {
+        private Boolean ownershipChanges;
+        private Boolean addressChanges;
+        private Boolean businessChanges;
+        private Boolean incomeSourceChanges;
+    }
+}
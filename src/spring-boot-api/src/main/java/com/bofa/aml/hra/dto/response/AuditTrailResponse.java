@@ -0,0 +1,32 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditTrailResponse {
+    private String caseId;
+    private List<AuditRecord> data;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AuditRecord {
+        private long sequence;
+        private String action; // "escalated", "returned", "reassigned", "completed"
+        private String caseId;
+        private String userId;
+        private LocalDateTime recordedAt;
+        private Map<String, String> details;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bofa.aml.hra.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for background bulk job progress
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkJobStatusResponse {
+    private String jobId;
+    private String jobType; // "bulk-reassign", "bulk-upload", "crr-snapshot-import", "report-export"
+    private String status; // "queued", "running", "completed", "completed-with-errors", "failed"
+    private Long totalItems;
+    private Long processedItems;
+    private Long succeededItems;
+    private Long failedItems;
+    private Map<String, Long> counters; // job-specific progress, e.g. parsed, valid, rejected, inserted
+    private List<ItemFailure> failures; // capped at the first 1000 failures
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String message;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemFailure {
+        private String itemId;
+        private String reason;
+    }
+}
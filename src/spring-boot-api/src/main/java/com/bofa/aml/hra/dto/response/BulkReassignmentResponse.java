@@ -0,0 +1,18 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReassignmentResponse {
+    private String jobId;
+    private String status;
+    private Integer totalRequested;
+    private String targetAnalyst;
+    private String targetLob;
+}
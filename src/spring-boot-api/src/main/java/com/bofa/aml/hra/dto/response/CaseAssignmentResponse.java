@@ -0,0 +1,24 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseAssignmentResponse {
+    private String caseId;
+    private String clientId;
+    private String clientName;
+    private String lob;
+    private String priority;
+    private String status;
+    private String assignedTo;
+    private LocalDateTime assignedAt;
+    private LocalDateTime leaseExpiresAt; // null once the case has been opened
+}
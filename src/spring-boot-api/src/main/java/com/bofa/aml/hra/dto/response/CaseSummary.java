@@ -0,0 +1,36 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Case row shared by the workbasket and work queue listings
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSummary {
+    private String caseId;
+    private String clientId;
+    private String clientName;
+    private String clientType;
+    private String status; // "unassigned", "assigned", "in-progress", "manual-review", "escalated", "returned", "completed"
+    private String priority;
+    private String assignedAnalyst;
+    private LocalDateTime createdDate;
+    private LocalDate dueDate;
+    private String riskRating;
+    private String jurisdiction;
+    private String lob;
+    private Long daysInQueue;
+    private String returnReason;
+    private LocalDateTime completedDate;
+    private Boolean escalationPending;
+    private Long version;
+}
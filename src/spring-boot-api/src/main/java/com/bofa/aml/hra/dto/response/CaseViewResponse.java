@@ -0,0 +1,42 @@
+package com.bofa.aml.hra.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the composite case view; a section that failed or timed out is omitted
+ * and listed in sectionErrors instead
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CaseViewResponse {
+    private String caseId;
+    private String clientId;
+    private CustomerInfoResponse customerInfo;
+    private CrrRiskFactorsResponse crrRiskFactors;
+    private AdditionalRiskFactorsResponse additionalRiskFactors;
+    private RiskMitigantsResponse riskMitigants;
+    private Boolean complete;
+    private List<SectionError> sectionErrors;
+    private Map<String, Long> sectionTimingsMs;
+    private Long elapsedMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionError {
+        private String section; // "customerInfo", "crrRiskFactors", "additionalRiskFactors", "riskMitigants"
+        private String status; // "timeout", "not-found", "error"
+        private String message;
+    }
+}
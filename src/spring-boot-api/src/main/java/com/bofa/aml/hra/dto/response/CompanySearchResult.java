@@ -0,0 +1,25 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a company search hit
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanySearchResult {
+    private String clientId;
+    private String legalName;
+    private String clientType;
+    private String businessLine;
+    private String lob;
+    private String jurisdiction;
+    private String riskRating;
+    private String matchType; // "id", "name", "fuzzy"
+    private Integer score;
+}
@@ -0,0 +1,50 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for the population identification criteria matrix
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriteriaMatrixResponse {
+    private String runId;
+    private LocalDate runDate;
+    private List<CriterionResult> criteria;
+    private List<BusinessLineRule> businessLineRules;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CriterionResult {
+        private String criterion;
+        private String description;
+        private String priority; // "Critical", "High", "Medium"
+        private String status; // "Active", "Conditional"
+        private Long passed;
+        private Long failed;
+        private Double compliance; // percentage of evaluated clients passing
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BusinessLineRule {
+        private String businessLine;
+        private String crrBasis;
+        private String camAlignment;
+        private Long evaluated;
+        private Long eligible;
+        private Double completionRate;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * CRR risk factors of a client that changed between two refresh snapshots; also one line of the
+ * bulk diff stream
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrrFactorDiffResponse {
+    private String clientId;
+    private LocalDate refreshDate;
+    private LocalDate previousRefreshDate;
+    private List<FactorChange> changes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FactorChange {
+        private String category;
+        private String factor;
+        private String previousValue;
+        private String currentValue;
+        private String previousImpact;
+        private String currentImpact;
+        private String change; // "new", "removed", "increased", "decreased", "changed"
+    }
+}
@@ -0,0 +1,37 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for current vs previous CRR risk factors
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrrRiskFactorsResponse {
+    private String caseId;
+    private String clientId;
+    private LocalDate mostRecentRefreshDate;
+    private LocalDate previousRefreshDate;
+    private List<RiskFactor> currentFactors;
+    private List<RiskFactor> previousFactors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RiskFactor {
+        private String category;
+        private String factor;
+        private String value;
+        private String impact; // "high", "medium", "low"
+        private String change; // "increased", "decreased", "new", "removed", "unchanged"
+    }
+}
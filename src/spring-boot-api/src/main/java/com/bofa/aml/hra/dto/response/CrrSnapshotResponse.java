@@ -0,0 +1,22 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A stored CRR risk factor snapshot of one refresh
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrrSnapshotResponse {
+    private LocalDate refreshDate;
+    private int clients;
+    private int factors;
+    private long sizeBytes;
+}
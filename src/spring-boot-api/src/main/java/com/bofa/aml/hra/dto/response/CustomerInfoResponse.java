@@ -0,0 +1,36 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for Customer Information
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerInfoResponse {
+    private String clientId;
+    private String legalName;
+    private String entityType;
+    private String businessLine;
+    private String primaryFlu;
+    private List<String> additionalFlus;
+    private List<String> bookingJurisdictions;
+    private Boolean isRegulated;
+    private String regulator;
+    private String systemOfRecord;
+    private String status; // "active", "exiting", "closed"
+    private LocalDate mostRecentRefreshDate;
+    private String mostRecentRiskRating;
+    private LocalDate previousRefreshDate;
+    private String previousRiskRating;
+    private LocalDate craCompletionDate;
+    private LocalDate camCompletionDate;
+}
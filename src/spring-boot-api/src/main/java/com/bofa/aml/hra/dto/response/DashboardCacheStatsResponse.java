@@ -0,0 +1,20 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardCacheStatsResponse {
+    private Long hits;
+    private Long misses;
+    private Double hitRatio;
+    private Long notModified; // hits answered with 304 and no body
+    private Long rejected; // responses not cached because the cache was full
+    private Integer entries;
+    private Long dataVersion;
+}
@@ -0,0 +1,43 @@
+package com.bofa.aml.hra.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the batched dashboard summary; sections that were not requested are omitted,
+ * and a section that failed or timed out is omitted and listed in sectionErrors instead
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardSummaryResponse {
+    private RiskOverviewResponse riskOverview;
+    private WorkflowDistributionResponse workflowDistribution;
+    private EscalationTrendsResponse escalationTrends;
+    private TurnaroundTimesResponse turnaroundTimes;
+    private RecentActivityResponse recentActivity;
+    private QuickActionsResponse quickActions;
+    private TeamCapacityResponse teamCapacity;
+    private Boolean complete;
+    private List<SectionError> sectionErrors;
+    private Map<String, Long> sectionTimingsMs;
+    private Long elapsedMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionError {
+        private String section; // "risk-overview", "workflow-distribution", "escalation-trends", "turnaround-times", "recent-activity", "quick-actions", "team-capacity"
+        private String status; // "timeout", "invalid", "error"
+        private String message;
+    }
+}
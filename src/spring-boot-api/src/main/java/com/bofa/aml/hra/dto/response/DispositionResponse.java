@@ -0,0 +1,21 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispositionResponse {
+    private String caseId;
+    private String disposition;
+    private String status;
+    private String completedBy;
+    private LocalDateTime completedAt;
+    private Long version;
+}
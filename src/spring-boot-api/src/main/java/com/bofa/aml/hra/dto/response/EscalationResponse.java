@@ -0,0 +1,21 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscalationResponse {
+    private String caseId;
+    private String escalatedTo;
+    private String escalatedBy;
+    private String status;
+    private LocalDateTime escalatedAt;
+    private Long version;
+}
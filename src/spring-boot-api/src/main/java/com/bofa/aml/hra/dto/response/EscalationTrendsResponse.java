@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -12,6 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class EscalationTrendsResponse {
+    private String granularity; // "week" or "day"
     private List<WeeklyTrend> data;
     
     @Data
@@ -19,7 +21,8 @@ public class EscalationTrendsResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class WeeklyTrend {
-        private String week;
+        private String week; // period label
+        private LocalDate periodStart;
         private Integer toManager;
         private Integer toFLU;
         private Integer toGFC;
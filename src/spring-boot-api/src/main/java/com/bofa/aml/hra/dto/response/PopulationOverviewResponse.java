@@ -0,0 +1,58 @@
+package com.bofa.aml.hra.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the monthly population identification overview
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PopulationOverviewResponse {
+    private String runId;
+    private String status; // "not-run", "running", "completed", "completed-with-errors", "failed"
+    private LocalDate runDate;
+    private Long totalClients;
+    private Long eligiblePopulation;
+    private Long refreshCompleted;
+    private Long pendingCam; // meet every criterion except CAM completion
+    private Double eligibilityRate; // percentage of evaluated clients
+    private List<BusinessLineCount> byBusinessLine;
+    private Progress progress;
+    private String message;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BusinessLineCount {
+        private String businessLine;
+        private Long evaluated;
+        private Long eligible;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Progress {
+        private Integer totalPartitions;
+        private Integer completedPartitions;
+        private Integer failedPartitions;
+        private Integer parallelism;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        private Long elapsedMs;
+        private Long clientsPerSecond;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a report that can be generated
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDefinitionResponse {
+    private String reportType;
+    private String name;
+    private String description;
+    private String dateColumn; // column the fromDate / toDate filter applies to
+    private List<String> columns;
+    private List<String> formats; // "csv", "jsonl"
+}
@@ -0,0 +1,22 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnCaseResponse {
+    private String caseId;
+    private String returnedTo;
+    private String returnedBy;
+    private String reason;
+    private String status;
+    private LocalDateTime returnedAt;
+    private Long version;
+}
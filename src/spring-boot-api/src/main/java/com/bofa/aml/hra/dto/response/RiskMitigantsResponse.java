@@ -0,0 +1,36 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for active risk mitigants on a case
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskMitigantsResponse {
+    private String caseId;
+    private List<Mitigant> mitigants;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mitigant {
+        private String id;
+        private String riskCategory;
+        private String riskAttribute;
+        private String craCode;
+        private String attributeDescription;
+        private String controlProcess;
+        private String lob;
+        private String description;
+        private String effectiveness; // "high", "medium", "low"
+    }
+}
@@ -1,5 +1,6 @@
 package com.bofa.aml.hra.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,10 +24,11 @@ public class RiskOverviewResponse {
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class MetricData {
         private Integer value;
-        private String change;
-        private String changeType; // "increase" or "decrease"
+        private String change; // omitted while no earlier figure is kept to compare with
+        private String changeType; // "increase" or "decrease", omitted with change
         private String description;
     }
 }
@@ -0,0 +1,25 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a submitted risk summary
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskSummaryResponse {
+    private String caseId;
+    private String recommendation;
+    private String escalationReason;
+    private String trmsTrackingNumber;
+    private String submittedBy;
+    private LocalDateTime submittedAt;
+    private String message;
+}
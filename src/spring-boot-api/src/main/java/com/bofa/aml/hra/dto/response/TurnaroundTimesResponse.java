@@ -13,6 +13,8 @@ import java.util.List;
 @AllArgsConstructor
 public class TurnaroundTimesResponse {
     private List<TurnaroundMetric> data;
+    private Integer windowDays;
+    private String lob; // null when all LOBs are included
     
     @Data
     @Builder
@@ -21,6 +23,10 @@ public class TurnaroundTimesResponse {
     public static class TurnaroundMetric {
         private String role;
         private Double avgDays;
+        private Double p50Days;
+        private Double p90Days;
+        private Double p99Days;
+        private Long sampleCount; // cases that left the stage in the window
         private Double target;
         private String status; // "on-target" or "over-target"
     }
@@ -0,0 +1,21 @@
+package com.bofa.aml.hra.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkQueueResponse {
+    private String lob;
+    private List<CaseSummary> data;
+    private Long totalRecords;
+    private Integer limit;
+    private Integer offset; // only set for offset paging
+    private String next; // cursor for the following page, null on the last page
+}
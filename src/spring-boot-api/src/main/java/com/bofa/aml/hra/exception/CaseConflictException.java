@@ -0,0 +1,25 @@
+package com.bofa.aml.hra.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a workflow transition loses a compare-and-set on the case version because
+ * another request changed the case after it was read. The client should reload the case and retry.
+ */
+@Getter
+public class CaseConflictException extends RuntimeException {
+
+    private final String caseId;
+    private final long expectedVersion;
+    private final String currentStatus;
+    private final Long currentVersion;
+
+    public CaseConflictException(String caseId, long expectedVersion, String currentStatus, Long currentVersion) {
+        super(String.format("Case %s was changed by another request since version %d; reload it and retry",
+                caseId, expectedVersion));
+        this.caseId = caseId;
+        this.expectedVersion = expectedVersion;
+        this.currentStatus = currentStatus;
+        this.currentVersion = currentVersion;
+    }
+}
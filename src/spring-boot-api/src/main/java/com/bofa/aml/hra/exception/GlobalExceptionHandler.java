@@ -2,6 +2,8 @@ package com.bofa.aml.hra.exception;
 
 import com.bofa.aml.hra.dto.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -35,6 +37,61 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("VALIDATION_ERROR", ex.getMessage()));
     }
 
+    @ExceptionHandler(CaseConflictException.class)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> handleCaseConflict(CaseConflictException ex) {
+        log.warn("Case conflict: {}", ex.getMessage());
+        Map<String, Object> details = new HashMap<>();
+        details.put("caseId", ex.getCaseId());
+        details.put("expectedVersion", ex.getExpectedVersion());
+        details.put("currentStatus", ex.getCurrentStatus());
+        details.put("currentVersion", ex.getCurrentVersion());
+
+        ApiResponse<Map<String, Object>> response = ApiResponse.<Map<String, Object>>builder()
+                .status("error")
+                .error(ApiResponse.ErrorDetails.builder()
+                        .code("CASE_CONFLICT")
+                        .message(ex.getMessage())
+                        .details(details)
+                        .build())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(TransitionPendingException.class)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> handleTransitionPending(TransitionPendingException ex) {
+        log.warn("Workflow transition not confirmed: {}", ex.getMessage());
+        Map<String, Object> details = new HashMap<>();
+        details.put("caseId", ex.getCaseId());
+        details.put("submittedVersion", ex.getSubmittedVersion());
+        details.put("targetStatus", ex.getTargetStatus());
+        details.put("withdrawn", ex.isWithdrawn());
+
+        ApiResponse<Map<String, Object>> response = ApiResponse.<Map<String, Object>>builder()
+                .status("error")
+                .error(ApiResponse.ErrorDetails.builder()
+                        .code(ex.isWithdrawn() ? "TRANSITION_WITHDRAWN" : "TRANSITION_PENDING")
+                        .message(ex.getMessage())
+                        .details(details)
+                        .build())
+                .build();
+
+        // Withdrawn: nothing changed and the same request can be retried. Pending: the outcome is
+        // decided but not yet known, so the client reloads the case instead of retrying blindly.
+        return ex.isWithdrawn()
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response)
+                : ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Background work rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponse.error("SERVICE_BUSY", "Too many background jobs are queued; try again later"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,12 @@
+package com.bofa.aml.hra.exception;
+
+/**
+ * Exception thrown when an endpoint runs more statements than its query budget, only when the
+ * budget is enforced (tests)
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bofa.aml.hra.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a write-behind workflow transition is not confirmed in time. When it was
+ * withdrawn it was never applied and can be resubmitted as is; otherwise it is still being written,
+ * and the client finds its outcome by reloading the case: it was applied if the case is past the
+ * submitted version in the target status, and lost to another change if not.
+ */
+@Getter
+public class TransitionPendingException extends RuntimeException {
+
+    private final String caseId;
+    private final long submittedVersion;
+    private final String targetStatus;
+    private final boolean withdrawn;
+
+    public TransitionPendingException(String caseId, long submittedVersion, String targetStatus, boolean withdrawn) {
+        super(withdrawn
+                ? String.format("Update of case %s was not applied in time and was withdrawn; retry it", caseId)
+                : String.format("Update of case %s is still being written; reload the case to see whether it "
+                        + "moved past version %d to %s", caseId, submittedVersion, targetStatus));
+        this.caseId = caseId;
+        this.submittedVersion = submittedVersion;
+        this.targetStatus = targetStatus;
+        this.withdrawn = withdrawn;
+    }
+}
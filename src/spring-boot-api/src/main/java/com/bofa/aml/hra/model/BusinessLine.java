@@ -0,0 +1,38 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Business line (FLU) of a client and the population identification rules that depend on it
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BusinessLine {
+
+    GBGM("GBGM", CrrBasis.REFRESH_INITIATION, true),
+    CONSUMER("Consumer", CrrBasis.REFRESH_COMPLETION, false),
+    CONSUMER_INVESTMENT("Consumer Investment", CrrBasis.REFRESH_COMPLETION, false),
+    PRIVATE_BANK("Private Bank", CrrBasis.REFRESH_COMPLETION, true),
+    MERRILL_LYNCH("Merrill Lynch", CrrBasis.REFRESH_COMPLETION, true);
+
+    private final String label;
+    private final CrrBasis crrBasis;
+    private final boolean camAlignedWithRefresh; // CAM 2.0: completed as part of the refresh rather than after it
+
+    public enum CrrBasis {
+        REFRESH_INITIATION("Refresh Initiation Date"),
+        REFRESH_COMPLETION("Refresh Completion Date");
+
+        @Getter
+        private final String label;
+
+        CrrBasis(String label) {
+            this.label = label;
+        }
+    }
+
+    public String getCamAlignment() {
+        return camAlignedWithRefresh ? "Aligned with Refresh" : "Most Recent CAM";
+    }
+}
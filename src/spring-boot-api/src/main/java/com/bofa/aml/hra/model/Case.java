@@ -0,0 +1,80 @@
+package com.bofa.aml.hra.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for an HRA case
+ */
+@Entity
+@Table(name = "cases", indexes = {
+        @Index(name = "idx_cases_status_lob_created", columnList = "status, lob, created_date, case_id"),
+        @Index(name = "idx_cases_status_created", columnList = "status, created_date, case_id"),
+        @Index(name = "idx_cases_analyst_created", columnList = "assigned_analyst, created_date, case_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Case {
+
+    @Id
+    @Column(name = "case_id", length = 32)
+    private String caseId;
+
+    @Column(nullable = false)
+    private String clientId;
+
+    @Column(nullable = false)
+    private String clientName;
+
+    private String clientType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CaseStatus status;
+
+    private String priority; // "low", "medium", "high", "critical"
+
+    private String riskRating; // "Low", "Medium", "High"
+
+    private String lob;
+
+    private String jurisdiction;
+
+    private String assignedAnalyst;
+
+    private String escalatedTo; // "hra-manager", "flu-aml", "gfc"
+
+    private String returnReason;
+
+    private String disposition;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    private LocalDate dueDate;
+
+    private LocalDateTime assignedDate;
+
+    private LocalDateTime leaseExpiresAt; // set while a get-next-case claim has not been opened yet
+
+    private LocalDateTime escalatedDate;
+
+    private LocalDateTime returnedDate;
+
+    private LocalDateTime completedDate;
+
+    @Version
+    private long version; // incremented by every status change; workflow transitions compare-and-set on it
+
+    public boolean isHighRisk() {
+        return "High".equalsIgnoreCase(riskRating);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Workflow status of an HRA case.
+ * The code matches the status strings used by the frontend workbasket.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CaseStatus {
+
+    UNASSIGNED("unassigned", "Unassigned", null),
+    ASSIGNED("assigned", "Assigned", "#3b82f6"),
+    IN_PROGRESS("in-progress", "In Progress", "#eab308"),
+    MANUAL_REVIEW("manual-review", "Manual Review", null),
+    ESCALATED("escalated", "Escalated", "#f97316"),
+    RETURNED("returned", "Returned", "#ef4444"),
+    COMPLETED("completed", "Completed", "#22c55e");
+
+    private final String code;
+    private final String label;
+    private final String color; // null when the status is not shown on the distribution chart
+
+    public boolean isOpen() {
+        return this != COMPLETED;
+    }
+}
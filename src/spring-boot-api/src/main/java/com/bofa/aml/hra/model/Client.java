@@ -0,0 +1,56 @@
+package com.bofa.aml.hra.model;
+
+import com.bofa.aml.hra.service.CompanySearchIndexListener;
+import com.bofa.aml.hra.service.RiskLookupCacheListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for a monitored client
+ */
+@Entity
+@Table(name = "clients")
+@EntityListeners({CompanySearchIndexListener.class, RiskLookupCacheListener.class})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Client {
+
+    @Id
+    @Column(name = "client_id", length = 32)
+    private String clientId;
+
+    @Column(nullable = false)
+    private String legalName;
+
+    private String clientType; // "Individual", "Corporate", "Investment", "Banking"
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private BusinessLine businessLine;
+
+    private String lob;
+
+    private String jurisdiction;
+
+    private String riskRating; // "Low", "Medium", "High"
+
+    private String status; // "active", "exiting", "closed"
+
+    private LocalDate refreshInitiationDate;
+
+    private LocalDate refreshCompletionDate;
+
+    private LocalDate craCompletionDate;
+
+    private LocalDate camCompletionDate;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Role a case is escalated to, as used by escalation trend rollups
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EscalationDestination {
+
+    MANAGER("hra-manager", "Manager"),
+    FLU("flu-aml", "FLU AML"),
+    GFC("gfc", "GFC");
+
+    private final String code;
+    private final String label;
+
+    public static EscalationDestination fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(destination -> destination.code.equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown escalation destination: " + code));
+    }
+}
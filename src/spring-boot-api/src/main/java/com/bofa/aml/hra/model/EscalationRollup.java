@@ -0,0 +1,43 @@
+package com.bofa.aml.hra.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * JPA entity for one escalation count bucket. Recent escalations are counted in daily buckets
+ * which are later compacted into weekly and then monthly buckets.
+ */
+@Entity
+@Table(name = "escalation_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_escalation_rollups_bucket",
+                                             columnNames = {"bucket_start", "granularity"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscalationRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 8)
+    private String granularity; // "day", "week", "month"
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(nullable = false)
+    private long toManager;
+
+    @Column(nullable = false)
+    private long toFlu;
+
+    @Column(nullable = false)
+    private long toGfc;
+}
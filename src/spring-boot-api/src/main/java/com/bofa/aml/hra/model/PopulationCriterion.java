@@ -0,0 +1,31 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Eligibility criteria for the monthly High Risk Summary population
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PopulationCriterion {
+
+    HIGH_RISK("High Risk Rating", "Client has been classified as high risk", "Critical", "Active"),
+    REFRESH_COMPLETE("Refresh Completion", "Client refresh process has been completed", "High", "Active"),
+    CRA_COMPLETE("Customer Risk Assessment", "CRR assessment completed based on business line rules", "High", "Active"),
+    CAM_COMPLETE("CAM Completion", "Customer Acceptance Model (CAM 2.0) completed", "Medium", "Conditional"),
+    ACTIVE_STATUS("Active Status", "Client not in exit/closure status", "Critical", "Active");
+
+    private final String label;
+    private final String description;
+    private final String priority;
+    private final String status;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int allMask() {
+        return (1 << values().length) - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Output format of a generated report
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportFormat {
+
+    CSV("csv", "text/csv"),
+    JSON_LINES("jsonl", "application/x-ndjson");
+
+    private final String code; // also the file extension
+    private final String contentType;
+
+    public static ReportFormat fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(format -> format.code.equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown report format: " + code));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bofa.aml.hra.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reports that can be generated from the HRA tables, with the columns each one exports.
+ * Every report can be filtered by LOB, status, risk rating and a date range on its date column.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportType {
+
+    CASE_DETAIL("case-detail", "HRA Case Detail",
+            "Every case with its status, assignment, escalation, disposition and dates",
+            "cases", "case_id", "created_date", List.of(
+            new Column("caseId", "case_id", Kind.TEXT),
+            new Column("clientId", "client_id", Kind.TEXT),
+            new Column("clientName", "client_name", Kind.TEXT),
+            new Column("clientType", "client_type", Kind.TEXT),
+            new Column("status", "status", Kind.CASE_STATUS),
+            new Column("priority", "priority", Kind.TEXT),
+            new Column("riskRating", "risk_rating", Kind.TEXT),
+            new Column("lob", "lob", Kind.TEXT),
+            new Column("jurisdiction", "jurisdiction", Kind.TEXT),
+            new Column("assignedAnalyst", "assigned_analyst", Kind.TEXT),
+            new Column("escalatedTo", "escalated_to", Kind.TEXT),
+            new Column("disposition", "disposition", Kind.TEXT),
+            new Column("createdDate", "created_date", Kind.TIMESTAMP),
+            new Column("dueDate", "due_date", Kind.DATE),
+            new Column("assignedDate", "assigned_date", Kind.TIMESTAMP),
+            new Column("escalatedDate", "escalated_date", Kind.TIMESTAMP),
+            new Column("completedDate", "completed_date", Kind.TIMESTAMP))),
+
+    CLIENT_POPULATION("client-population", "Client Population",
+            "Clients with risk rating, status and refresh, CRA and CAM completion dates",
+            "clients", "client_id", "refresh_initiation_date", List.of(
+            new Column("clientId", "client_id", Kind.TEXT),
+            new Column("legalName", "legal_name", Kind.TEXT),
+            new Column("clientType", "client_type", Kind.TEXT),
+            new Column("businessLine", "business_line", Kind.TEXT),
+            new Column("lob", "lob", Kind.TEXT),
+            new Column("jurisdiction", "jurisdiction", Kind.TEXT),
+            new Column("riskRating", "risk_rating", Kind.TEXT),
+            new Column("status", "status", Kind.TEXT),
+            new Column("refreshInitiationDate", "refresh_initiation_date", Kind.DATE),
+            new Column("refreshCompletionDate", "refresh_completion_date", Kind.DATE),
+            new Column("craCompletionDate", "cra_completion_date", Kind.DATE),
+            new Column("camCompletionDate", "cam_completion_date", Kind.DATE)));
+
+    /**
+     * How a column is read and written: CASE_STATUS is stored as the enum name and exported as its code
+     */
+    public enum Kind {
+        TEXT, DATE, TIMESTAMP, CASE_STATUS
+    }
+
+    public record Column(String name, String sqlColumn, Kind kind) {
+    }
+
+    private final String code;
+    private final String label;
+    private final String description;
+    private final String table;
+    private final String keyColumn; // rows are exported in key order
+    private final String dateColumn; // filtered by the fromDate / toDate range
+    private final List<Column> columns;
+
+    public Kind dateColumnKind() {
+        return columns.stream()
+                .filter(column -> column.sqlColumn().equals(dateColumn))
+                .findFirst()
+                .map(Column::kind)
+                .orElseThrow();
+    }
+
+    public static ReportType fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(type -> type.code.equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown report type: " + code));
+    }
+}
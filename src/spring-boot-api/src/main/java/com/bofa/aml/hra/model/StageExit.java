@@ -0,0 +1,44 @@
+package com.bofa.aml.hra.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for one case leaving a workflow stage, with the minutes it spent there. Written in
+ * the transaction of the workflow change, so the turnaround sketches can be rebuilt with every
+ * exit, including those the case row no longer shows.
+ */
+@Entity
+@Table(name = "stage_exits", indexes = {
+        @Index(name = "idx_stage_exits_left_at", columnList = "left_at"),
+        @Index(name = "idx_stage_exits_case", columnList = "case_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageExit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "case_id", nullable = false, length = 32)
+    private String caseId;
+
+    @Column(nullable = false, length = 16)
+    private String stage; // TurnaroundSketchStore.Stage name
+
+    private String lob;
+
+    @Column(name = "left_at", nullable = false)
+    private LocalDateTime leftAt;
+
+    @Column(nullable = false)
+    private long minutes;
+}
@@ -0,0 +1,339 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the cases table for hot workflow and bulk paths.
+ * Each method is a single conditional statement or one JDBC batch, so callers never wait on
+ * row locks held across a longer JPA transaction. Every update increments the case version, so a
+ * transition compared against the version it read fails if anything changed the case meanwhile.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseJdbcRepository {
+
+    private static final int SCAN_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Lightweight projection of an unassigned case used to fill the assignment queues
+     */
+    public record QueueRow(String caseId, String lob, LocalDateTime createdDate, boolean highRisk) {
+    }
+
+    public List<QueueRow> findUnassignedQueueRows() {
+        return jdbcTemplate.query(
+                "SELECT case_id, lob, created_date, risk_rating FROM cases WHERE status = 'UNASSIGNED' "
+                        + "ORDER BY created_date, case_id",
+                (rs, rowNum) -> new QueueRow(
+                        rs.getString("case_id"),
+                        rs.getString("lob"),
+                        rs.getTimestamp("created_date").toLocalDateTime(),
+                        "High".equalsIgnoreCase(rs.getString("risk_rating"))));
+    }
+
+    /**
+     * Claim an unassigned case for an analyst under a lease.
+     *
+     * @return 1 if the claim succeeded, 0 if the case is no longer unassigned
+     */
+    public int claimUnassigned(String caseId, String analystId, LocalDateTime leaseExpiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE cases SET status = 'ASSIGNED', assigned_analyst = ?, assigned_date = ?, "
+                        + "lease_expires_at = ?, version = version + 1 WHERE case_id = ? AND status = 'UNASSIGNED'",
+                analystId, Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(leaseExpiresAt), caseId);
+    }
+
+    /**
+     * Turn a leased assignment into a permanent one when the analyst opens the case.
+     *
+     * @return 1 if the case was still leased to the analyst, 0 otherwise
+     */
+    public int openLeased(String caseId, String analystId) {
+        return jdbcTemplate.update(
+                "UPDATE cases SET status = 'IN_PROGRESS', lease_expires_at = NULL, version = version + 1 "
+                        + "WHERE case_id = ? AND status = 'ASSIGNED' AND assigned_analyst = ?",
+                caseId, analystId);
+    }
+
+    /**
+     * Return a leased case to the work queue if the analyst never opened it.
+     *
+     * @return 1 if the lease was released, 0 if the case has moved on or the lease has not expired
+     */
+    public int releaseLease(String caseId, String analystId, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE cases SET status = 'UNASSIGNED', assigned_analyst = NULL, assigned_date = NULL, "
+                        + "lease_expires_at = NULL, version = version + 1 WHERE case_id = ? AND status = 'ASSIGNED' "
+                        + "AND assigned_analyst = ? AND lease_expires_at <= ?",
+                caseId, analystId, Timestamp.valueOf(now));
+    }
+
+    /**
+     * A lease as persisted, for releasing leases that no node is tracking
+     */
+    public record LeaseRow(String caseId, String lob, String analystId, LocalDateTime createdDate,
+                           boolean highRisk, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Leases that expired before now, whichever node took them
+     */
+    public List<LeaseRow> findExpiredLeases(LocalDateTime now) {
+        return jdbcTemplate.query(
+                "SELECT case_id, lob, assigned_analyst, created_date, risk_rating, lease_expires_at FROM cases "
+                        + "WHERE status = 'ASSIGNED' AND lease_expires_at <= ?",
+                (rs, rowNum) -> new LeaseRow(
+                        rs.getString("case_id"),
+                        rs.getString("lob"),
+                        rs.getString("assigned_analyst"),
+                        rs.getTimestamp("created_date").toLocalDateTime(),
+                        "High".equalsIgnoreCase(rs.getString("risk_rating")),
+                        rs.getTimestamp("lease_expires_at").toLocalDateTime()),
+                Timestamp.valueOf(now));
+    }
+
+    /**
+     * Current state of a case as needed by bulk operations
+     */
+    public record CaseState(String caseId, String status, String lob, String assignedAnalyst, String escalatedTo,
+                            String priority, LocalDateTime createdDate, boolean highRisk, long version) {
+    }
+
+    public List<CaseState> findStates(Collection<String> caseIds) {
+        return namedParameterJdbcTemplate.query(
+                "SELECT case_id, status, lob, assigned_analyst, escalated_to, priority, created_date, risk_rating, "
+                        + "version FROM cases WHERE case_id IN (:caseIds)",
+                Map.of("caseIds", caseIds),
+                (rs, rowNum) -> new CaseState(
+                        rs.getString("case_id"),
+                        rs.getString("status"),
+                        rs.getString("lob"),
+                        rs.getString("assigned_analyst"),
+                        rs.getString("escalated_to"),
+                        rs.getString("priority"),
+                        rs.getTimestamp("created_date").toLocalDateTime(),
+                        "High".equalsIgnoreCase(rs.getString("risk_rating")),
+                        rs.getLong("version")));
+    }
+
+    /**
+     * Open cases waiting on an analyst, counted per LOB and analyst
+     */
+    public record CaseloadRow(String lob, String analyst, long cases) {
+    }
+
+    public List<CaseloadRow> countAnalystCaseloads() {
+        return jdbcTemplate.query(
+                "SELECT lob, assigned_analyst, COUNT(*) AS cases FROM cases WHERE assigned_analyst IS NOT NULL "
+                        + "AND status IN ('ASSIGNED', 'IN_PROGRESS', 'MANUAL_REVIEW', 'RETURNED') "
+                        + "GROUP BY lob, assigned_analyst",
+                (rs, rowNum) -> new CaseloadRow(
+                        rs.getString("lob"),
+                        rs.getString("assigned_analyst"),
+                        rs.getLong("cases")));
+    }
+
+    /**
+     * Case count per combination of the attributes that decide quick-action buckets
+     */
+    public record StateCountRow(String status, String escalatedTo, String priority, long cases) {
+    }
+
+    public List<StateCountRow> countStates() {
+        return jdbcTemplate.query(
+                "SELECT status, escalated_to, priority, COUNT(*) AS cases FROM cases "
+                        + "GROUP BY status, escalated_to, priority",
+                (rs, rowNum) -> toStateCountRow(rs));
+    }
+
+    public List<StateCountRow> countStatesForAnalyst(String analyst) {
+        return jdbcTemplate.query(
+                "SELECT status, escalated_to, priority, COUNT(*) AS cases FROM cases WHERE assigned_analyst = ? "
+                        + "GROUP BY status, escalated_to, priority",
+                (rs, rowNum) -> toStateCountRow(rs), analyst);
+    }
+
+    private static StateCountRow toStateCountRow(ResultSet rs) throws SQLException {
+        return new StateCountRow(
+                rs.getString("status"),
+                rs.getString("escalated_to"),
+                rs.getString("priority"),
+                rs.getLong("cases"));
+    }
+
+    /**
+     * Workflow dates of a case from which its latest stage exits can be recovered
+     */
+    public record StageDatesRow(String lob, String escalatedTo, LocalDateTime assignedDate,
+                                LocalDateTime escalatedDate, LocalDateTime returnedDate,
+                                LocalDateTime completedDate) {
+    }
+
+    /**
+     * Stream every case that was escalated, returned or completed at or after since and has no
+     * recorded stage exits, i.e. whose workflow changes predate them
+     */
+    public void scanStageDates(LocalDateTime since, Consumer<StageDatesRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT lob, escalated_to, assigned_date, escalated_date, "
+                    + "returned_date, completed_date FROM cases c "
+                    + "WHERE (escalated_date >= ? OR returned_date >= ? OR completed_date >= ?) "
+                    + "AND NOT EXISTS (SELECT 1 FROM stage_exits e WHERE e.case_id = c.case_id)");
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            for (int i = 1; i <= 3; i++) {
+                statement.setTimestamp(i, Timestamp.valueOf(since));
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(new StageDatesRow(
+                    rs.getString("lob"),
+                    rs.getString("escalated_to"),
+                    toLocalDateTime(rs.getTimestamp("assigned_date")),
+                    toLocalDateTime(rs.getTimestamp("escalated_date")),
+                    toLocalDateTime(rs.getTimestamp("returned_date")),
+                    toLocalDateTime(rs.getTimestamp("completed_date"))));
+        });
+    }
+
+    /**
+     * Reassign a chunk of cases as one JDBC batch. Unassigned cases moved to an analyst become assigned;
+     * completed cases are never touched. Each case is updated only if it still has the version it
+     * was read at.
+     *
+     * @return per-case update counts in the order of cases; 0 if the case has changed since it was read
+     */
+    public int[] batchReassign(List<CaseState> cases, String targetLob, String targetAnalyst) {
+        StringBuilder sql = new StringBuilder("UPDATE cases SET ");
+        List<String> assignments = new ArrayList<>();
+        if (targetLob != null) {
+            assignments.add("lob = ?");
+        }
+        if (targetAnalyst != null) {
+            assignments.add("assigned_analyst = ?");
+            assignments.add("assigned_date = ?");
+            assignments.add("lease_expires_at = NULL");
+            assignments.add("status = CASE WHEN status = 'UNASSIGNED' THEN 'ASSIGNED' ELSE status END");
+        }
+        assignments.add("version = version + 1");
+        sql.append(String.join(", ", assignments)).append(" WHERE case_id = ? AND version = ? AND status <> 'COMPLETED'");
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(cases.size());
+        for (CaseState state : cases) {
+            List<Object> args = new ArrayList<>(5);
+            if (targetLob != null) {
+                args.add(targetLob);
+            }
+            if (targetAnalyst != null) {
+                args.add(targetAnalyst);
+                args.add(now);
+            }
+            args.add(state.caseId());
+            args.add(state.version());
+            batchArgs.add(args.toArray());
+        }
+        return jdbcTemplate.batchUpdate(sql.toString(), batchArgs);
+    }
+
+    /**
+     * New values of the columns an escalation, return or disposition changes, applied only if the
+     * case still has the version it was read at
+     */
+    public record Transition(String caseId, long expectedVersion, CaseStatus status, String escalatedTo,
+                             LocalDateTime escalatedDate, String returnReason, LocalDateTime returnedDate,
+                             String disposition, LocalDateTime completedDate) {
+
+        public static Transition of(Case updated, long expectedVersion) {
+            return new Transition(updated.getCaseId(), expectedVersion, updated.getStatus(), updated.getEscalatedTo(),
+                    updated.getEscalatedDate(), updated.getReturnReason(), updated.getReturnedDate(),
+                    updated.getDisposition(), updated.getCompletedDate());
+        }
+
+        private Object[] args() {
+            return new Object[]{status.name(), escalatedTo, timestamp(escalatedDate), returnReason,
+                    timestamp(returnedDate), disposition, timestamp(completedDate), caseId, expectedVersion};
+        }
+    }
+
+    private static final String TRANSITION_SQL = "UPDATE cases SET status = ?, escalated_to = ?, escalated_date = ?, "
+            + "return_reason = ?, returned_date = ?, disposition = ?, completed_date = ?, version = version + 1 "
+            + "WHERE case_id = ? AND version = ?";
+
+    /**
+     * @return 1 if the transition was applied, 0 if the case has changed since expectedVersion
+     */
+    public int applyTransition(Transition transition) {
+        return jdbcTemplate.update(TRANSITION_SQL, transition.args());
+    }
+
+    /**
+     * Apply transitions as one JDBC batch, in order; of two transitions of the same case read at
+     * the same version only the first applies
+     *
+     * @return per-transition update counts in the order given
+     */
+    public int[] batchTransitions(List<Transition> transitions) {
+        List<Object[]> batchArgs = new ArrayList<>(transitions.size());
+        for (Transition transition : transitions) {
+            batchArgs.add(transition.args());
+        }
+        return jdbcTemplate.batchUpdate(TRANSITION_SQL, batchArgs);
+    }
+
+    /**
+     * Insert new cases as one JDBC batch
+     */
+    public int[] batchInsert(List<Case> cases) {
+        List<Object[]> batchArgs = new ArrayList<>(cases.size());
+        for (Case hraCase : cases) {
+            batchArgs.add(new Object[]{
+                    hraCase.getCaseId(),
+                    hraCase.getClientId(),
+                    hraCase.getClientName(),
+                    hraCase.getClientType(),
+                    hraCase.getStatus().name(),
+                    hraCase.getPriority(),
+                    hraCase.getRiskRating(),
+                    hraCase.getLob(),
+                    hraCase.getJurisdiction(),
+                    hraCase.getAssignedAnalyst(),
+                    Timestamp.valueOf(hraCase.getCreatedDate()),
+                    hraCase.getDueDate() == null ? null : Date.valueOf(hraCase.getDueDate()),
+                    hraCase.getAssignedDate() == null ? null : Timestamp.valueOf(hraCase.getAssignedDate()),
+                    hraCase.getVersion()
+            });
+        }
+        return jdbcTemplate.batchUpdate(
+                "INSERT INTO cases (case_id, client_id, client_name, client_type, status, priority, risk_rating, "
+                        + "lob, jurisdiction, assigned_analyst, created_date, due_date, assigned_date, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                batchArgs);
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value == null ? null : value.toLocalDateTime();
+    }
+}
@@ -0,0 +1,49 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CaseRepository extends JpaRepository<Case, String> {
+
+    Page<Case> findByAssignedAnalyst(String analyst, Pageable pageable);
+
+    Page<Case> findByAssignedAnalystAndStatusIn(String analyst, Collection<CaseStatus> statuses, Pageable pageable);
+
+    Page<Case> findByStatus(CaseStatus status, Pageable pageable);
+
+    Page<Case> findByStatusAndLob(CaseStatus status, String lob, Pageable pageable);
+
+    // Keyset variants: the sort must end in (createdDate, caseId) to match the page cursor
+
+    Window<Case> findByAssignedAnalyst(String analyst, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Case> findByAssignedAnalystAndStatusIn(String analyst, Collection<CaseStatus> statuses,
+                                                  ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Case> findByStatus(CaseStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Case> findByStatusAndLob(CaseStatus status, String lob, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Case counts per status, used to rebuild the dashboard aggregates
+     */
+    @Query(value = "SELECT status, COUNT(*) FROM cases GROUP BY status", nativeQuery = true)
+    List<Object[]> countGroupedByStatus();
+
+    @Query(value = "SELECT COUNT(*) FROM cases WHERE risk_rating = 'High' AND status <> 'COMPLETED'",
+            nativeQuery = true)
+    long countOpenHighRisk();
+}
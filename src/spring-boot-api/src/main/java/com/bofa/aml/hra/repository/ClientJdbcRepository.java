@@ -0,0 +1,123 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.BusinessLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the clients table for population-scale scans
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClientJdbcRepository {
+
+    private static final int SCAN_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fields needed to evaluate the population identification criteria for one client
+     */
+    public record CriteriaRow(String clientId,
+                              BusinessLine businessLine,
+                              String riskRating,
+                              String status,
+                              LocalDate refreshInitiationDate,
+                              LocalDate refreshCompletionDate,
+                              LocalDate craCompletionDate,
+                              LocalDate camCompletionDate) {
+    }
+
+    /**
+     * Fields held by the company search index
+     */
+    public record SearchRow(String clientId,
+                            String legalName,
+                            String clientType,
+                            BusinessLine businessLine,
+                            String lob,
+                            String jurisdiction,
+                            String riskRating) {
+    }
+
+    /**
+     * Lower bounds of consecutive client ID ranges holding about partitionSize clients each.
+     * Only the boundary keys are kept, so memory grows with the number of partitions, not clients.
+     */
+    public List<String> findPartitionBoundaries(int partitionSize) {
+        List<String> boundaries = new ArrayList<>();
+        long[] seen = {0};
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT client_id FROM clients ORDER BY client_id");
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            if (seen[0]++ % partitionSize == 0) {
+                boundaries.add(rs.getString(1));
+            }
+        });
+        return boundaries;
+    }
+
+    /**
+     * Stream the clients with fromClientId <= client_id < toClientId; a null upper bound reads to the end
+     */
+    public void scanCriteriaRows(String fromClientId, String toClientId, Consumer<CriteriaRow> consumer) {
+        String sql = "SELECT client_id, business_line, risk_rating, status, refresh_initiation_date, "
+                + "refresh_completion_date, cra_completion_date, cam_completion_date FROM clients "
+                + "WHERE client_id >= ?" + (toClientId == null ? "" : " AND client_id < ?");
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            statement.setString(1, fromClientId);
+            if (toClientId != null) {
+                statement.setString(2, toClientId);
+            }
+            return statement;
+        }, rs -> {
+            String businessLine = rs.getString("business_line");
+            consumer.accept(new CriteriaRow(
+                    rs.getString("client_id"),
+                    businessLine == null ? null : BusinessLine.valueOf(businessLine),
+                    rs.getString("risk_rating"),
+                    rs.getString("status"),
+                    toLocalDate(rs.getDate("refresh_initiation_date")),
+                    toLocalDate(rs.getDate("refresh_completion_date")),
+                    toLocalDate(rs.getDate("cra_completion_date")),
+                    toLocalDate(rs.getDate("cam_completion_date"))));
+        });
+    }
+
+    /**
+     * Stream every client into the consumer without materialising the table
+     */
+    public void scanSearchRows(Consumer<SearchRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT client_id, legal_name, client_type, business_line, "
+                    + "lob, jurisdiction, risk_rating FROM clients");
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            String businessLine = rs.getString("business_line");
+            consumer.accept(new SearchRow(
+                    rs.getString("client_id"),
+                    rs.getString("legal_name"),
+                    rs.getString("client_type"),
+                    businessLine == null ? null : BusinessLine.valueOf(businessLine),
+                    rs.getString("lob"),
+                    rs.getString("jurisdiction"),
+                    rs.getString("risk_rating")));
+        });
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
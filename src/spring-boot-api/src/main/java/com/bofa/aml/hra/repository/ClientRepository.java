@@ -0,0 +1,9 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.Client;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientRepository extends JpaRepository<Client, String> {
+}
@@ -0,0 +1,92 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.EscalationDestination;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the escalation_rollups buckets.
+ * Counts are only ever changed with relative updates, so concurrent writers never lose increments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EscalationRollupRepository {
+
+    private static final Map<EscalationDestination, String> INCREMENT_SQL = Map.of(
+            EscalationDestination.MANAGER, incrementSql("to_manager"),
+            EscalationDestination.FLU, incrementSql("to_flu"),
+            EscalationDestination.GFC, incrementSql("to_gfc"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public record RollupRow(long id, String granularity, LocalDate bucketStart,
+                            long toManager, long toFlu, long toGfc) {
+    }
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException if the bucket already exists
+     */
+    public void insertBucket(String granularity, LocalDate bucketStart) {
+        jdbcTemplate.update("INSERT INTO escalation_rollups (granularity, bucket_start, to_manager, to_flu, to_gfc) "
+                + "VALUES (?, ?, 0, 0, 0)", granularity, Date.valueOf(bucketStart));
+    }
+
+    /**
+     * @return 0 if the bucket does not exist yet
+     */
+    public int increment(String granularity, LocalDate bucketStart, EscalationDestination destination) {
+        return jdbcTemplate.update(INCREMENT_SQL.get(destination), granularity, Date.valueOf(bucketStart));
+    }
+
+    public int add(String granularity, LocalDate bucketStart, long toManager, long toFlu, long toGfc) {
+        return jdbcTemplate.update("UPDATE escalation_rollups SET to_manager = to_manager + ?, "
+                        + "to_flu = to_flu + ?, to_gfc = to_gfc + ? WHERE granularity = ? AND bucket_start = ?",
+                toManager, toFlu, toGfc, granularity, Date.valueOf(bucketStart));
+    }
+
+    /**
+     * Buckets of every granularity starting within [from, to]
+     */
+    public List<RollupRow> findStartingBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT * FROM escalation_rollups WHERE bucket_start BETWEEN ? AND ? "
+                        + "ORDER BY bucket_start",
+                (rs, rowNum) -> toRow(rs), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<RollupRow> findStartingBefore(String granularity, LocalDate before) {
+        return jdbcTemplate.query("SELECT * FROM escalation_rollups WHERE granularity = ? AND bucket_start < ? "
+                        + "ORDER BY bucket_start",
+                (rs, rowNum) -> toRow(rs), granularity, Date.valueOf(before));
+    }
+
+    public int deleteByIds(Collection<Long> ids) {
+        return namedParameterJdbcTemplate.update("DELETE FROM escalation_rollups WHERE id IN (:ids)",
+                Map.of("ids", ids));
+    }
+
+    private static String incrementSql(String column) {
+        return "UPDATE escalation_rollups SET " + column + " = " + column + " + 1 "
+                + "WHERE granularity = ? AND bucket_start = ?";
+    }
+
+    private static RollupRow toRow(ResultSet rs) throws SQLException {
+        return new RollupRow(
+                rs.getLong("id"),
+                rs.getString("granularity"),
+                rs.getDate("bucket_start").toLocalDate(),
+                rs.getLong("to_manager"),
+                rs.getLong("to_flu"),
+                rs.getLong("to_gfc"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bofa.aml.hra.repository;
+
+import com.bofa.aml.hra.model.ReportType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Forward-only scans of the tables behind generated reports.
+ * <p>
+ * Rows are handed to the callback as the driver fetches them, app.reports.fetch-size at a time, so
+ * an export holds one fetch batch however many rows it has. Drivers that only honour the fetch size
+ * inside a transaction (PostgreSQL) must be called within one; otherwise they read the whole result.
+ */
+@Repository
+public class ReportJdbcRepository {
+
+    /**
+     * Optional filters; null means not filtered. fromDate and toDate are inclusive.
+     */
+    public record ReportFilter(String lob, String status, String riskRating, LocalDate fromDate, LocalDate toDate) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ReportJdbcRepository(JdbcTemplate jdbcTemplate,
+                                @Value("${app.reports.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream the report's columns, in its column order, for every matching row in key order
+     */
+    public void scan(ReportType type, ReportFilter filter, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(type.getColumns().stream().map(ReportType.Column::sqlColumn).collect(Collectors.joining(", ")))
+                .append(" FROM ").append(type.getTable()).append(" WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        addEquals(sql, parameters, "lob", filter.lob());
+        addEquals(sql, parameters, "status", filter.status());
+        addEquals(sql, parameters, "risk_rating", filter.riskRating());
+        boolean timestamp = type.dateColumnKind() == ReportType.Kind.TIMESTAMP;
+        if (filter.fromDate() != null) {
+            sql.append(" AND ").append(type.getDateColumn()).append(" >= ?");
+            parameters.add(timestamp ? filter.fromDate().atStartOfDay() : filter.fromDate());
+        }
+        if (filter.toDate() != null) {
+            sql.append(" AND ").append(type.getDateColumn()).append(" < ?");
+            LocalDate end = filter.toDate().plusDays(1);
+            parameters.add(timestamp ? end.atStartOfDay() : end);
+        }
+        sql.append(" ORDER BY ").append(type.getKeyColumn());
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }, handler);
+    }
+
+    private static void addEquals(StringBuilder sql, List<Object> parameters, String column, String value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            parameters.add(value);
+        }
+    }
+}
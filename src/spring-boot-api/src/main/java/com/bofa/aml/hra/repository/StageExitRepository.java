@@ -0,0 +1,53 @@
+package com.bofa.aml.hra.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the stage_exits recorded by workflow changes
+ */
+@Repository
+@RequiredArgsConstructor
+public class StageExitRepository {
+
+    private static final int SCAN_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StageExitRow(String stage, String lob, LocalDateTime leftAt, long minutes) {
+    }
+
+    public void insert(String caseId, String stage, String lob, LocalDateTime leftAt, long minutes) {
+        jdbcTemplate.update("INSERT INTO stage_exits (case_id, stage, lob, left_at, minutes) VALUES (?, ?, ?, ?, ?)",
+                caseId, stage, lob, Timestamp.valueOf(leftAt), minutes);
+    }
+
+    /**
+     * Stream every exit at or after since and before until
+     */
+    public void scanBetween(LocalDateTime since, LocalDateTime until, Consumer<StageExitRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT stage, lob, left_at, minutes FROM stage_exits "
+                    + "WHERE left_at >= ? AND left_at < ?");
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            statement.setTimestamp(1, Timestamp.valueOf(since));
+            statement.setTimestamp(2, Timestamp.valueOf(until));
+            return statement;
+        }, rs -> {
+            consumer.accept(new StageExitRow(
+                    rs.getString("stage"),
+                    rs.getString("lob"),
+                    rs.getTimestamp("left_at").toLocalDateTime(),
+                    rs.getLong("minutes")));
+        });
+    }
+
+    public int deleteBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM stage_exits WHERE left_at < ?", Timestamp.valueOf(before));
+    }
+}
@@ -0,0 +1,147 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.RecentActivityResponse;
+import com.bofa.aml.hra.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory ring buffer of workflow events behind recent-activity and its SSE stream.
+ * <p>
+ * Publishers claim a sequence number and write their slot without locking; readers check each
+ * slot's sequence, so an entry that was overwritten or is still being written is never returned
+ * as the wrong event. Events are published after the workflow transaction commits and are
+ * serialized once, whatever the number of stream subscribers.
+ */
+@Component
+@Slf4j
+public class ActivityFeed {
+
+    private final ObjectMapper objectMapper;
+    private final DashboardVersion dashboardVersion;
+    private final int capacity;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public ActivityFeed(ObjectMapper objectMapper,
+                        DashboardVersion dashboardVersion,
+                        @Value("${app.activity.buffer-size:1024}") int capacity) {
+        this.objectMapper = objectMapper;
+        this.dashboardVersion = dashboardVersion;
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * A published event with its pre-serialized JSON
+     */
+    public record Entry(long sequence, RecentActivityResponse.Activity activity, String json) {
+    }
+
+    /**
+     * Result of reading past a subscriber's position; lapped means events were overwritten
+     * before they could be read and the reader must resync
+     */
+    public record Batch(List<Entry> entries, boolean lapped) {
+    }
+
+    /**
+     * Record an event once the surrounding transaction commits, or immediately outside one
+     */
+    public void publish(String status, String action, String caseId, String userId, Map<String, Object> metadata) {
+        AfterCommit.run(() -> append(status, action, caseId, userId, metadata));
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public long headSequence() {
+        return sequence.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Most recent events, newest first
+     */
+    public List<RecentActivityResponse.Activity> recent(int limit) {
+        long head = sequence.get();
+        int wanted = (int) Math.min(Math.min(limit, capacity), head);
+        List<RecentActivityResponse.Activity> recent = new ArrayList<>(wanted);
+        for (long seq = head; seq > head - wanted && seq > 0; seq--) {
+            Entry entry = slots.get(slot(seq));
+            if (entry != null && entry.sequence() == seq) {
+                recent.add(entry.activity());
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Up to max events after the given sequence, oldest first. Stops early at a slot that is
+     * claimed but not yet written, so a reader never skips an event still being published.
+     */
+    public Batch readAfter(long after, int max) {
+        long head = sequence.get();
+        if (head - after > capacity) {
+            return new Batch(List.of(), true);
+        }
+        List<Entry> entries = new ArrayList<>((int) Math.min(max, head - after));
+        for (long seq = after + 1; seq <= head && entries.size() < max; seq++) {
+            Entry entry = slots.get(slot(seq));
+            if (entry == null || entry.sequence() < seq) {
+                break;
+            }
+            if (entry.sequence() > seq) {
+                return new Batch(List.of(), true);
+            }
+            entries.add(entry);
+        }
+        return new Batch(entries, false);
+    }
+
+    private void append(String status, String action, String caseId, String userId, Map<String, Object> metadata) {
+        long seq = sequence.incrementAndGet();
+        RecentActivityResponse.Activity activity = RecentActivityResponse.Activity.builder()
+                .id("act-" + seq)
+                .action(action)
+                .user(userId)
+                .userId(userId)
+                .timestamp(LocalDateTime.now())
+                .status(status)
+                .caseId(caseId)
+                .metadata(metadata)
+                .build();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(activity);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize activity {}", activity.getId(), e);
+            json = "{}";
+        }
+        slots.set(slot(seq), new Entry(seq, activity, json));
+        dashboardVersion.bump();
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % capacity);
+    }
+}
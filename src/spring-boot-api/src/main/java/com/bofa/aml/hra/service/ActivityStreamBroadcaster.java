@@ -0,0 +1,244 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes recent-activity events to Server-Sent Events subscribers.
+ * <p>
+ * An idle subscriber is only an open async response, so it holds no thread. Each subscriber keeps
+ * its position in the {@link ActivityFeed}; a new event schedules at most one drain task per
+ * subscriber on the dispatch executor, which hands every task straight to a thread instead of
+ * queueing it. A send blocked on a client that stopped reading therefore holds only that client's
+ * thread, and no other subscriber waits behind it. A send still blocked after send-timeout-ms drops
+ * the subscriber: it gets no further events, and its stream is closed once the write fails or
+ * completes, so the client reconnects with Last-Event-ID. When every dispatch thread is busy a drain
+ * is skipped and the subscriber catches up on the next event.
+ * <p>
+ * A client that falls more than max-subscriber-lag events behind, or whose position has been
+ * overwritten, is sent a "resync" event and moved to the head; it should reload /recent-activity.
+ * A client reconnecting with Last-Event-ID gets the missed events replayed while they are still buffered.
+ */
+@Component
+@Slf4j
+public class ActivityStreamBroadcaster {
+
+    static final String ACTIVITY_EVENT = "activity";
+    static final String RESYNC_EVENT = "resync";
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final ActivityFeed activityFeed;
+    private final Executor dispatchExecutor;
+    private final long streamTimeoutMs;
+    private final long maxSubscriberLag;
+    private final long sendTimeoutNanos;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ActivityStreamBroadcaster(ActivityFeed activityFeed,
+                                     @Qualifier(AsyncConfig.ACTIVITY_STREAM_EXECUTOR) Executor dispatchExecutor,
+                                     @Value("${app.activity.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                                     @Value("${app.activity.max-subscriber-lag:256}") long maxSubscriberLag,
+                                     @Value("${app.activity.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.activityFeed = activityFeed;
+        this.dispatchExecutor = dispatchExecutor;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxSubscriberLag = maxSubscriberLag;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        activityFeed.addListener(this::signalAll);
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long position;
+        // System.nanoTime() when the send in progress started, 0 when none is
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Open a stream starting after lastEventId, or at the head for a new subscriber
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        long head = activityFeed.headSequence();
+        long position = lastEventId == null || lastEventId > head ? head : lastEventId;
+        Subscriber subscriber = new Subscriber(emitter, position);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Activity stream subscriber added at position {}, {} subscribers", position, subscribers.size());
+
+        if (position < head) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Comment frames keep proxies from closing idle streams and reveal disconnected clients
+     */
+    @Scheduled(fixedDelayString = "${app.activity.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // A subscriber being drained is sent events, which serve as the heartbeat
+            if (subscriber.draining.compareAndSet(false, true)) {
+                dispatch(subscriber, () -> {
+                    try {
+                        send(subscriber, SseEmitter.event().comment("heartbeat"));
+                    } finally {
+                        subscriber.draining.set(false);
+                    }
+                    // Events whose drain was skipped while every dispatch thread was busy
+                    if (subscribers.contains(subscriber) && readable(subscriber)) {
+                        schedule(subscriber);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Drop subscribers whose send has been blocked for longer than the send timeout. The blocked
+     * write cannot be interrupted, so it keeps its thread until the socket fails or drains.
+     */
+    @Scheduled(fixedDelayString = "${app.activity.send-timeout-ms:10000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos && subscribers.remove(subscriber)) {
+                log.warn("Activity stream send blocked for {} ms, dropping the subscriber; {} subscribers remain",
+                        TimeUnit.NANOSECONDS.toMillis(now - since), subscribers.size());
+            }
+        }
+    }
+
+    private void signalAll() {
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatch(subscriber, () -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Run a task that holds the subscriber's draining flag, releasing the flag if no thread is free
+     */
+    private void dispatch(Subscriber subscriber, Runnable task) {
+        try {
+            dispatchExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            subscriber.draining.set(false);
+            log.debug("All activity stream dispatch threads busy, subscriber catches up on the next event");
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (subscribers.contains(subscriber)) {
+                long head = activityFeed.headSequence();
+                if (subscriber.position >= head) {
+                    break;
+                }
+                ActivityFeed.Batch batch = head - subscriber.position > maxSubscriberLag
+                        ? new ActivityFeed.Batch(List.of(), true)
+                        : activityFeed.readAfter(subscriber.position, DRAIN_BATCH_SIZE);
+                if (batch.lapped()) {
+                    resync(subscriber, head);
+                    continue;
+                }
+                if (batch.entries().isEmpty()) {
+                    break; // next event is still being written; its publisher signals again
+                }
+                for (ActivityFeed.Entry entry : batch.entries()) {
+                    if (!send(subscriber, SseEmitter.event()
+                            .id(Long.toString(entry.sequence()))
+                            .name(ACTIVITY_EVENT)
+                            .data(entry.json(), MediaType.APPLICATION_JSON))) {
+                        return;
+                    }
+                    subscriber.position = entry.sequence();
+                }
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A signal that arrived while this drain held the flag was dropped; pick up its event now
+        if (subscribers.contains(subscriber) && readable(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean readable(Subscriber subscriber) {
+        if (subscriber.position >= activityFeed.headSequence()) {
+            return false;
+        }
+        ActivityFeed.Batch next = activityFeed.readAfter(subscriber.position, 1);
+        return next.lapped() || !next.entries().isEmpty();
+    }
+
+    private void resync(Subscriber subscriber, long head) {
+        log.debug("Activity stream subscriber {} events behind, sending resync", head - subscriber.position);
+        if (send(subscriber, SseEmitter.event()
+                .id(Long.toString(head))
+                .name(RESYNC_EVENT)
+                .data(Map.of("latestId", head), MediaType.APPLICATION_JSON))) {
+            subscriber.position = head;
+        }
+    }
+
+    /**
+     * @return false if the client is gone or was dropped, and its stream has been closed
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendingSince = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+        if (!subscribers.contains(subscriber)) {
+            // Dropped while the send was blocked; the client reconnects with Last-Event-ID
+            subscriber.emitter.complete();
+            return false;
+        }
+        return true;
+    }
+}
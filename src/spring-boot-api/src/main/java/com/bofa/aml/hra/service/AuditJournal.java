@@ -0,0 +1,468 @@
+package com.bofa.aml.hra.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit trail of workflow decisions, kept outside the case tables.
+ * <p>
+ * Records go to memory-mapped segment files of a fixed size; a full segment is flushed and a new
+ * one started. A single writer thread drains everything queued since its last pass and writes it
+ * as one group commit, so concurrent escalations share one flush instead of paying for their own.
+ * The fsync policy decides when a commit is acknowledged: after the flush (always), or once the
+ * records are in the mapped pages with flushes at most every interval (interval), or leaving
+ * flushing to the OS apart from rotation and shutdown (never).
+ * <p>
+ * Inside a transaction the records are written as prepared when it is about to commit, and a
+ * journal failure rolls it back. Once the transaction commits a marker naming their sequence numbers
+ * is appended; until then, and for good if the commit fails, they are left out of queries and
+ * replays, so the trail never shows a decision that did not take effect. On startup every prepared
+ * record without a marker is treated as uncommitted, including those of a transaction the process
+ * died in the middle of committing; the case tables stay the source of truth for state.
+ */
+@Component
+@Slf4j
+public class AuditJournal {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final String COMMITTED_ACTION = "transaction-committed";
+    private static final String SEQUENCES_DETAIL = "sequences";
+
+    public enum FsyncPolicy {
+        ALWAYS, INTERVAL, NEVER
+    }
+
+    /**
+     * A written record; sequence numbers are gapless and recordedAt never decreases
+     */
+    public record Entry(long sequence, Instant recordedAt, String action, String caseId, String userId,
+                        Map<String, String> details) {
+    }
+
+    /**
+     * A record to be written; the journal assigns its sequence number and time. Details with a
+     * null value are left out.
+     */
+    public record Draft(String action, String caseId, String userId, Map<String, String> details) {
+
+        public Draft {
+            Map<String, String> present = new LinkedHashMap<>();
+            if (details != null) {
+                details.forEach((key, value) -> {
+                    if (value != null) {
+                        present.put(key, value);
+                    }
+                });
+            }
+            details = Collections.unmodifiableMap(present);
+        }
+    }
+
+    private record Pending(Draft draft, byte flags, int size, CompletableFuture<Entry> written) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final int maxBatch;
+    private final long writeTimeoutMs;
+    private final BlockingQueue<Pending> queue;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private final Thread writer;
+
+    /**
+     * Prepared records whose transaction has not committed, or never will
+     */
+    private final Set<Long> uncommitted = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+    private volatile long lastSequence;
+
+    // Writer thread only
+    private AuditSegment active;
+    private long nextSequence;
+    private Instant lastRecordedAt;
+    private long lastForcedAt = System.nanoTime();
+
+    public AuditJournal(@Value("${app.audit.directory:data/audit}") String directory,
+                        @Value("${app.audit.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${app.audit.fsync:ALWAYS}") FsyncPolicy fsyncPolicy,
+                        @Value("${app.audit.fsync-interval-ms:1000}") long fsyncIntervalMs,
+                        @Value("${app.audit.max-batch:512}") int maxBatch,
+                        @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                        @Value("${app.audit.write-timeout-ms:5000}") long writeTimeoutMs) throws IOException {
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.segmentSize = Math.multiplyExact(segmentSizeMb, 1024 * 1024);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.maxBatch = maxBatch;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        Files.createDirectories(this.directory);
+        openSegments();
+        this.writer = new Thread(this::writeLoop, "audit-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Record one decision, when the current transaction commits or immediately outside one
+     */
+    public void record(String action, String caseId, String userId, Map<String, String> details) {
+        recordAll(List.of(new Draft(action, caseId, userId, details)));
+    }
+
+    /**
+     * Record several decisions, e.g. one per case of a bulk chunk. Everything recorded in one
+     * transaction is written in the same group commit.
+     */
+    @SuppressWarnings("unchecked")
+    public void recordAll(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            await(append(drafts));
+            return;
+        }
+        List<Draft> inTransaction = (List<Draft>) TransactionSynchronizationManager.getResource(this);
+        if (inTransaction == null) {
+            List<Draft> collected = new ArrayList<>();
+            List<Entry> prepared = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    prepared.addAll(await(append(collected, AuditSegment.PREPARED)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditJournal.this);
+                    if (status == STATUS_COMMITTED && !prepared.isEmpty()) {
+                        markCommitted(prepared);
+                    }
+                }
+            });
+            inTransaction = collected;
+        }
+        inTransaction.addAll(drafts);
+    }
+
+    /**
+     * Queue records for the writer without waiting; the future completes when they are
+     * acknowledged under the fsync policy. While the queue is full this waits up to the write
+     * timeout for room, then fails.
+     */
+    public CompletableFuture<List<Entry>> append(List<Draft> drafts) {
+        return append(drafts, (byte) 0);
+    }
+
+    /**
+     * Committed records in sequence order from the given sequence number until the visitor returns false
+     */
+    public void replay(long fromSequence, Predicate<Entry> visitor) {
+        AuditSegment[] snapshot = segments.toArray(AuditSegment[]::new);
+        boolean[] stopped = {false};
+        for (int i = 0; i < snapshot.length && !stopped[0]; i++) {
+            if (i + 1 < snapshot.length && snapshot[i + 1].baseSequence() <= fromSequence) {
+                continue;
+            }
+            snapshot[i].scan(entry -> {
+                if (entry.sequence() < fromSequence || !isCommitted(entry)) {
+                    return true;
+                }
+                stopped[0] = !visitor.test(entry);
+                return !stopped[0];
+            }, null);
+        }
+    }
+
+    /**
+     * Up to limit committed records, oldest first, recorded in [from, to) and for one case when caseId is
+     * given. Segments entirely outside the time range are skipped without being read.
+     */
+    public List<Entry> query(String caseId, Instant from, Instant to, int limit) {
+        List<Entry> found = new ArrayList<>(Math.min(limit, 256));
+        AuditSegment[] snapshot = segments.toArray(AuditSegment[]::new);
+        for (int i = 0; i < snapshot.length && found.size() < limit; i++) {
+            if (to != null && !snapshot[i].openedAt().isBefore(to)) {
+                break;
+            }
+            // A segment's records are no later than the next segment's opening time
+            if (from != null && i + 1 < snapshot.length && snapshot[i + 1].openedAt().isBefore(from)) {
+                continue;
+            }
+            snapshot[i].scan(entry -> {
+                if (to != null && !entry.recordedAt().isBefore(to)) {
+                    return false;
+                }
+                if ((from == null || !entry.recordedAt().isBefore(from)) && isCommitted(entry)) {
+                    found.add(entry);
+                }
+                return found.size() < limit;
+            }, caseId);
+        }
+        return found;
+    }
+
+    /**
+     * Sequence number of the last acknowledged record, 0 if none
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private CompletableFuture<List<Entry>> append(List<Draft> drafts, byte flags) {
+        if (drafts.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Audit journal is closed"));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        List<CompletableFuture<Entry>> written = new ArrayList<>(drafts.size());
+        for (Draft draft : drafts) {
+            int size = AuditSegment.encodedSize(draft, segmentSize);
+            if (size < 0) {
+                throw new IllegalArgumentException("Audit record for case " + draft.caseId() + " does not fit in a segment");
+            }
+            Pending pending = new Pending(draft, flags, size, new CompletableFuture<>());
+            try {
+                if (!queue.offer(pending, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new IllegalStateException("Audit journal queue stayed full for " + writeTimeoutMs + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing an audit record", e);
+            }
+            written.add(pending.written());
+        }
+        return CompletableFuture.allOf(written.toArray(CompletableFuture[]::new))
+                .thenApply(done -> written.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Show a committed transaction's prepared records and append the marker that keeps them
+     * shown after a restart. Runs after the commit, so a failure can only be logged.
+     */
+    private void markCommitted(List<Entry> prepared) {
+        String sequences = prepared.stream()
+                .map(entry -> Long.toString(entry.sequence()))
+                .collect(Collectors.joining(","));
+        prepared.forEach(entry -> uncommitted.remove(entry.sequence()));
+        try {
+            append(List.of(new Draft(COMMITTED_ACTION, null, null, Map.of(SEQUENCES_DETAIL, sequences))))
+                    .whenComplete((written, e) -> {
+                        if (e != null) {
+                            log.error("Audit commit marker for sequences {} failed; they are hidden after a restart",
+                                    sequences, e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.error("Audit commit marker for sequences {} failed; they are hidden after a restart", sequences, e);
+        }
+    }
+
+    private boolean isCommitted(Entry entry) {
+        return !uncommitted.contains(entry.sequence())
+                && !(entry.caseId() == null && COMMITTED_ACTION.equals(entry.action()));
+    }
+
+    private List<Entry> await(CompletableFuture<List<Entry>> written) {
+        try {
+            return written.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the audit journal", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Audit journal did not acknowledge within " + writeTimeoutMs + " ms", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io
+                    ? new UncheckedIOException("Audit journal write failed", io)
+                    : new IllegalStateException("Audit journal write failed", e.getCause());
+        }
+    }
+
+    /**
+     * Map the existing segments and continue after the last valid record, or start the first segment
+     */
+    private void openSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(AuditSegment.FILE_PREFIX) && name.endsWith(AuditSegment.FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            segments.add(AuditSegment.open(file));
+        }
+        if (segments.isEmpty()) {
+            lastRecordedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            active = AuditSegment.create(directory, 1, lastRecordedAt, segmentSize);
+            segments.add(active);
+        } else {
+            active = segments.get(segments.size() - 1);
+            lastRecordedAt = active.lastRecordedAt();
+        }
+        nextSequence = active.lastSequence() + 1;
+        lastSequence = active.lastSequence();
+        if (!active.isWritable()) {
+            rotate();
+        }
+        loadUncommitted();
+        log.info("Audit journal at {}: {} segments, next sequence {}, fsync {}",
+                directory, segments.size(), nextSequence, fsyncPolicy);
+    }
+
+    /**
+     * Find the prepared records that no commit marker names
+     */
+    private void loadUncommitted() {
+        Set<Long> committed = new HashSet<>();
+        for (AuditSegment segment : segments) {
+            segment.scanOutcomes(COMMITTED_ACTION, uncommitted::add, marker -> {
+                for (String sequence : marker.details().getOrDefault(SEQUENCES_DETAIL, "").split(",")) {
+                    if (!sequence.isEmpty()) {
+                        committed.add(Long.parseLong(sequence));
+                    }
+                }
+            });
+        }
+        uncommitted.removeAll(committed);
+        if (!uncommitted.isEmpty()) {
+            log.warn("Audit journal has {} prepared records whose transaction did not commit; "
+                    + "they are left out of queries", uncommitted.size());
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    commit(batch);
+                }
+                if (fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastForcedAt >= fsyncIntervalNanos) {
+                    active.force();
+                    lastForcedAt = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit journal flush failed", e);
+            }
+        }
+    }
+
+    /**
+     * Write a batch as one group commit and acknowledge its callers
+     */
+    private void commit(List<Pending> batch) {
+        try {
+            List<Entry> written = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                if (!active.hasRoomFor(pending.size())) {
+                    rotate();
+                }
+                Draft draft = pending.draft();
+                Entry entry = new Entry(nextSequence, tick(), draft.action(), draft.caseId(), draft.userId(),
+                        draft.details());
+                if ((pending.flags() & AuditSegment.PREPARED) != 0) {
+                    // Hidden before readers can see it, until its transaction commits
+                    uncommitted.add(entry.sequence());
+                }
+                active.append(entry, pending.flags(), pending.size());
+                nextSequence++;
+                written.add(entry);
+            }
+            active.publish();
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                active.force();
+            }
+            lastSequence = nextSequence - 1;
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).written().complete(written.get(i));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit journal group commit of {} records failed", batch.size(), e);
+            batch.forEach(pending -> pending.written().completeExceptionally(e));
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Seal the active segment and start the next one with the next sequence number
+     */
+    private void rotate() throws IOException {
+        active.publish();
+        active.force();
+        AuditSegment next = AuditSegment.create(directory, nextSequence, tick(), segmentSize);
+        segments.add(next);
+        log.info("Audit journal rotated to {} after sequence {}", next.path().getFileName(), active.lastSequence());
+        active = next;
+    }
+
+    /**
+     * Current time in milliseconds, never earlier than the last record even if the clock steps back
+     */
+    private Instant tick() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        if (now.isAfter(lastRecordedAt)) {
+            lastRecordedAt = now;
+        }
+        return lastRecordedAt;
+    }
+}
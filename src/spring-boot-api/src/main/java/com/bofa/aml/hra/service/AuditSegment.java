@@ -0,0 +1,354 @@
+package com.bofa.aml.hra.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped file of the audit journal.
+ * <p>
+ * The file starts with a header holding the sequence number of its first record and the time the
+ * segment was opened, which is no later than any of its records. Records follow back to back as
+ * [length][CRC32C][payload] and the unused tail is zero, so a zero length marks the end. Since
+ * version 2 each payload carries a flags byte after its time; version 1 segments are still read. A record
+ * cut short by a crash fails its checksum; recovery stops there and zeroes the rest of the file.
+ * <p>
+ * Only the journal's writer thread appends. Readers work on duplicates of the same mapping and
+ * read up to the published limit, so they never see a record that is still being written.
+ */
+@Slf4j
+final class AuditSegment {
+
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x41554431; // "AUD1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_OVERHEAD = 8;
+    private static final int NULL_STRING = -1;
+
+    /**
+     * Flag of a record written before its transaction committed
+     */
+    static final byte PREPARED = 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long baseSequence;
+    private final Instant openedAt;
+    private final int version;
+
+    private volatile int limit;
+    private int pendingLimit;
+    private long lastSequence;
+    private int forcedUpTo;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer, long baseSequence, Instant openedAt,
+                         int version) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.baseSequence = baseSequence;
+        this.openedAt = openedAt;
+        this.version = version;
+        this.limit = HEADER_SIZE;
+        this.pendingLimit = HEADER_SIZE;
+        this.lastSequence = baseSequence - 1;
+        this.forcedUpTo = HEADER_SIZE;
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, baseSequence, FILE_SUFFIX);
+    }
+
+    /**
+     * Create and map a new segment whose first record will have the given sequence number
+     */
+    static AuditSegment create(Path directory, long baseSequence, Instant openedAt, int size) throws IOException {
+        Path path = directory.resolve(fileName(baseSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, baseSequence);
+        buffer.putLong(16, openedAt.toEpochMilli());
+        buffer.force(0, HEADER_SIZE);
+        return new AuditSegment(path, channel, buffer, baseSequence, openedAt, VERSION);
+    }
+
+    /**
+     * Map an existing segment and find the end of its valid records
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) < 1 || buffer.getInt(4) > VERSION) {
+            channel.close();
+            throw new IOException("Not an audit journal segment: " + path);
+        }
+        AuditSegment segment = new AuditSegment(path, channel, buffer,
+                buffer.getLong(8), Instant.ofEpochMilli(buffer.getLong(16)), buffer.getInt(4));
+        segment.recover();
+        return segment;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    Instant openedAt() {
+        return openedAt;
+    }
+
+    /**
+     * Whether records can be appended, which only segments of the current version accept
+     */
+    boolean isWritable() {
+        return version == VERSION;
+    }
+
+    /**
+     * Sequence number of the last record, or baseSequence - 1 when the segment is empty
+     */
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Time of the last record, or the time the segment was opened when it is empty
+     */
+    Instant lastRecordedAt() {
+        Instant[] last = {openedAt};
+        scan(entry -> {
+            last[0] = entry.recordedAt();
+            return true;
+        }, null);
+        return last[0];
+    }
+
+    /**
+     * Bytes the record would take, or -1 if it can never fit in a segment of this size
+     */
+    static int encodedSize(AuditJournal.Draft draft, int segmentSize) {
+        int size = RECORD_OVERHEAD + 17 + stringSize(draft.action()) + stringSize(draft.caseId())
+                + stringSize(draft.userId()) + 4;
+        for (Map.Entry<String, String> detail : draft.details().entrySet()) {
+            size += stringSize(detail.getKey()) + stringSize(detail.getValue());
+        }
+        return size <= segmentSize - HEADER_SIZE ? size : -1;
+    }
+
+    boolean hasRoomFor(int recordSize) {
+        return pendingLimit + recordSize <= buffer.capacity();
+    }
+
+    /**
+     * Write one record after the last. Not visible to readers until {@link #publish()}.
+     * Called only by the writer thread, after {@link #hasRoomFor(int)}.
+     */
+    void append(AuditJournal.Entry entry, byte flags, int recordSize) {
+        ByteBuffer out = buffer.duplicate();
+        int start = pendingLimit;
+        out.position(start + RECORD_OVERHEAD);
+        out.putLong(entry.sequence());
+        out.putLong(entry.recordedAt().toEpochMilli());
+        out.put(flags);
+        putString(out, entry.action());
+        putString(out, entry.caseId());
+        putString(out, entry.userId());
+        out.putInt(entry.details().size());
+        for (Map.Entry<String, String> detail : entry.details().entrySet()) {
+            putString(out, detail.getKey());
+            putString(out, detail.getValue());
+        }
+        int payloadLength = recordSize - RECORD_OVERHEAD;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + RECORD_OVERHEAD, payloadLength));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // Length last, so a record is never valid before its payload and checksum are in place
+        buffer.putInt(start, payloadLength);
+        pendingLimit = start + recordSize;
+        lastSequence = entry.sequence();
+    }
+
+    /**
+     * Make the records appended so far visible to readers
+     */
+    void publish() {
+        limit = pendingLimit;
+    }
+
+    /**
+     * Flush the records written since the last force to the storage device
+     */
+    void force() {
+        int upTo = pendingLimit;
+        if (upTo > forcedUpTo) {
+            buffer.force(forcedUpTo, upTo - forcedUpTo);
+            forcedUpTo = upTo;
+        }
+    }
+
+    void close() {
+        try {
+            force();
+            channel.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not close audit segment {}", path, e);
+        }
+    }
+
+    /**
+     * Decode records in order until the visitor returns false. When caseId is given only records
+     * for that case are decoded in full; the others are skipped after reading their case ID.
+     */
+    void scan(Predicate<AuditJournal.Entry> visitor, String caseId) {
+        ByteBuffer in = buffer.duplicate();
+        int end = limit;
+        int position = HEADER_SIZE;
+        while (position + RECORD_OVERHEAD <= end) {
+            int payloadLength = in.getInt(position);
+            if (payloadLength <= 0 || position + RECORD_OVERHEAD + payloadLength > end) {
+                return;
+            }
+            int next = position + RECORD_OVERHEAD + payloadLength;
+            in.position(position + RECORD_OVERHEAD);
+            long sequence = in.getLong();
+            long recordedAt = in.getLong();
+            if (version > 1) {
+                in.get();
+            }
+            String action = getString(in);
+            String recordCaseId = getString(in);
+            if (caseId == null || caseId.equals(recordCaseId)) {
+                if (!visitor.test(decodeRest(in, sequence, recordedAt, action, recordCaseId))) {
+                    return;
+                }
+            }
+            position = next;
+        }
+    }
+
+    /**
+     * Walk the records once, passing the sequence number of each prepared record and decoding in
+     * full only the records with the given action
+     */
+    void scanOutcomes(String markerAction, LongConsumer prepared, Consumer<AuditJournal.Entry> markers) {
+        if (version == 1) {
+            return;
+        }
+        ByteBuffer in = buffer.duplicate();
+        int end = limit;
+        int position = HEADER_SIZE;
+        while (position + RECORD_OVERHEAD <= end) {
+            int payloadLength = in.getInt(position);
+            if (payloadLength <= 0 || position + RECORD_OVERHEAD + payloadLength > end) {
+                return;
+            }
+            in.position(position + RECORD_OVERHEAD);
+            long sequence = in.getLong();
+            long recordedAt = in.getLong();
+            if ((in.get() & PREPARED) != 0) {
+                prepared.accept(sequence);
+            } else {
+                String action = getString(in);
+                if (markerAction.equals(action)) {
+                    markers.accept(decodeRest(in, sequence, recordedAt, action, getString(in)));
+                }
+            }
+            position += RECORD_OVERHEAD + payloadLength;
+        }
+    }
+
+    private static AuditJournal.Entry decodeRest(ByteBuffer in, long sequence, long recordedAt, String action,
+                                                 String caseId) {
+        String userId = getString(in);
+        int detailCount = in.getInt();
+        Map<String, String> details = new LinkedHashMap<>(detailCount * 2);
+        for (int i = 0; i < detailCount; i++) {
+            details.put(getString(in), getString(in));
+        }
+        return new AuditJournal.Entry(sequence, Instant.ofEpochMilli(recordedAt), action, caseId, userId, details);
+    }
+
+    /**
+     * Walk the records checking lengths and checksums; the first bad one ends the segment
+     */
+    private void recover() {
+        int capacity = buffer.capacity();
+        int position = HEADER_SIZE;
+        long last = baseSequence - 1;
+        while (position + RECORD_OVERHEAD <= capacity) {
+            int payloadLength = buffer.getInt(position);
+            if (payloadLength == 0) {
+                break;
+            }
+            if (payloadLength < 0 || position + RECORD_OVERHEAD + payloadLength > capacity
+                    || !checksumMatches(position, payloadLength)) {
+                log.warn("Audit segment {} has a torn record at offset {}; truncating the segment there",
+                        path.getFileName(), position);
+                byte[] zeros = new byte[capacity - position];
+                buffer.put(position, zeros);
+                buffer.force(position, zeros.length);
+                break;
+            }
+            last = buffer.getLong(position + RECORD_OVERHEAD);
+            position += RECORD_OVERHEAD + payloadLength;
+        }
+        lastSequence = last;
+        pendingLimit = position;
+        limit = position;
+        forcedUpTo = position;
+    }
+
+    private boolean checksumMatches(int position, int payloadLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + RECORD_OVERHEAD, payloadLength));
+        return (int) crc.getValue() == buffer.getInt(position + 4);
+    }
+
+    private static int stringSize(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.BulkJobStatusResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one background bulk job. Counters are updated by the worker threads
+ * and read concurrently by the job-status endpoint.
+ */
+@Getter
+public class BulkJob {
+
+    /**
+     * Only the first failures are kept so a badly broken input cannot exhaust the heap
+     */
+    static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final String jobId;
+    private final String jobType;
+    private final String createdBy;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile String status = "queued"; // "queued", "running", "completed", "completed-with-errors", "failed"
+    private volatile Long totalItems; // null while a streamed upload is still being read
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile String message;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger reportedFailures = new AtomicInteger();
+    private final Queue<BulkJobStatusResponse.ItemFailure> failures = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final BulkJobRegistry.JobMeters meters;
+
+    BulkJob(String jobId, String jobType, String createdBy, Long totalItems, BulkJobRegistry.JobMeters meters) {
+        this.jobId = jobId;
+        this.jobType = jobType;
+        this.createdBy = createdBy;
+        this.totalItems = totalItems;
+        this.meters = meters;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = "running";
+    }
+
+    public void setTotalItems(long totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * Named job-specific progress counter, e.g. rows parsed by a bulk upload
+     */
+    public AtomicLong counter(String name) {
+        return counters.computeIfAbsent(name, k -> new AtomicLong());
+    }
+
+    public void recordSuccess(long count) {
+        processed.addAndGet(count);
+        succeeded.addAndGet(count);
+        meters.succeeded().increment(count);
+    }
+
+    public void recordFailure(String itemId, String reason) {
+        processed.incrementAndGet();
+        failed.incrementAndGet();
+        meters.failed().increment();
+        if (reportedFailures.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+            failures.add(BulkJobStatusResponse.ItemFailure.builder().itemId(itemId).reason(reason).build());
+        }
+    }
+
+    public void complete() {
+        completedAt = LocalDateTime.now();
+        status = failed.get() == 0 ? "completed" : "completed-with-errors";
+        recordDuration();
+    }
+
+    public void fail(String reason) {
+        completedAt = LocalDateTime.now();
+        message = reason;
+        status = "failed";
+        recordDuration();
+    }
+
+    private void recordDuration() {
+        if (startedAt != null) {
+            meters.duration().record(Duration.between(startedAt, completedAt));
+        }
+    }
+
+    public boolean isFinished() {
+        return completedAt != null;
+    }
+
+    public BulkJobStatusResponse toResponse() {
+        return BulkJobStatusResponse.builder()
+                .jobId(jobId)
+                .jobType(jobType)
+                .status(status)
+                .totalItems(totalItems)
+                .processedItems(processed.get())
+                .succeededItems(succeeded.get())
+                .failedItems(failed.get())
+                .counters(counters.isEmpty() ? null : snapshotCounters())
+                .failures(new ArrayList<>(failures))
+                .createdBy(createdBy)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .completedAt(completedAt)
+                .message(message)
+                .build();
+    }
+
+    private Map<String, Long> snapshotCounters() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, value) -> snapshot.put(name, value.get()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of background bulk jobs, readable through the bulk job status endpoint.
+ * Finished jobs are kept for a retention window and then evicted. Item and duration meters are
+ * registered once per job type and shared by its jobs; throughput is the rate of hra.bulk.items.
+ */
+@Component
+@Slf4j
+public class BulkJobRegistry {
+
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, JobMeters> jobMeters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long retentionMinutes;
+
+    public BulkJobRegistry(MeterRegistry meterRegistry,
+                           @Value("${app.bulk.job-retention-minutes:60}") long retentionMinutes) {
+        this.meterRegistry = meterRegistry;
+        this.retentionMinutes = retentionMinutes;
+        Gauge.builder("hra.bulk.jobs.active", jobs,
+                        all -> all.values().stream().filter(job -> !job.isFinished()).count())
+                .description("Bulk jobs queued or running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Meters shared by all jobs of one type
+     */
+    record JobMeters(Counter succeeded, Counter failed, Timer duration) {
+    }
+
+    /**
+     * Register a new job; totalItems may be null when the size is only known once the input is read
+     */
+    public BulkJob create(String jobType, String createdBy, Long totalItems) {
+        String jobId = "JOB-" + UUID.randomUUID();
+        BulkJob job = new BulkJob(jobId, jobType, createdBy, totalItems,
+                jobMeters.computeIfAbsent(jobType, this::registerMeters));
+        jobs.put(jobId, job);
+        log.info("Created {} job {} for {} items", jobType, jobId, totalItems == null ? "unknown" : totalItems);
+        return job;
+    }
+
+    /**
+     * Hand a created job to its @Async processor. When the bulk job executor's queue is full the job
+     * is failed rather than left queued forever, the spooled input, if any, is deleted as the
+     * processor would have, and the rejection is rethrown; the API reports it as 503.
+     */
+    public void submit(BulkJob job, Path spooledInput, Runnable start) {
+        try {
+            start.run();
+        } catch (TaskRejectedException e) {
+            log.warn("Rejected {} job {}: bulk job executor is full", job.getJobType(), job.getJobId());
+            job.fail("Too many bulk jobs are queued; try again later");
+            if (spooledInput != null) {
+                try {
+                    Files.deleteIfExists(spooledInput);
+                } catch (IOException deleteFailure) {
+                    log.warn("Could not delete spooled upload {}", spooledInput, deleteFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    public BulkJob get(String jobId) {
+        BulkJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk job", jobId);
+        }
+        return job;
+    }
+
+    private JobMeters registerMeters(String jobType) {
+        return new JobMeters(
+                Counter.builder("hra.bulk.items").description("Items processed by bulk jobs")
+                        .tag("type", jobType).tag("outcome", "succeeded").register(meterRegistry),
+                Counter.builder("hra.bulk.items").description("Items processed by bulk jobs")
+                        .tag("type", jobType).tag("outcome", "failed").register(meterRegistry),
+                Timer.builder("hra.bulk.job.duration").description("Bulk job run time, from start to completion")
+                        .tag("type", jobType).register(meterRegistry));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+    }
+}
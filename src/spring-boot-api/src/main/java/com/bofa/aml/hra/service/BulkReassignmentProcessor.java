@@ -0,0 +1,189 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.dto.request.BulkReassignRequest;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk reassignment jobs in the background.
+ * Case IDs are processed in chunks; each chunk is one batched JDBC update in its own short
+ * transaction, so a large move never holds locks on the whole queue or times out a request.
+ * Each chunk writes its audit records as one group commit before the chunk transaction commits.
+ * A case is updated only at the version the chunk read, so one that changed in between is reported
+ * as a failed item instead of being overwritten.
+ */
+@Component
+@Slf4j
+public class BulkReassignmentProcessor {
+
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final CaseAggregateStore caseAggregates;
+    private final CaseCapacityTracker capacityTracker;
+    private final QuickActionCounterIndex quickActionCounters;
+    private final CaseAssignmentEngine assignmentEngine;
+    private final ActivityFeed activityFeed;
+    private final AuditJournal auditJournal;
+    private final RiskLookupCache riskLookupCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkReassignmentProcessor(CaseJdbcRepository caseJdbcRepository,
+                                     CaseAggregateStore caseAggregates,
+                                     CaseCapacityTracker capacityTracker,
+                                     QuickActionCounterIndex quickActionCounters,
+                                     CaseAssignmentEngine assignmentEngine,
+                                     ActivityFeed activityFeed,
+                                     AuditJournal auditJournal,
+                                     RiskLookupCache riskLookupCache,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.caseAggregates = caseAggregates;
+        this.capacityTracker = capacityTracker;
+        this.quickActionCounters = quickActionCounters;
+        this.assignmentEngine = assignmentEngine;
+        this.activityFeed = activityFeed;
+        this.auditJournal = auditJournal;
+        this.riskLookupCache = riskLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Async(AsyncConfig.BULK_JOB_EXECUTOR)
+    public void process(BulkJob job, BulkReassignRequest request) {
+        job.start();
+        log.info("Bulk reassignment job {} started for {} cases", job.getJobId(), job.getTotalItems());
+        try {
+            List<String> caseIds = request.getCaseIds().stream().distinct().collect(Collectors.toList());
+            for (int from = 0; from < caseIds.size(); from += chunkSize) {
+                List<String> chunk = caseIds.subList(from, Math.min(from + chunkSize, caseIds.size()));
+                try {
+                    processChunk(job, chunk, request.getTargetLob(), request.getTargetAnalyst(), request.getReason());
+                } catch (RuntimeException e) {
+                    log.error("Bulk reassignment job {} chunk starting at {} failed", job.getJobId(), from, e);
+                    chunk.forEach(caseId -> job.recordFailure(caseId, "Chunk update failed: " + e.getMessage()));
+                }
+            }
+            job.complete();
+            log.info("Bulk reassignment job {} finished: {} reassigned, {} failed",
+                    job.getJobId(), job.getSucceeded().get(), job.getFailed().get());
+            String target = request.getTargetAnalyst() != null ? request.getTargetAnalyst() : request.getTargetLob();
+            activityFeed.publish("bulk", String.format("Bulk reassignment: %d cases to %s",
+                            job.getSucceeded().get(), target), null, job.getCreatedBy(),
+                    Map.of("caseCount", job.getSucceeded().get(), "target", target, "jobId", job.getJobId()));
+        } catch (RuntimeException e) {
+            log.error("Bulk reassignment job {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of one chunk, applied to the job only after the chunk transaction commits
+     */
+    private record ChunkResult(List<CaseJdbcRepository.CaseState> updated, Map<String, String> failures) {
+    }
+
+    private void processChunk(BulkJob job, List<String> chunk, String targetLob, String targetAnalyst,
+                              String reason) {
+        ChunkResult result = transactionTemplate.execute(status -> {
+            Map<String, CaseJdbcRepository.CaseState> states = caseJdbcRepository.findStates(chunk).stream()
+                    .collect(Collectors.toMap(CaseJdbcRepository.CaseState::caseId, Function.identity()));
+
+            Map<String, String> failures = new LinkedHashMap<>();
+            List<CaseJdbcRepository.CaseState> updatable = new ArrayList<>(chunk.size());
+            for (String caseId : chunk) {
+                CaseJdbcRepository.CaseState state = states.get(caseId);
+                if (state == null) {
+                    failures.put(caseId, "Case not found");
+                } else if (CaseStatus.COMPLETED.name().equals(state.status())) {
+                    failures.put(caseId, "Case is already completed");
+                } else {
+                    updatable.add(state);
+                }
+            }
+            if (updatable.isEmpty()) {
+                return new ChunkResult(List.of(), failures);
+            }
+
+            int[] counts = caseJdbcRepository.batchReassign(updatable, targetLob, targetAnalyst);
+            List<CaseJdbcRepository.CaseState> updated = new ArrayList<>(updatable.size());
+            List<AuditJournal.Draft> audit = new ArrayList<>(updatable.size());
+            CaseCapacityTracker.Changes caseloadChanges = capacityTracker.changes();
+            QuickActionCounterIndex.Changes quickActionChanges = quickActionCounters.changes();
+            for (int i = 0; i < updatable.size(); i++) {
+                CaseJdbcRepository.CaseState state = updatable.get(i);
+                // Drivers may report Statement.SUCCESS_NO_INFO for batched rows; only 0 means not updated.
+                // The state read above is stale for such a case, so it is left out of the bookkeeping.
+                if (counts[i] == 0) {
+                    failures.put(state.caseId(), "Case was changed during reassignment, retry it");
+                    continue;
+                }
+                updated.add(state);
+                CaseStatus from = CaseStatus.valueOf(state.status());
+                CaseStatus to = targetAnalyst != null && from == CaseStatus.UNASSIGNED ? CaseStatus.ASSIGNED : from;
+                caseAggregates.recordTransition(from, to, state.highRisk());
+                caseloadChanges.move(state.assignedAnalyst(), state.lob(), from,
+                        targetAnalyst != null ? targetAnalyst : state.assignedAnalyst(),
+                        targetLob != null ? targetLob : state.lob(), to);
+                quickActionChanges.move(
+                        new QuickActionCounterIndex.CaseFacts(
+                                state.assignedAnalyst(), from, state.escalatedTo(), state.priority()),
+                        new QuickActionCounterIndex.CaseFacts(
+                                targetAnalyst != null ? targetAnalyst : state.assignedAnalyst(),
+                                to, state.escalatedTo(), state.priority()));
+                audit.add(reassignmentRecord(job, state, targetLob, targetAnalyst, reason));
+            }
+            auditJournal.recordAll(audit);
+            caseloadChanges.apply();
+            quickActionChanges.apply();
+            return new ChunkResult(updated, failures);
+        });
+
+        job.recordSuccess(result.updated().size());
+        result.failures().forEach(job::recordFailure);
+        syncAssignmentQueues(result.updated(), targetLob, targetAnalyst);
+        if (targetLob != null) {
+            // Risk mitigants are listed under the case's LOB
+            riskLookupCache.invalidateCases(
+                    result.updated().stream().map(CaseJdbcRepository.CaseState::caseId).toList());
+        }
+    }
+
+    private static AuditJournal.Draft reassignmentRecord(BulkJob job, CaseJdbcRepository.CaseState state,
+                                                         String targetLob, String targetAnalyst, String reason) {
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("jobId", job.getJobId());
+        details.put("fromAnalyst", state.assignedAnalyst());
+        details.put("toAnalyst", targetAnalyst != null ? targetAnalyst : state.assignedAnalyst());
+        details.put("fromLob", state.lob());
+        details.put("toLob", targetLob != null ? targetLob : state.lob());
+        details.put("reason", reason);
+        return new AuditJournal.Draft("reassigned", state.caseId(), job.getCreatedBy(), details);
+    }
+
+    /**
+     * Unassigned cases either left the queue or moved to a different LOB queue
+     */
+    private void syncAssignmentQueues(List<CaseJdbcRepository.CaseState> moved, String targetLob, String targetAnalyst) {
+        for (CaseJdbcRepository.CaseState state : moved) {
+            if (!CaseStatus.UNASSIGNED.name().equals(state.status())) {
+                continue;
+            }
+            assignmentEngine.remove(state.caseId());
+            if (targetAnalyst == null) {
+                assignmentEngine.enqueue(state.caseId(), targetLob, state.createdDate(), state.highRisk());
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.util.CsvLineParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams a bulk case upload from disk into the cases table with bounded memory.
+ * <p>
+ * One reader parses the CSV line by line into a bounded queue, a pool of validators turns rows
+ * into cases on a second bounded queue, and the job thread inserts valid cases in JDBC batches,
+ * each in its own short transaction. Full queues block the stage in front of them, so heap use
+ * depends on the queue capacity and batch size, not on the file size.
+ */
+@Component
+@Slf4j
+public class BulkUploadProcessor {
+
+    public static final String COUNTER_PARSED = "parsed";
+    public static final String COUNTER_VALID = "valid";
+    public static final String COUNTER_REJECTED = "rejected";
+    public static final String COUNTER_INSERTED = "inserted";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("clientid", "clientname", "lob", "riskrating");
+    private static final Set<String> RISK_RATINGS = Set.of("Low", "Medium", "High");
+    private static final Set<String> PRIORITIES = Set.of("low", "medium", "high", "critical");
+
+    // Identity sentinels marking the end of each stage's output
+    private static final ParsedRow END_OF_LINES = new ParsedRow(-1, List.of());
+    private static final Case END_OF_ROWS = new Case();
+
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final CaseAggregateStore caseAggregates;
+    private final CaseCapacityTracker capacityTracker;
+    private final QuickActionCounterIndex quickActionCounters;
+    private final CaseAssignmentEngine assignmentEngine;
+    private final ActivityFeed activityFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int validatorCount;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    public BulkUploadProcessor(CaseJdbcRepository caseJdbcRepository,
+                               CaseAggregateStore caseAggregates,
+                               CaseCapacityTracker capacityTracker,
+                               QuickActionCounterIndex quickActionCounters,
+                               CaseAssignmentEngine assignmentEngine,
+                               ActivityFeed activityFeed,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.bulk.upload.validators:4}") int validatorCount,
+                               @Value("${app.bulk.upload.queue-capacity:1000}") int queueCapacity,
+                               @Value("${app.bulk.upload.batch-size:1000}") int batchSize) {
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.caseAggregates = caseAggregates;
+        this.capacityTracker = capacityTracker;
+        this.quickActionCounters = quickActionCounters;
+        this.assignmentEngine = assignmentEngine;
+        this.activityFeed = activityFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validatorCount = validatorCount;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    private record ParsedRow(long lineNumber, List<String> fields) {
+    }
+
+    /**
+     * Upload-wide settings applied to every row
+     */
+    public record UploadOptions(String defaultPriority, String defaultAnalyst) {
+
+        boolean autoAssign() {
+            return defaultAnalyst == null || defaultAnalyst.isBlank() || "auto-assign".equalsIgnoreCase(defaultAnalyst);
+        }
+    }
+
+    @Async(AsyncConfig.BULK_JOB_EXECUTOR)
+    public void process(BulkJob job, Path file, UploadOptions options) {
+        job.start();
+        log.info("Bulk upload job {} started from {}", job.getJobId(), file);
+
+        ExecutorService stages = Executors.newFixedThreadPool(validatorCount + 1, stageThreadFactory(job));
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Integer> columns = readHeader(reader);
+
+            BlockingQueue<ParsedRow> lines = new ArrayBlockingQueue<>(queueCapacity);
+            BlockingQueue<Case> validCases = new ArrayBlockingQueue<>(queueCapacity);
+            Future<?> readerTask = stages.submit(() -> readLines(job, reader, lines));
+            for (int i = 0; i < validatorCount; i++) {
+                stages.submit(() -> validateRows(job, columns, options, lines, validCases));
+            }
+
+            insertCases(job, validCases);
+            readerTask.get();
+
+            job.setTotalItems(job.counter(COUNTER_PARSED).get());
+            job.complete();
+            log.info("Bulk upload job {} finished: {} parsed, {} inserted, {} rejected", job.getJobId(),
+                    job.counter(COUNTER_PARSED).get(), job.counter(COUNTER_INSERTED).get(),
+                    job.counter(COUNTER_REJECTED).get());
+            long inserted = job.counter(COUNTER_INSERTED).get();
+            activityFeed.publish("bulk", String.format("Bulk upload: %d cases created", inserted), null,
+                    job.getCreatedBy(), Map.of("caseCount", inserted, "jobId", job.getJobId()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Upload interrupted");
+        } catch (ExecutionException e) {
+            log.error("Bulk upload job {} failed while reading", job.getJobId(), e.getCause());
+            job.fail("Failed to read upload: " + e.getCause().getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Bulk upload job {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            stages.shutdownNow();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled upload {}", file, e);
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Upload file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvLineParser.parse(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Upload is missing required columns: " + missing);
+        }
+        return columns;
+    }
+
+    /**
+     * Reader stage: always hands one end marker to each validator, even when reading fails
+     */
+    private Void readLines(BulkJob job, BufferedReader reader, BlockingQueue<ParsedRow> lines)
+            throws IOException, InterruptedException {
+        try {
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.put(new ParsedRow(lineNumber, CsvLineParser.parse(line)));
+                job.counter(COUNTER_PARSED).incrementAndGet();
+            }
+        } finally {
+            for (int i = 0; i < validatorCount; i++) {
+                lines.put(END_OF_LINES);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validator stage: converts rows into new cases, rejecting invalid rows with a reason
+     */
+    private void validateRows(BulkJob job, Map<String, Integer> columns, UploadOptions options,
+                              BlockingQueue<ParsedRow> lines, BlockingQueue<Case> validCases) {
+        try {
+            try {
+                ParsedRow row;
+                while ((row = lines.take()) != END_OF_LINES) {
+                    try {
+                        validCases.put(toCase(row, columns, options));
+                        job.counter(COUNTER_VALID).incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        job.counter(COUNTER_REJECTED).incrementAndGet();
+                        job.recordFailure("line " + row.lineNumber(), e.getMessage());
+                    }
+                }
+            } finally {
+                validCases.put(END_OF_ROWS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Inserter stage, run on the job thread until every validator has finished
+     */
+    private void insertCases(BulkJob job, BlockingQueue<Case> validCases) throws InterruptedException {
+        List<Case> batch = new ArrayList<>(batchSize);
+        int finishedValidators = 0;
+        while (finishedValidators < validatorCount) {
+            Case next = validCases.take();
+            if (next == END_OF_ROWS) {
+                finishedValidators++;
+                continue;
+            }
+            batch.add(next);
+            if (batch.size() >= batchSize) {
+                insertBatch(job, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(job, batch);
+        }
+    }
+
+    private void insertBatch(BulkJob job, List<Case> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> caseJdbcRepository.batchInsert(batch));
+            onInserted(job, batch);
+        } catch (DataAccessException e) {
+            // Isolate the offending rows (e.g. duplicate case IDs) by retrying one at a time
+            log.warn("Batch insert failed for job {}, retrying {} rows individually", job.getJobId(), batch.size());
+            for (Case hraCase : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> caseJdbcRepository.batchInsert(List.of(hraCase)));
+                    onInserted(job, List.of(hraCase));
+                } catch (DataAccessException rowError) {
+                    job.recordFailure(hraCase.getCaseId(), "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void onInserted(BulkJob job, List<Case> inserted) {
+        job.counter(COUNTER_INSERTED).addAndGet(inserted.size());
+        job.recordSuccess(inserted.size());
+        CaseCapacityTracker.Changes caseloadChanges = capacityTracker.changes();
+        QuickActionCounterIndex.Changes quickActionChanges = quickActionCounters.changes();
+        for (Case hraCase : inserted) {
+            caseAggregates.recordCreated(hraCase.getStatus(), hraCase.isHighRisk());
+            caseloadChanges.move(null, null, null, hraCase.getAssignedAnalyst(), hraCase.getLob(), hraCase.getStatus());
+            quickActionChanges.move(null, QuickActionCounterIndex.CaseFacts.of(hraCase));
+            if (hraCase.getStatus() == CaseStatus.UNASSIGNED) {
+                assignmentEngine.enqueue(hraCase.getCaseId(), hraCase.getLob(), hraCase.getCreatedDate(),
+                        hraCase.isHighRisk());
+            }
+        }
+        caseloadChanges.apply();
+        quickActionChanges.apply();
+    }
+
+    private Case toCase(ParsedRow row, Map<String, Integer> columns, UploadOptions options) {
+        String clientId = required(row, columns, "clientid");
+        String clientName = required(row, columns, "clientname");
+        String lob = required(row, columns, "lob");
+
+        String riskRating = capitalize(required(row, columns, "riskrating"));
+        if (!RISK_RATINGS.contains(riskRating)) {
+            throw new IllegalArgumentException("Invalid riskRating: " + riskRating);
+        }
+
+        String priority = optional(row, columns, "priority");
+        priority = priority == null ? options.defaultPriority() : priority.toLowerCase(Locale.ROOT);
+        if (!PRIORITIES.contains(priority)) {
+            throw new IllegalArgumentException("Invalid priority: " + priority);
+        }
+
+        LocalDate dueDate = null;
+        String dueDateValue = optional(row, columns, "duedate");
+        if (dueDateValue != null) {
+            try {
+                dueDate = LocalDate.parse(dueDateValue);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dueDate, expected yyyy-MM-dd: " + dueDateValue);
+            }
+        }
+
+        String caseId = optional(row, columns, "caseid");
+        LocalDateTime now = LocalDateTime.now();
+        boolean autoAssign = options.autoAssign();
+        return Case.builder()
+                .caseId(caseId != null ? caseId : newCaseId())
+                .clientId(clientId)
+                .clientName(clientName)
+                .clientType(optional(row, columns, "clienttype"))
+                .lob(lob)
+                .jurisdiction(optional(row, columns, "jurisdiction"))
+                .riskRating(riskRating)
+                .priority(priority)
+                .dueDate(dueDate)
+                .status(autoAssign ? CaseStatus.UNASSIGNED : CaseStatus.ASSIGNED)
+                .assignedAnalyst(autoAssign ? null : options.defaultAnalyst())
+                .assignedDate(autoAssign ? null : now)
+                .createdDate(now)
+                .build();
+    }
+
+    private static String required(ParsedRow row, Map<String, Integer> columns, String column) {
+        String value = optional(row, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required value: " + column);
+        }
+        return value;
+    }
+
+    private static String optional(ParsedRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        String value = row.fields().get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String capitalize(String value) {
+        return value.substring(0, 1).toUpperCase(Locale.ROOT) + value.substring(1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String newCaseId() {
+        return "HRA-" + Year.now() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT);
+    }
+
+    private static ThreadFactory stageThreadFactory(BulkJob job) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-upload-" + job.getJobId() + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.repository.CaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rebuilds {@link CaseAggregateStore}, {@link CaseCapacityTracker} and the role counters of
+ * {@link QuickActionCounterIndex} from the case tables at startup and on a schedule, logging
+ * any drift between the incremental counters and the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CaseAggregateReconciler {
+
+    private final CaseRepository caseRepository;
+    private final CaseAggregateStore caseAggregates;
+    private final CaseCapacityTracker capacityTracker;
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final QuickActionCounterIndex quickActionCounters;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        caseAggregates.reset(loadStatusCounts(), caseRepository.countOpenHighRisk());
+        log.info("Dashboard aggregates initialised: {}", caseAggregates.statusSnapshot());
+        capacityTracker.reset(loadCaseloads());
+        quickActionCounters.resetRoles(QuickActionCounterIndex.roleCounts(caseJdbcRepository.countStates()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        reconcileStatusCounts();
+        reconcileCaseloads();
+        reconcileQuickActionRoles();
+    }
+
+    private void reconcileStatusCounts() {
+        Map<CaseStatus, Long> before = caseAggregates.statusSnapshot();
+        long highRiskBefore = caseAggregates.openHighRiskCount();
+
+        Map<CaseStatus, Long> actual = loadStatusCounts();
+        long highRiskActual = caseRepository.countOpenHighRisk();
+
+        // Workflow commits that land while the queries run would be double counted or lost
+        // by a blind overwrite, so only correct when the counters were quiet throughout
+        if (!before.equals(caseAggregates.statusSnapshot())
+                || highRiskBefore != caseAggregates.openHighRiskCount()) {
+            log.debug("Dashboard aggregates changed during reconciliation, retrying next cycle");
+            return;
+        }
+
+        Map<CaseStatus, Long> drift = new EnumMap<>(CaseStatus.class);
+        actual.forEach((status, count) -> {
+            long delta = count - before.getOrDefault(status, 0L);
+            if (delta != 0) {
+                drift.put(status, delta);
+            }
+        });
+        long highRiskDrift = highRiskActual - highRiskBefore;
+
+        if (drift.isEmpty() && highRiskDrift == 0) {
+            log.debug("Dashboard aggregates reconciled with no drift");
+            return;
+        }
+        log.warn("Dashboard aggregate drift detected, status drift: {}, open high-risk drift: {}",
+                drift, highRiskDrift);
+        caseAggregates.reset(actual, highRiskActual);
+    }
+
+    private void reconcileCaseloads() {
+        Map<CaseCapacityTracker.Seat, Long> before = capacityTracker.snapshot();
+        Map<CaseCapacityTracker.Seat, Long> actual = loadCaseloads();
+        if (!before.equals(capacityTracker.snapshot())) {
+            log.debug("Analyst caseloads changed during reconciliation, retrying next cycle");
+            return;
+        }
+        if (before.equals(actual)) {
+            log.debug("Analyst caseloads reconciled with no drift");
+            return;
+        }
+        log.warn("Analyst caseload drift detected on {} of {} analyst/LOB pairs",
+                countDifferences(before, actual), actual.size());
+        capacityTracker.reset(actual);
+    }
+
+    private void reconcileQuickActionRoles() {
+        long[] before = quickActionCounters.roleSnapshot();
+        long[] actual = QuickActionCounterIndex.roleCounts(caseJdbcRepository.countStates());
+        if (!Arrays.equals(before, quickActionCounters.roleSnapshot())) {
+            log.debug("Quick-action counters changed during reconciliation, retrying next cycle");
+            return;
+        }
+        if (Arrays.equals(before, actual)) {
+            log.debug("Quick-action counters reconciled with no drift");
+            return;
+        }
+        log.warn("Quick-action role counter drift detected, counters: {}, database: {}",
+                Arrays.toString(before), Arrays.toString(actual));
+        quickActionCounters.resetRoles(actual);
+    }
+
+    private static long countDifferences(Map<CaseCapacityTracker.Seat, Long> before,
+                                         Map<CaseCapacityTracker.Seat, Long> actual) {
+        Set<CaseCapacityTracker.Seat> seats = new HashSet<>(before.keySet());
+        seats.addAll(actual.keySet());
+        return seats.stream()
+                .filter(seat -> !Objects.equals(before.get(seat), actual.get(seat)))
+                .count();
+    }
+
+    private Map<CaseCapacityTracker.Seat, Long> loadCaseloads() {
+        Map<CaseCapacityTracker.Seat, Long> caseloads = new HashMap<>();
+        for (CaseJdbcRepository.CaseloadRow row : caseJdbcRepository.countAnalystCaseloads()) {
+            caseloads.merge(CaseCapacityTracker.seat(row.lob(), row.analyst()), row.cases(), Long::sum);
+        }
+        return caseloads;
+    }
+
+    private Map<CaseStatus, Long> loadStatusCounts() {
+        Map<CaseStatus, Long> counts = new EnumMap<>(CaseStatus.class);
+        for (CaseStatus status : CaseStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : caseRepository.countGroupedByStatus()) {
+            counts.put(CaseStatus.valueOf((String) row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,93 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory case counters behind the dashboard overview and workflow distribution.
+ * Workflow mutations apply deltas after their transaction commits, so reads are O(1)
+ * and rolled-back changes never reach the counters. {@link CaseAggregateReconciler}
+ * periodically rebuilds the counters from the database to correct any drift.
+ */
+@Component
+@RequiredArgsConstructor
+public class CaseAggregateStore {
+
+    private static final CaseStatus[] STATUSES = CaseStatus.values();
+
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUSES.length);
+    private final AtomicLong openHighRisk = new AtomicLong();
+    private final DashboardVersion dashboardVersion;
+
+    public long count(CaseStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    public long openHighRiskCount() {
+        return openHighRisk.get();
+    }
+
+    /**
+     * Record a newly created case
+     */
+    public void recordCreated(CaseStatus status, boolean highRisk) {
+        recordTransition(null, status, highRisk);
+    }
+
+    /**
+     * Record a status change. Applied once the surrounding transaction commits,
+     * or immediately when called outside a transaction.
+     */
+    public void recordTransition(CaseStatus from, CaseStatus to, boolean highRisk) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> apply(from, to, highRisk));
+    }
+
+    private void apply(CaseStatus from, CaseStatus to, boolean highRisk) {
+        if (from != null) {
+            statusCounts.decrementAndGet(from.ordinal());
+        }
+        if (to != null) {
+            statusCounts.incrementAndGet(to.ordinal());
+        }
+        if (highRisk) {
+            boolean wasOpen = from != null && from.isOpen();
+            boolean isOpen = to != null && to.isOpen();
+            if (wasOpen != isOpen) {
+                openHighRisk.addAndGet(isOpen ? 1 : -1);
+            }
+        }
+        dashboardVersion.bump();
+    }
+
+    /**
+     * Point-in-time copy of the status counters
+     */
+    public Map<CaseStatus, Long> statusSnapshot() {
+        Map<CaseStatus, Long> snapshot = new EnumMap<>(CaseStatus.class);
+        for (CaseStatus status : STATUSES) {
+            snapshot.put(status, statusCounts.get(status.ordinal()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Overwrite the counters with values rebuilt from the database
+     */
+    void reset(Map<CaseStatus, Long> counts, long highRiskOpen) {
+        for (CaseStatus status : STATUSES) {
+            statusCounts.set(status.ordinal(), counts.getOrDefault(status, 0L));
+        }
+        openHighRisk.set(highRiskOpen);
+        dashboardVersion.bump();
+    }
+}
@@ -0,0 +1,331 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process FIFO assignment engine behind get-next-case.
+ * <p>
+ * Unassigned cases are held in one lock-free queue per LOB, ordered by (createdDate, caseId).
+ * A claim removes the oldest entry and registers a lease with a compare-and-set on the lease map,
+ * then persists it with a single conditional UPDATE, so concurrent analysts never serialize on a
+ * database row lock and a case is never handed to two analysts, even across nodes. A lease that is
+ * not opened before it expires is released and the case goes back to its original queue position.
+ * Expired leases this node does not hold, taken before a restart or by a node that has stopped, are
+ * released from the database on every resync.
+ * An index from case ID to its queue entry lets a case that left the unassigned state elsewhere be
+ * removed without scanning the queues.
+ */
+@Component
+@Slf4j
+public class CaseAssignmentEngine {
+
+    private static final String NO_LOB = "";
+    private static final int MAX_CLAIM_ATTEMPTS = 32;
+
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final CaseAggregateStore caseAggregates;
+    private final CaseCapacityTracker capacityTracker;
+    private final QuickActionCounterIndex quickActionCounters;
+    private final Duration leaseTtl;
+
+    private final ConcurrentMap<String, ConcurrentSkipListSet<QueuedCase>> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Indexed> index = new ConcurrentHashMap<>();
+    private final AtomicLong enqueueSequence = new AtomicLong();
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    public CaseAssignmentEngine(CaseJdbcRepository caseJdbcRepository,
+                                CaseAggregateStore caseAggregates,
+                                CaseCapacityTracker capacityTracker,
+                                QuickActionCounterIndex quickActionCounters,
+                                @Value("${app.assignment.lease-ttl-seconds:300}") long leaseTtlSeconds) {
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.caseAggregates = caseAggregates;
+        this.capacityTracker = capacityTracker;
+        this.quickActionCounters = quickActionCounters;
+        this.leaseTtl = Duration.ofSeconds(leaseTtlSeconds);
+    }
+
+    /**
+     * Queue entry for an unassigned case; natural order is FIFO by creation time
+     */
+    public record QueuedCase(String caseId, String lob, LocalDateTime createdDate, boolean highRisk)
+            implements Comparable<QueuedCase> {
+
+        private static final Comparator<QueuedCase> FIFO =
+                Comparator.comparing(QueuedCase::createdDate).thenComparing(QueuedCase::caseId);
+
+        @Override
+        public int compareTo(QueuedCase other) {
+            return FIFO.compare(this, other);
+        }
+    }
+
+    /**
+     * Index entry: the case's queue entry and the sequence number it was queued at
+     */
+    private record Indexed(QueuedCase queuedCase, long sequence) {
+    }
+
+    /**
+     * A time-limited claim on a case by one analyst
+     */
+    public record Lease(QueuedCase queuedCase, String analystId, LocalDateTime expiresAt) {
+
+        public String caseId() {
+            return queuedCase.caseId();
+        }
+    }
+
+    /**
+     * Releases leases orphaned by a previous run, then fills the queues.
+     * Runs before the dashboard aggregates are rebuilt so released cases are counted as unassigned.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialise() {
+        rebuildQueues();
+    }
+
+    /**
+     * Claim the oldest unassigned case, from one LOB or across all LOBs when lob is null
+     */
+    public Optional<Lease> claimNext(String lob, String analystId) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            QueuedCase next = pollOldest(lob);
+            if (next == null) {
+                return Optional.empty();
+            }
+
+            Lease lease = new Lease(next, analystId, LocalDateTime.now().plus(leaseTtl));
+            if (leases.putIfAbsent(next.caseId(), lease) != null) {
+                // Duplicate queue entry for a case that is already leased
+                continue;
+            }
+            if (caseJdbcRepository.claimUnassigned(next.caseId(), analystId, lease.expiresAt()) == 1) {
+                caseAggregates.recordTransition(CaseStatus.UNASSIGNED, CaseStatus.ASSIGNED, next.highRisk());
+                capacityTracker.recordTransition(null, next.lob(), CaseStatus.UNASSIGNED,
+                        analystId, next.lob(), CaseStatus.ASSIGNED);
+                quickActionCounters.recordTransition(
+                        new QuickActionCounterIndex.CaseFacts(null, CaseStatus.UNASSIGNED, null, null),
+                        new QuickActionCounterIndex.CaseFacts(analystId, CaseStatus.ASSIGNED, null, null));
+                return Optional.of(lease);
+            }
+            // Assigned by another node or a manager since the queue was filled; drop the stale entry
+            leases.remove(next.caseId(), lease);
+        }
+        log.warn("Gave up claiming a case for {} after {} stale queue entries", analystId, MAX_CLAIM_ATTEMPTS);
+        return Optional.empty();
+    }
+
+    /**
+     * Drop the in-memory lease once the analyst has opened the case
+     */
+    public void confirm(String caseId, String analystId) {
+        Lease lease = leases.get(caseId);
+        if (lease != null && lease.analystId().equals(analystId)) {
+            leases.remove(caseId, lease);
+        }
+    }
+
+    /**
+     * Add a newly created or re-opened unassigned case to its LOB queue
+     */
+    public void enqueue(String caseId, String lob, LocalDateTime createdDate, boolean highRisk) {
+        add(new QueuedCase(caseId, lob, createdDate, highRisk));
+    }
+
+    /**
+     * Remove a case that left the unassigned state outside the engine, e.g. through bulk reassignment
+     */
+    public void remove(String caseId) {
+        Indexed indexed = index.remove(caseId);
+        if (indexed != null) {
+            queueFor(indexed.queuedCase().lob()).remove(indexed.queuedCase());
+        }
+    }
+
+    public int queueDepth(String lob) {
+        ConcurrentSkipListSet<QueuedCase> queue = queues.get(lob == null ? NO_LOB : lob);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Queued cases across all LOBs; counts every entry, so read it for metrics, not per request
+     */
+    public int totalQueueDepth() {
+        int total = 0;
+        for (ConcurrentSkipListSet<QueuedCase> queue : queues.values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    public int activeLeases() {
+        return leases.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignment.reaper-interval-ms:5000}")
+    public void releaseExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Lease lease : leases.values()) {
+            if (!lease.expiresAt().isAfter(now) && leases.remove(lease.caseId(), lease)) {
+                release(lease, now);
+            }
+        }
+    }
+
+    /**
+     * Release the expired leases recorded in the database, including those this node never held.
+     * The conditional UPDATE lets only one node release a lease, so it is counted and re-queued once.
+     */
+    private int releaseOrphanedLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        for (CaseJdbcRepository.LeaseRow row : caseJdbcRepository.findExpiredLeases(now)) {
+            Lease lease = new Lease(new QueuedCase(row.caseId(), row.lob(), row.createdDate(), row.highRisk()),
+                    row.analystId(), row.expiresAt());
+            // A lease this node holds but has not reaped yet would otherwise block re-claiming the case
+            Lease held = leases.get(row.caseId());
+            if (held != null && !held.expiresAt().isAfter(now)) {
+                leases.remove(row.caseId(), held);
+            }
+            if (release(lease, now)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Return an expired lease's case to its queue and move it back to unassigned in the counters
+     */
+    private boolean release(Lease lease, LocalDateTime now) {
+        if (caseJdbcRepository.releaseLease(lease.caseId(), lease.analystId(), now) != 1) {
+            return false;
+        }
+        caseAggregates.recordTransition(CaseStatus.ASSIGNED, CaseStatus.UNASSIGNED, lease.queuedCase().highRisk());
+        capacityTracker.recordTransition(lease.analystId(), lease.queuedCase().lob(), CaseStatus.ASSIGNED,
+                null, lease.queuedCase().lob(), CaseStatus.UNASSIGNED);
+        quickActionCounters.recordTransition(
+                new QuickActionCounterIndex.CaseFacts(lease.analystId(), CaseStatus.ASSIGNED, null, null),
+                new QuickActionCounterIndex.CaseFacts(null, CaseStatus.UNASSIGNED, null, null));
+        add(lease.queuedCase());
+        log.debug("Lease on case {} by {} expired, returned to queue", lease.caseId(), lease.analystId());
+        return true;
+    }
+
+    /**
+     * Resync the queues with the database to pick up cases created, released or claimed by other
+     * nodes, after releasing expired leases that no node reaped. The result is merged into the live queues rather than swapped in: entries queued after
+     * the read started are kept even though the read does not have them, so a concurrent enqueue or
+     * lease release is never lost. Stale entries left by a concurrent claim are harmless: the
+     * conditional UPDATE rejects them.
+     */
+    @Scheduled(fixedDelayString = "${app.assignment.resync-interval-ms:60000}",
+               initialDelayString = "${app.assignment.resync-interval-ms:60000}")
+    public void rebuildQueues() {
+        int released = releaseOrphanedLeases();
+        if (released > 0) {
+            log.info("Released {} expired case leases not held by this node", released);
+        }
+
+        long readSequence = enqueueSequence.get();
+        Map<String, QueuedCase> unassigned = new HashMap<>();
+        for (CaseJdbcRepository.QueueRow row : caseJdbcRepository.findUnassignedQueueRows()) {
+            unassigned.put(row.caseId(), new QueuedCase(row.caseId(), row.lob(), row.createdDate(), row.highRisk()));
+        }
+
+        int added = 0;
+        for (QueuedCase queuedCase : unassigned.values()) {
+            Indexed indexed = index.get(queuedCase.caseId());
+            if (!leases.containsKey(queuedCase.caseId())
+                    && (indexed == null || !indexed.queuedCase().equals(queuedCase))) {
+                add(queuedCase);
+                added++;
+            }
+        }
+        int removed = 0;
+        for (Indexed indexed : index.values()) {
+            if (indexed.sequence() <= readSequence && !unassigned.containsKey(indexed.queuedCase().caseId())
+                    && index.remove(indexed.queuedCase().caseId(), indexed)) {
+                queueFor(indexed.queuedCase().lob()).remove(indexed.queuedCase());
+                removed++;
+            }
+        }
+        log.debug("Assignment queues resynced: {} cases queued, {} added, {} removed", index.size(), added, removed);
+    }
+
+    /**
+     * Queue a case, replacing its entry if it was queued under another LOB or creation time
+     */
+    private void add(QueuedCase queuedCase) {
+        Indexed previous = index.put(queuedCase.caseId(),
+                new Indexed(queuedCase, enqueueSequence.incrementAndGet()));
+        if (previous != null && !previous.queuedCase().equals(queuedCase)) {
+            queueFor(previous.queuedCase().lob()).remove(previous.queuedCase());
+        }
+        queueFor(queuedCase.lob()).add(queuedCase);
+    }
+
+    private ConcurrentSkipListSet<QueuedCase> queueFor(String lob) {
+        return queues.computeIfAbsent(lob == null ? NO_LOB : lob, k -> new ConcurrentSkipListSet<>());
+    }
+
+    private QueuedCase pollOldest(String lob) {
+        if (lob != null) {
+            ConcurrentSkipListSet<QueuedCase> queue = queues.get(lob);
+            return queue == null ? null : unindex(queue.pollFirst());
+        }
+        // No LOB filter: take the oldest head across all queues, retrying if another analyst wins it
+        while (true) {
+            QueuedCase oldest = null;
+            ConcurrentSkipListSet<QueuedCase> owner = null;
+            for (ConcurrentSkipListSet<QueuedCase> queue : queues.values()) {
+                QueuedCase head = firstOrNull(queue);
+                if (head != null && (oldest == null || head.compareTo(oldest) < 0)) {
+                    oldest = head;
+                    owner = queue;
+                }
+            }
+            if (oldest == null) {
+                return null;
+            }
+            if (owner.remove(oldest)) {
+                return unindex(oldest);
+            }
+        }
+    }
+
+    private QueuedCase unindex(QueuedCase polled) {
+        if (polled != null) {
+            index.computeIfPresent(polled.caseId(),
+                    (caseId, indexed) -> indexed.queuedCase().equals(polled) ? null : indexed);
+        }
+        return polled;
+    }
+
+    private static QueuedCase firstOrNull(ConcurrentSkipListSet<QueuedCase> queue) {
+        try {
+            return queue.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+}
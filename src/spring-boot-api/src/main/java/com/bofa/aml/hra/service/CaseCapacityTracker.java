@@ -0,0 +1,176 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live analyst caseloads per LOB behind the dashboard team capacity view.
+ * <p>
+ * A case counts towards its analyst's caseload while it is assigned and waiting on the analyst
+ * (assigned, in progress, in manual review or returned). Each (LOB, analyst) pair has its own
+ * {@link LongAdder}, so concurrent workflow mutations only touch the counter of the case they
+ * move and never a shared lock. Changes are applied after the surrounding transaction commits;
+ * a {@link Changes} batch nets out its moves first, so a bulk reassignment of thousands of
+ * cases adds to a handful of counters once per chunk. {@link CaseAggregateReconciler} rebuilds
+ * the counters from the case table at startup and corrects drift on a schedule.
+ */
+@Component
+public class CaseCapacityTracker {
+
+    private static final Set<CaseStatus> ANALYST_WORKLOAD = EnumSet.of(
+            CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, CaseStatus.MANUAL_REVIEW, CaseStatus.RETURNED);
+    private static final String NO_LOB = "Unassigned LOB";
+
+    private final DashboardVersion dashboardVersion;
+    private final int casesPerAnalyst;
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> caseloads = new ConcurrentHashMap<>();
+
+    public CaseCapacityTracker(DashboardVersion dashboardVersion,
+                               @Value("${app.capacity.cases-per-analyst:25}") int casesPerAnalyst) {
+        this.dashboardVersion = dashboardVersion;
+        this.casesPerAnalyst = casesPerAnalyst;
+    }
+
+    /**
+     * Caseload key for one analyst in one LOB
+     */
+    public record Seat(String lob, String analyst) {
+    }
+
+    /**
+     * Capacity figures for one LOB, computed on read
+     */
+    public record TeamLoad(String lob, int analysts, long activeCases) {
+    }
+
+    public int getCasesPerAnalyst() {
+        return casesPerAnalyst;
+    }
+
+    /**
+     * Record one case moving between (analyst, LOB, status) states
+     */
+    public void recordTransition(String fromAnalyst, String fromLob, CaseStatus from,
+                                 String toAnalyst, String toLob, CaseStatus to) {
+        Changes changes = changes();
+        changes.move(fromAnalyst, fromLob, from, toAnalyst, toLob, to);
+        changes.apply();
+    }
+
+    /**
+     * Start a batch of moves that is netted and applied as one set of counter updates
+     */
+    public Changes changes() {
+        return new Changes();
+    }
+
+    /**
+     * Moves collected by a single thread; not thread-safe
+     */
+    public final class Changes {
+
+        private final Map<Seat, Long> deltas = new HashMap<>();
+
+        private Changes() {
+        }
+
+        public void move(String fromAnalyst, String fromLob, CaseStatus from,
+                         String toAnalyst, String toLob, CaseStatus to) {
+            if (counts(fromAnalyst, from)) {
+                deltas.merge(seat(fromLob, fromAnalyst), -1L, Long::sum);
+            }
+            if (counts(toAnalyst, to)) {
+                deltas.merge(seat(toLob, toAnalyst), 1L, Long::sum);
+            }
+        }
+
+        /**
+         * Apply once the surrounding transaction commits, or immediately outside one
+         */
+        public void apply() {
+            deltas.values().removeIf(delta -> delta == 0);
+            if (deltas.isEmpty()) {
+                return;
+            }
+            Map<Seat, Long> netted = Map.copyOf(deltas);
+            AfterCommit.run(() -> {
+                netted.forEach((seat, delta) -> counter(seat).add(delta));
+                dashboardVersion.bump();
+            });
+        }
+    }
+
+    /**
+     * Per-LOB totals; analysts are those currently holding at least one active case
+     */
+    public Map<String, TeamLoad> teams() {
+        Map<String, TeamLoad> teams = new HashMap<>();
+        caseloads.forEach((lob, analysts) -> {
+            int holding = 0;
+            long active = 0;
+            for (LongAdder caseload : analysts.values()) {
+                long cases = caseload.sum();
+                if (cases > 0) {
+                    holding++;
+                    active += cases;
+                }
+            }
+            if (holding > 0) {
+                teams.put(lob, new TeamLoad(lob, holding, active));
+            }
+        });
+        return teams;
+    }
+
+    /**
+     * Point-in-time copy of every non-zero caseload, used to detect concurrent updates while reconciling
+     */
+    Map<Seat, Long> snapshot() {
+        Map<Seat, Long> snapshot = new HashMap<>();
+        caseloads.forEach((lob, analysts) -> analysts.forEach((analyst, caseload) -> {
+            long cases = caseload.sum();
+            if (cases != 0) {
+                snapshot.put(new Seat(lob, analyst), cases);
+            }
+        }));
+        return snapshot;
+    }
+
+    /**
+     * Overwrite the counters with values rebuilt from the database, dropping seats that emptied
+     */
+    void reset(Map<Seat, Long> counts) {
+        ConcurrentMap<String, ConcurrentMap<String, LongAdder>> rebuilt = new ConcurrentHashMap<>();
+        counts.forEach((seat, cases) -> {
+            LongAdder caseload = new LongAdder();
+            caseload.add(cases);
+            rebuilt.computeIfAbsent(seat.lob(), k -> new ConcurrentHashMap<>()).put(seat.analyst(), caseload);
+        });
+        caseloads.keySet().retainAll(rebuilt.keySet());
+        caseloads.putAll(rebuilt);
+        dashboardVersion.bump();
+    }
+
+    static Seat seat(String lob, String analyst) {
+        return new Seat(lob == null ? NO_LOB : lob, analyst);
+    }
+
+    private static boolean counts(String analyst, CaseStatus status) {
+        return analyst != null && status != null && ANALYST_WORKLOAD.contains(status);
+    }
+
+    private LongAdder counter(Seat seat) {
+        return caseloads.computeIfAbsent(seat.lob(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(seat.analyst(), k -> new LongAdder());
+    }
+}
@@ -0,0 +1,74 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.BulkJobStatusResponse;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.util.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Service layer for Case Creation business logic
+ */
+@Service
+@Slf4j
+public class CaseCreationService {
+
+    private final BulkJobRegistry bulkJobRegistry;
+    private final BulkUploadProcessor bulkUploadProcessor;
+    private final Path spoolDirectory;
+
+    public CaseCreationService(BulkJobRegistry bulkJobRegistry,
+                               BulkUploadProcessor bulkUploadProcessor,
+                               @Value("${app.bulk.upload.spool-dir:${java.io.tmpdir}/aml-hra-uploads}") String spoolDirectory) {
+        this.bulkJobRegistry = bulkJobRegistry;
+        this.bulkUploadProcessor = bulkUploadProcessor;
+        this.spoolDirectory = Paths.get(spoolDirectory);
+    }
+
+    /**
+     * Spools the upload to local disk without buffering it in memory and starts a streaming
+     * bulk upload job. The multipart temp file is removed when the request ends, so the job
+     * reads its own copy and deletes it once finished.
+     */
+    public BulkJobStatusResponse startBulkUpload(MultipartFile file, String defaultPriority, String defaultAnalyst) {
+        log.debug("Starting bulk upload of {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
+        if (file.isEmpty()) {
+            throw new ValidationException("Upload file is empty");
+        }
+        if (!filename.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            throw new ValidationException("Only CSV uploads can be streamed; export Excel files as CSV");
+        }
+
+        BulkJob job = bulkJobRegistry.create("bulk-upload", SecurityUtils.currentUserId(), null);
+        Path spooled;
+        try {
+            Files.createDirectories(spoolDirectory);
+            spooled = spoolDirectory.resolve(job.getJobId() + ".csv");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            job.fail("Could not store upload");
+            throw new UncheckedIOException("Could not store upload for job " + job.getJobId(), e);
+        }
+
+        BulkUploadProcessor.UploadOptions options =
+                new BulkUploadProcessor.UploadOptions(defaultPriority.toLowerCase(Locale.ROOT), defaultAnalyst);
+        bulkJobRegistry.submit(job, spooled, () -> bulkUploadProcessor.process(job, spooled, options));
+        return job.toResponse();
+    }
+
+    public BulkJobStatusResponse getBulkJobStatus(String jobId) {
+        log.debug("Fetching status of bulk job {}", jobId);
+        return bulkJobRegistry.get(jobId).toResponse();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.exception.CaseConflictException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The workflow transitions analysts and managers can make on a case, and the only way they are
+ * persisted.
+ * <p>
+ * A transition is checked against the status the case was read in, then written as one UPDATE
+ * that compares and sets the case version. Two people acting on the same case never wait on each
+ * other's row lock: the first to commit wins and the other gets a {@link CaseConflictException}.
+ * Claims, opens and lease releases are made by the assignment engine with their own conditional
+ * updates, which also increment the version.
+ * <p>
+ * The case is detached before it is changed. Otherwise the persistence context it was read in,
+ * which open-in-view keeps for the whole request, would flush it as a second, JPA-versioned UPDATE
+ * that fails against the version the conditional update has already moved on.
+ */
+@Service
+@RequiredArgsConstructor
+public class CaseStateMachine {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Action {
+        ESCALATE("escalated", EnumSet.of(CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, CaseStatus.MANUAL_REVIEW,
+                CaseStatus.RETURNED), CaseStatus.ESCALATED),
+        RETURN("returned", EnumSet.of(CaseStatus.ESCALATED), CaseStatus.RETURNED),
+        DISPOSE("completed", EnumSet.of(CaseStatus.ESCALATED), CaseStatus.COMPLETED);
+
+        private final String verb;
+        private final Set<CaseStatus> from;
+        private final CaseStatus to;
+
+        public boolean allowedFrom(CaseStatus status) {
+            return from.contains(status);
+        }
+    }
+
+    private final WorkflowTransitionWriter transitionWriter;
+    private final EntityManager entityManager;
+
+    /**
+     * Apply an action to a case read by the caller. The case is detached and, once the transition
+     * has committed, holds the new state and version.
+     *
+     * @param expectedVersion version the client last saw, or null to use the version just read
+     * @param changes         sets the fields the action changes besides the status
+     * @param onApplied       bookkeeping run in the transaction that applies the change
+     * @throws ValidationException   if the action is not allowed from the case's status
+     * @throws CaseConflictException if the case changed since it was read, or since expectedVersion
+     */
+    public void apply(Case hraCase, Action action, Long expectedVersion, Consumer<Case> changes, Runnable onApplied) {
+        CaseStatus from = hraCase.getStatus();
+        long version = hraCase.getVersion();
+        if (expectedVersion != null && expectedVersion != version) {
+            throw new CaseConflictException(hraCase.getCaseId(), expectedVersion, from.getCode(), version);
+        }
+        if (!action.allowedFrom(from)) {
+            throw new ValidationException(String.format(
+                    "Case %s cannot be %s from status %s", hraCase.getCaseId(), action.getVerb(), from.getCode()));
+        }
+        entityManager.detach(hraCase);
+        changes.accept(hraCase);
+        hraCase.setStatus(action.getTo());
+        transitionWriter.apply(CaseJdbcRepository.Transition.of(hraCase, version), onApplied);
+        hraCase.setVersion(version + 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.dto.response.CaseViewResponse;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the composite risk-assessment case view.
+ * The four sections are loaded concurrently, each with its own timeout, so opening a case costs
+ * about as much as the slowest section; a section that fails or times out is reported in the
+ * response instead of failing the page. The case's client and the customer, CRR factor and
+ * mitigant sections come from the risk lookup cache, so reopening a case does not query the database.
+ */
+@Service
+@Slf4j
+public class CaseViewService {
+
+    static final String CUSTOMER_INFO = "customerInfo";
+    static final String CRR_RISK_FACTORS = "crrRiskFactors";
+    static final String ADDITIONAL_RISK_FACTORS = "additionalRiskFactors";
+    static final String RISK_MITIGANTS = "riskMitigants";
+
+    private final RiskAssessmentService riskAssessmentService;
+    private final Executor executor;
+    private final long sectionTimeoutMs;
+
+    public CaseViewService(RiskAssessmentService riskAssessmentService,
+                           @Qualifier(AsyncConfig.CASE_VIEW_EXECUTOR) Executor executor,
+                           @Value("${app.case-view.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.riskAssessmentService = riskAssessmentService;
+        this.executor = executor;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+    }
+
+    public CaseViewResponse getCaseView(String caseId) {
+        log.debug("Building case view for {}", caseId);
+        long startedAt = System.nanoTime();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        // Customer info is keyed by client, so it waits for the case's client; the others start at once
+        CompletableFuture<String> caseClient = CompletableFuture.supplyAsync(
+                () -> riskAssessmentService.getClientId(caseId), executor);
+        CompletableFuture<?> customerInfo = caseClient
+                .thenApplyAsync(clientId -> timed(CUSTOMER_INFO, timings,
+                        () -> riskAssessmentService.getCustomerInfo(clientId)), executor)
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<?> crrRiskFactors = section(CRR_RISK_FACTORS, timings,
+                () -> riskAssessmentService.getCrrRiskFactors(caseId));
+        CompletableFuture<?> additionalRiskFactors = section(ADDITIONAL_RISK_FACTORS, timings,
+                () -> riskAssessmentService.getAdditionalRiskFactors(caseId));
+        CompletableFuture<?> riskMitigants = section(RISK_MITIGANTS, timings,
+                () -> riskAssessmentService.getRiskMitigants(caseId));
+
+        String clientId = awaitClient(caseClient, caseId);
+
+        List<CaseViewResponse.SectionError> errors = new ArrayList<>();
+        CaseViewResponse response = CaseViewResponse.builder()
+                .caseId(caseId)
+                .clientId(clientId)
+                .customerInfo(collect(CUSTOMER_INFO, customerInfo, errors))
+                .crrRiskFactors(collect(CRR_RISK_FACTORS, crrRiskFactors, errors))
+                .additionalRiskFactors(collect(ADDITIONAL_RISK_FACTORS, additionalRiskFactors, errors))
+                .riskMitigants(collect(RISK_MITIGANTS, riskMitigants, errors))
+                .build();
+
+        response.setComplete(errors.isEmpty());
+        response.setSectionErrors(errors.isEmpty() ? null : errors);
+        response.setSectionTimingsMs(new LinkedHashMap<>(timings));
+        response.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+        if (!errors.isEmpty()) {
+            log.warn("Case view for {} returned partial results: {}", caseId, errors);
+        }
+        return response;
+    }
+
+    private <T> CompletableFuture<T> section(String name, Map<String, Long> timings, Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> timed(name, timings, loader), executor)
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> T timed(String name, Map<String, Long> timings, Supplier<T> loader) {
+        long startedAt = System.nanoTime();
+        try {
+            return loader.get();
+        } finally {
+            timings.put(name, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    /**
+     * Without the case there is nothing to show, so a missing case fails the whole request
+     */
+    private String awaitClient(CompletableFuture<String> caseClient, String caseId) {
+        try {
+            return caseClient.get(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not load case " + caseId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out loading case " + caseId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted loading case " + caseId, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T collect(String name, CompletableFuture<?> future, List<CaseViewResponse.SectionError> errors) {
+        try {
+            return (T) future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String status = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof ResourceNotFoundException ? "not-found"
+                    : "error";
+            if ("error".equals(status)) {
+                log.error("Case view section {} failed", name, cause);
+            }
+            errors.add(CaseViewResponse.SectionError.builder()
+                    .section(name)
+                    .status(status)
+                    .message(switch (status) {
+                        case "timeout" -> "Section did not load in time";
+                        case "not-found" -> cause.getMessage();
+                        default -> "Section failed to load";
+                    })
+                    .build());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.BusinessLine;
+import com.bofa.aml.hra.model.Client;
+import com.bofa.aml.hra.repository.ClientJdbcRepository;
+import com.bofa.aml.hra.repository.ClientJdbcRepository.SearchRow;
+import com.bofa.aml.hra.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory type-ahead index over client legal names and IDs.
+ * <p>
+ * An immutable snapshot holds a sorted token dictionary with posting lists for prefix lookups,
+ * a sorted ID array for ID prefixes and a trigram index for typo-tolerant matches. Client changes
+ * are applied after commit to a small delta that queries scan alongside the snapshot; the snapshot
+ * is rebuilt from the clients table at startup, on a schedule and once the delta grows too large.
+ */
+@Component
+@Slf4j
+public class CompanySearchIndex {
+
+    /**
+     * Upper bound on candidates scored per query, keeps very short prefixes cheap
+     */
+    static final int MAX_CANDIDATES = 5000;
+
+    /**
+     * Trigrams shared by more names than this carry no signal and are skipped
+     */
+    static final int TRIGRAM_STOP_LIMIT = 20000;
+
+    static final int DELTA_REBUILD_THRESHOLD = 1000;
+
+    private static final int SCORE_EXACT_ID = 100;
+    private static final int SCORE_ID_PREFIX = 60;
+    private static final int SCORE_EXACT_WORD = 10;
+    private static final int SCORE_WORD_PREFIX = 6;
+    private static final int SCORE_FUZZY_WORD = 3;
+    private static final int SCORE_LEADING_WORD = 1;
+
+    private final ClientJdbcRepository clientJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private final ConcurrentHashMap<String, DeltaEntry> delta = new ConcurrentHashMap<>();
+    private final AtomicLong deltaSequence = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public CompanySearchIndex(ClientJdbcRepository clientJdbcRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.clientJdbcRepository = clientJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * A searchable client with its normalised name words and compact ID
+     */
+    public record IndexedCompany(String clientId,
+                                 String legalName,
+                                 String clientType,
+                                 BusinessLine businessLine,
+                                 String lob,
+                                 String jurisdiction,
+                                 String riskRating,
+                                 String compactId,
+                                 String[] words) {
+
+        static IndexedCompany of(SearchRow row) {
+            return new IndexedCompany(row.clientId(), row.legalName(), row.clientType(), row.businessLine(),
+                    row.lob(), row.jurisdiction(), row.riskRating(),
+                    compact(row.clientId()),
+                    CompanySearchIndex.words(row.legalName()).toArray(String[]::new));
+        }
+
+        boolean inLob(String lob) {
+            return lob == null
+                    || lob.equalsIgnoreCase(this.lob)
+                    || (businessLine != null && lob.equalsIgnoreCase(businessLine.getLabel()));
+        }
+    }
+
+    /**
+     * A ranked hit; matchType is "id", "name" or "fuzzy"
+     */
+    public record Match(IndexedCompany company, int score, String matchType) {
+
+        private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+                .thenComparingInt(match -> match.company().legalName().length())
+                .thenComparing(match -> match.company().legalName());
+    }
+
+    /**
+     * Pending change since the snapshot was built; company is null for a removed client
+     */
+    private record DeltaEntry(long sequence, IndexedCompany company) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reload the snapshot from the clients table. Delta entries registered before the reload
+     * started are committed and therefore part of the new snapshot, so they are dropped.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            long sequence = deltaSequence.get();
+            List<IndexedCompany> companies = new ArrayList<>();
+            readOnlyTransaction.executeWithoutResult(
+                    status -> clientJdbcRepository.scanSearchRows(row -> companies.add(IndexedCompany.of(row))));
+            snapshot = Snapshot.build(companies);
+            delta.forEach((clientId, entry) -> {
+                if (entry.sequence() <= sequence) {
+                    delta.remove(clientId, entry);
+                }
+            });
+            log.info("Company search index built with {} clients and {} tokens in {} ms",
+                    companies.size(), snapshot.tokens.length, (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Index a created or updated client once the surrounding transaction commits
+     */
+    public void upsert(Client client) {
+        IndexedCompany company = IndexedCompany.of(new SearchRow(client.getClientId(), client.getLegalName(),
+                client.getClientType(), client.getBusinessLine(), client.getLob(), client.getJurisdiction(),
+                client.getRiskRating()));
+        AfterCommit.run(() -> applyDelta(client.getClientId(), company));
+    }
+
+    public void remove(String clientId) {
+        AfterCommit.run(() -> applyDelta(clientId, null));
+    }
+
+    public int size() {
+        return snapshot.companies.length;
+    }
+
+    /**
+     * Distinct jurisdictions of high-risk clients as of the last rebuild; a client listing several
+     * jurisdictions counts each of them
+     */
+    public int highRiskJurisdictions() {
+        return snapshot.highRiskJurisdictions;
+    }
+
+    public int pendingChanges() {
+        return delta.size();
+    }
+
+    /**
+     * Rank clients whose ID starts with the query, or whose name words match every query word by
+     * prefix, falling back to words within a small edit distance when there are too few hits
+     */
+    public List<Match> search(String query, String lob, int limit) {
+        List<String> queryWords = words(query);
+        String compactQuery = compact(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String lobFilter = lob == null || lob.isBlank() ? null : lob.trim();
+        Snapshot current = snapshot;
+        String[] terms = queryWords.toArray(String[]::new);
+
+        List<Match> matches = new ArrayList<>();
+        BitSet seen = new BitSet();
+        int scored = current.collectIdPrefix(compactQuery, seen, 0);
+        scored = current.collectWordPrefix(longest(terms), seen, scored);
+        scoreAll(current, seen, terms, compactQuery, lobFilter, matches);
+
+        if (matches.size() < limit && longest(terms).length() >= 4) {
+            BitSet fuzzy = new BitSet();
+            current.collectTrigrams(longest(terms), fuzzy, seen, scored);
+            scoreAll(current, fuzzy, terms, compactQuery, lobFilter, matches);
+        }
+
+        for (DeltaEntry entry : delta.values()) {
+            if (entry.company() != null) {
+                Match match = score(entry.company(), terms, compactQuery, lobFilter);
+                if (match != null) {
+                    matches.add(match);
+                }
+            }
+        }
+
+        matches.sort(Match.RANKING);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void scoreAll(Snapshot current, BitSet candidates, String[] terms, String compactQuery,
+                          String lobFilter, List<Match> matches) {
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            IndexedCompany company = current.companies[ordinal];
+            if (delta.containsKey(company.clientId())) {
+                continue; // superseded by a pending change
+            }
+            Match match = score(company, terms, compactQuery, lobFilter);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+    }
+
+    static Match score(IndexedCompany company, String[] terms, String compactQuery, String lobFilter) {
+        if (!company.inLob(lobFilter)) {
+            return null;
+        }
+        int idScore = 0;
+        if (company.compactId().equals(compactQuery)) {
+            idScore = SCORE_EXACT_ID;
+        } else if (compactQuery.length() >= 2 && company.compactId().startsWith(compactQuery)) {
+            idScore = SCORE_ID_PREFIX;
+        }
+
+        int nameScore = 0;
+        boolean fuzzy = false;
+        for (String term : terms) {
+            int best = 0;
+            for (int i = 0; i < company.words().length; i++) {
+                int wordScore = scoreWord(term, company.words()[i]);
+                if (wordScore > 0 && i == 0) {
+                    wordScore += SCORE_LEADING_WORD;
+                }
+                best = Math.max(best, wordScore);
+            }
+            if (best == 0) {
+                nameScore = 0;
+                break;
+            }
+            fuzzy |= best <= SCORE_FUZZY_WORD + SCORE_LEADING_WORD;
+            nameScore += best;
+        }
+
+        if (idScore == 0 && nameScore == 0) {
+            return null;
+        }
+        return idScore >= nameScore
+                ? new Match(company, idScore, "id")
+                : new Match(company, nameScore, fuzzy ? "fuzzy" : "name");
+    }
+
+    private static int scoreWord(String term, String word) {
+        if (word.equals(term)) {
+            return SCORE_EXACT_WORD;
+        }
+        if (word.startsWith(term)) {
+            return SCORE_WORD_PREFIX;
+        }
+        int maxEdits = maxEdits(term);
+        if (maxEdits == 0) {
+            return 0;
+        }
+        int distance = prefixDistance(term, word, maxEdits);
+        return distance <= maxEdits ? SCORE_FUZZY_WORD - distance + 1 : 0;
+    }
+
+    /**
+     * Short words must match exactly; longer words tolerate one or two typos
+     */
+    static int maxEdits(String term) {
+        return term.length() < 4 ? 0 : term.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Smallest optimal-string-alignment distance between the term and any prefix of the word whose
+     * length is within maxEdits of the term, so "globl" matches "global" and "golbal" matches "globalex".
+     * Returns maxEdits + 1 as soon as the distance is known to exceed the bound.
+     */
+    static int prefixDistance(String term, String word, int maxEdits) {
+        int n = term.length();
+        int m = Math.min(word.length(), n + maxEdits);
+        if (m < n - maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && term.charAt(i - 1) == word.charAt(j - 2)
+                        && term.charAt(i - 2) == word.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = maxEdits + 1;
+        for (int j = Math.max(0, n - maxEdits); j <= m; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private void applyDelta(String clientId, IndexedCompany company) {
+        delta.put(clientId, new DeltaEntry(deltaSequence.incrementAndGet(), company));
+    }
+
+    @Scheduled(fixedDelay = 5000)
+    public void mergeLargeDelta() {
+        if (delta.size() >= DELTA_REBUILD_THRESHOLD) {
+            rebuild();
+        }
+    }
+
+    private static String longest(String[] terms) {
+        String longest = terms[0];
+        for (String term : terms) {
+            if (term.length() > longest.length()) {
+                longest = term;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Lower-case alphanumeric words of the text
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Lower-case alphanumerics only, so "GDC-789456123" and "gdc 7894" compare by prefix
+     */
+    static String compact(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder compact = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                compact.append(Character.toLowerCase(c));
+            }
+        }
+        return compact.toString();
+    }
+
+    private static long trigram(String word, int start) {
+        return ((long) word.charAt(start) << 32) | ((long) word.charAt(start + 1) << 16) | word.charAt(start + 2);
+    }
+
+    /**
+     * Immutable index structures over one load of the clients table
+     */
+    static final class Snapshot {
+
+        private final IndexedCompany[] companies;
+        private final String[] tokens; // sorted distinct name words
+        private final int[][] tokenPostings; // company ordinals per token, ascending
+        private final String[] ids; // sorted compact client IDs
+        private final int[] idOrdinals;
+        private final Map<Long, int[]> trigramPostings;
+        private final int highRiskJurisdictions;
+
+        private Snapshot(IndexedCompany[] companies, String[] tokens, int[][] tokenPostings,
+                         String[] ids, int[] idOrdinals, Map<Long, int[]> trigramPostings,
+                         int highRiskJurisdictions) {
+            this.companies = companies;
+            this.tokens = tokens;
+            this.tokenPostings = tokenPostings;
+            this.ids = ids;
+            this.idOrdinals = idOrdinals;
+            this.trigramPostings = trigramPostings;
+            this.highRiskJurisdictions = highRiskJurisdictions;
+        }
+
+        static Snapshot build(List<IndexedCompany> source) {
+            IndexedCompany[] companies = source.toArray(IndexedCompany[]::new);
+            Map<String, IntList> tokenLists = new HashMap<>();
+            Map<Long, IntList> trigramLists = new HashMap<>();
+            for (int ordinal = 0; ordinal < companies.length; ordinal++) {
+                for (String word : companies[ordinal].words()) {
+                    tokenLists.computeIfAbsent(word, k -> new IntList()).addDistinct(ordinal);
+                    for (int i = 0; i + 3 <= word.length(); i++) {
+                        trigramLists.computeIfAbsent(trigram(word, i), k -> new IntList()).addDistinct(ordinal);
+                    }
+                }
+            }
+
+            String[] tokens = tokenLists.keySet().toArray(String[]::new);
+            Arrays.sort(tokens);
+            int[][] tokenPostings = new int[tokens.length][];
+            for (int i = 0; i < tokens.length; i++) {
+                tokenPostings[i] = tokenLists.get(tokens[i]).toArray();
+            }
+
+            Integer[] byId = new Integer[companies.length];
+            for (int i = 0; i < byId.length; i++) {
+                byId[i] = i;
+            }
+            Arrays.sort(byId, Comparator.comparing(i -> companies[i].compactId()));
+            String[] ids = new String[companies.length];
+            int[] idOrdinals = new int[companies.length];
+            for (int i = 0; i < byId.length; i++) {
+                ids[i] = companies[byId[i]].compactId();
+                idOrdinals[i] = byId[i];
+            }
+
+            Map<Long, int[]> trigramPostings = new HashMap<>(trigramLists.size() * 2);
+            trigramLists.forEach((key, list) -> trigramPostings.put(key, list.toArray()));
+
+            Set<String> highRiskJurisdictions = new HashSet<>();
+            for (IndexedCompany company : companies) {
+                if ("High".equalsIgnoreCase(company.riskRating()) && company.jurisdiction() != null) {
+                    for (String jurisdiction : company.jurisdiction().split(",")) {
+                        if (!jurisdiction.isBlank()) {
+                            highRiskJurisdictions.add(jurisdiction.trim().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            return new Snapshot(companies, tokens, tokenPostings, ids, idOrdinals, trigramPostings,
+                    highRiskJurisdictions.size());
+        }
+
+        int collectIdPrefix(String prefix, BitSet into, int collected) {
+            if (prefix.length() < 2) {
+                return collected;
+            }
+            for (int i = lowerBound(ids, prefix); i < ids.length && collected < MAX_CANDIDATES
+                    && ids[i].startsWith(prefix); i++) {
+                into.set(idOrdinals[i]);
+                collected++;
+            }
+            return collected;
+        }
+
+        int collectWordPrefix(String prefix, BitSet into, int collected) {
+            for (int i = lowerBound(tokens, prefix); i < tokens.length && collected < MAX_CANDIDATES
+                    && tokens[i].startsWith(prefix); i++) {
+                for (int ordinal : tokenPostings[i]) {
+                    into.set(ordinal);
+                    if (++collected >= MAX_CANDIDATES) {
+                        break;
+                    }
+                }
+            }
+            return collected;
+        }
+
+        /**
+         * Companies sharing enough trigrams with the term to be within its edit budget
+         */
+        void collectTrigrams(String term, BitSet into, BitSet exclude, int collected) {
+            int trigramCount = term.length() - 2;
+            int required = Math.max(1, trigramCount - 3 * maxEdits(term));
+            Map<Integer, Integer> hits = new HashMap<>();
+            for (int i = 0; i < trigramCount; i++) {
+                int[] postings = trigramPostings.get(trigram(term, i));
+                if (postings == null || postings.length > TRIGRAM_STOP_LIMIT) {
+                    continue;
+                }
+                for (int ordinal : postings) {
+                    if (!exclude.get(ordinal)) {
+                        hits.merge(ordinal, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, Integer> hit : hits.entrySet()) {
+                if (hit.getValue() >= required && collected++ < MAX_CANDIDATES) {
+                    into.set(hit.getKey());
+                }
+            }
+        }
+
+        private static int lowerBound(String[] sorted, String key) {
+            int index = Arrays.binarySearch(sorted, key);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * Growable int array used while building posting lists
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addDistinct(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return; // same company repeats a word or trigram
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.Client;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the company search index in step with client changes made through JPA.
+ * Hibernate resolves entity listeners as Spring beans while the entity manager factory is built;
+ * the index needs the transaction manager, which needs that factory, so it is looked up on first use.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompanySearchIndexListener {
+
+    private final ObjectProvider<CompanySearchIndex> companySearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void clientSaved(Client client) {
+        companySearchIndex.getObject().upsert(client);
+    }
+
+    @PostRemove
+    public void clientRemoved(Client client) {
+        companySearchIndex.getObject().remove(client.getClientId());
+    }
+}
@@ -0,0 +1,436 @@
+package com.bofa.aml.hra.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The CRR risk factors of every client at one refresh, stored column by column in one
+ * memory-mapped file.
+ * <p>
+ * Clients are sorted by the UTF-8 bytes of their ID, so one client is found by binary search and
+ * two snapshots are compared by a single merge pass. Each factor row is four codes into the file's
+ * string dictionary (category, factor, value and impact); values shared by millions of clients are
+ * stored once, and the codes are 1, 2 or 4 bytes wide depending on the dictionary size. Two client
+ * columns hold where each client's ID and rows end.
+ * <p>
+ * A snapshot is written once by a {@link Writer} and never changed, so readers need no locking.
+ */
+final class CrrSnapshot {
+
+    static final String FILE_PREFIX = "crr-";
+    static final String FILE_SUFFIX = ".snap";
+
+    static final int CATEGORY = 0;
+    static final int FACTOR = 1;
+    static final int VALUE = 2;
+    static final int IMPACT = 3;
+
+    private static final int MAGIC = 0x43525231; // "CRR1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int CODE_COLUMNS = 4;
+    // Section offsets follow the fixed header fields, in file order
+    private static final int DICTIONARY = 0;
+    private static final int CLIENT_ID_ENDS = 1;
+    private static final int CLIENT_IDS = 2;
+    private static final int CLIENT_ROW_ENDS = 3;
+    private static final int FIRST_CODE_COLUMN = 4;
+    private static final int SECTIONS = FIRST_CODE_COLUMN + CODE_COLUMNS;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final LocalDate refreshDate;
+    private final int clientCount;
+    private final int rowCount;
+    private final int codeWidth;
+    private final int[] sections;
+    private final String[] dictionary;
+
+    private CrrSnapshot(Path path, ByteBuffer buffer, LocalDate refreshDate, int clientCount, int rowCount,
+                        int codeWidth, int[] sections, String[] dictionary) {
+        this.path = path;
+        this.buffer = buffer;
+        this.refreshDate = refreshDate;
+        this.clientCount = clientCount;
+        this.rowCount = rowCount;
+        this.codeWidth = codeWidth;
+        this.sections = sections;
+        this.dictionary = dictionary;
+    }
+
+    static String fileName(LocalDate refreshDate) {
+        return FILE_PREFIX + refreshDate + FILE_SUFFIX;
+    }
+
+    static CrrSnapshot open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a CRR snapshot: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a CRR snapshot: " + path);
+        }
+        LocalDate refreshDate = LocalDate.ofEpochDay(buffer.getLong(8));
+        int clientCount = buffer.getInt(16);
+        int rowCount = buffer.getInt(20);
+        int dictionarySize = buffer.getInt(24);
+        int codeWidth = buffer.getInt(28);
+        int[] sections = new int[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            sections[i] = buffer.getInt(32 + 4 * i);
+        }
+        String[] dictionary = new String[dictionarySize];
+        int position = sections[DICTIONARY];
+        for (int i = 0; i < dictionarySize; i++) {
+            int length = buffer.getInt(position);
+            dictionary[i] = decode(buffer, position + 4, length);
+            position += 4 + length;
+        }
+        return new CrrSnapshot(path, buffer, refreshDate, clientCount, rowCount, codeWidth, sections, dictionary);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    LocalDate refreshDate() {
+        return refreshDate;
+    }
+
+    int clientCount() {
+        return clientCount;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return the client's index, or -1 if the snapshot does not have it
+     */
+    int find(String clientId) {
+        byte[] key = clientId.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = clientCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = compareClientId(middle, key);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    String clientId(int index) {
+        int start = clientIdStart(index);
+        return decode(buffer, sections[CLIENT_IDS] + start, clientIdEnd(index) - start);
+    }
+
+    int firstRow(int index) {
+        return index == 0 ? 0 : buffer.getInt(sections[CLIENT_ROW_ENDS] + 4 * (index - 1));
+    }
+
+    int endRow(int index) {
+        return buffer.getInt(sections[CLIENT_ROW_ENDS] + 4 * index);
+    }
+
+    /**
+     * Dictionary code of a row in one of the CATEGORY, FACTOR, VALUE or IMPACT columns
+     */
+    int code(int column, int row) {
+        int position = sections[FIRST_CODE_COLUMN + column] + row * codeWidth;
+        return switch (codeWidth) {
+            case 1 -> buffer.get(position) & 0xFF;
+            case 2 -> buffer.getShort(position) & 0xFFFF;
+            default -> buffer.getInt(position);
+        };
+    }
+
+    String word(int code) {
+        return dictionary[code];
+    }
+
+    /**
+     * Maps each code of the other snapshot's dictionary to the code of the same word in this one,
+     * or -1, so rows of the two can be compared without decoding strings
+     */
+    int[] translate(CrrSnapshot other) {
+        Map<String, Integer> codes = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            codes.put(dictionary[i], i);
+        }
+        int[] translated = new int[other.dictionary.length];
+        for (int i = 0; i < translated.length; i++) {
+            translated[i] = codes.getOrDefault(other.dictionary[i], -1);
+        }
+        return translated;
+    }
+
+    List<CrrSnapshotStore.Factor> factors(int index) {
+        List<CrrSnapshotStore.Factor> factors = new ArrayList<>(endRow(index) - firstRow(index));
+        for (int row = firstRow(index); row < endRow(index); row++) {
+            factors.add(new CrrSnapshotStore.Factor(word(code(CATEGORY, row)), word(code(FACTOR, row)),
+                    word(code(VALUE, row)), word(code(IMPACT, row))));
+        }
+        return factors;
+    }
+
+    /**
+     * Orders client a of one snapshot against client b of another by ID, without decoding either
+     */
+    static int compareClientIds(CrrSnapshot a, int indexA, CrrSnapshot b, int indexB) {
+        int startA = a.sections[CLIENT_IDS] + a.clientIdStart(indexA);
+        int lengthA = a.sections[CLIENT_IDS] + a.clientIdEnd(indexA) - startA;
+        int startB = b.sections[CLIENT_IDS] + b.clientIdStart(indexB);
+        int lengthB = b.sections[CLIENT_IDS] + b.clientIdEnd(indexB) - startB;
+        for (int i = 0; i < Math.min(lengthA, lengthB); i++) {
+            int compared = Integer.compare(a.buffer.get(startA + i) & 0xFF, b.buffer.get(startB + i) & 0xFF);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(lengthA, lengthB);
+    }
+
+    private int compareClientId(int index, byte[] key) {
+        int start = sections[CLIENT_IDS] + clientIdStart(index);
+        int length = sections[CLIENT_IDS] + clientIdEnd(index) - start;
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int compared = Integer.compare(buffer.get(start + i) & 0xFF, key[i] & 0xFF);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private int clientIdStart(int index) {
+        return index == 0 ? 0 : buffer.getInt(sections[CLIENT_ID_ENDS] + 4 * (index - 1));
+    }
+
+    private int clientIdEnd(int index) {
+        return buffer.getInt(sections[CLIENT_ID_ENDS] + 4 * index);
+    }
+
+    private static String decode(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Streams one refresh into a new snapshot with memory bounded by the dictionary. Clients must
+     * be added in ascending ID order. Each column goes to its own temporary file, and finish()
+     * concatenates them behind the header and moves the result into place atomically.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path directory;
+        private final LocalDate refreshDate;
+        private final Path workDirectory;
+        private final DataOutputStream clientIdEnds;
+        private final DataOutputStream clientIds;
+        private final DataOutputStream clientRowEnds;
+        private final DataOutputStream[] codes = new DataOutputStream[CODE_COLUMNS];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<byte[]> words = new ArrayList<>();
+        private long dictionaryBytes;
+        private byte[] lastClientId;
+        private int clientCount;
+        private long rowCount;
+        private long clientIdBytes;
+
+        Writer(Path directory, LocalDate refreshDate) throws IOException {
+            this.directory = directory;
+            this.refreshDate = refreshDate;
+            this.workDirectory = Files.createTempDirectory(directory, ".crr-" + refreshDate + "-");
+            this.clientIdEnds = column("client-id-ends");
+            this.clientIds = column("client-ids");
+            this.clientRowEnds = column("client-row-ends");
+            for (int i = 0; i < CODE_COLUMNS; i++) {
+                codes[i] = column("codes-" + i);
+            }
+        }
+
+        LocalDate refreshDate() {
+            return refreshDate;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the client does not sort after the previous one
+         */
+        void add(String clientId, List<CrrSnapshotStore.Factor> factors) throws IOException {
+            byte[] id = clientId.getBytes(StandardCharsets.UTF_8);
+            if (lastClientId != null && Arrays.compareUnsigned(lastClientId, id) >= 0) {
+                throw new IllegalArgumentException("Client " + clientId
+                        + " is out of order; rows must be grouped and sorted by client ID");
+            }
+            lastClientId = id;
+            for (CrrSnapshotStore.Factor factor : factors) {
+                codes[CATEGORY].writeInt(code(factor.category()));
+                codes[FACTOR].writeInt(code(factor.factor()));
+                codes[VALUE].writeInt(code(factor.value()));
+                codes[IMPACT].writeInt(code(factor.impact()));
+            }
+            rowCount += factors.size();
+            clientIdBytes += id.length;
+            clientIds.write(id);
+            clientIdEnds.writeInt(Math.toIntExact(clientIdBytes));
+            clientRowEnds.writeInt(Math.toIntExact(rowCount));
+            clientCount++;
+        }
+
+        int clientCount() {
+            return clientCount;
+        }
+
+        /**
+         * Assemble the snapshot file, replacing any earlier snapshot of the same refresh
+         */
+        Path finish() throws IOException {
+            clientIdEnds.close();
+            clientIds.close();
+            clientRowEnds.close();
+            for (DataOutputStream column : codes) {
+                column.close();
+            }
+            int codeWidth = words.size() <= 0x100 ? 1 : words.size() <= 0x10000 ? 2 : 4;
+            long[] sizes = new long[SECTIONS];
+            sizes[DICTIONARY] = dictionaryBytes;
+            sizes[CLIENT_ID_ENDS] = 4L * clientCount;
+            sizes[CLIENT_IDS] = clientIdBytes;
+            sizes[CLIENT_ROW_ENDS] = 4L * clientCount;
+            for (int i = 0; i < CODE_COLUMNS; i++) {
+                sizes[FIRST_CODE_COLUMN + i] = rowCount * codeWidth;
+            }
+            long[] offsets = new long[SECTIONS];
+            long end = HEADER_SIZE;
+            for (int i = 0; i < SECTIONS; i++) {
+                offsets[i] = end;
+                end += sizes[i];
+            }
+            if (end > Integer.MAX_VALUE) {
+                throw new IOException("CRR snapshot for " + refreshDate + " would exceed 2 GB");
+            }
+
+            Path assembled = workDirectory.resolve("snapshot");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(assembled, StandardOpenOption.CREATE_NEW), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(refreshDate.toEpochDay());
+                out.writeInt(clientCount);
+                out.writeInt(Math.toIntExact(rowCount));
+                out.writeInt(words.size());
+                out.writeInt(codeWidth);
+                for (long offset : offsets) {
+                    out.writeInt((int) offset);
+                }
+                for (byte[] word : words) {
+                    out.writeInt(word.length);
+                    out.write(word);
+                }
+                copy("client-id-ends", out);
+                copy("client-ids", out);
+                copy("client-row-ends", out);
+                for (int i = 0; i < CODE_COLUMNS; i++) {
+                    narrow("codes-" + i, codeWidth, out);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(assembled, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Path target = directory.resolve(fileName(refreshDate));
+            Files.move(assembled, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        }
+
+        /**
+         * Removes the temporary columns; a finished snapshot stays in place
+         */
+        @Override
+        public void close() throws IOException {
+            clientIdEnds.close();
+            clientIds.close();
+            clientRowEnds.close();
+            for (DataOutputStream column : codes) {
+                column.close();
+            }
+            try (Stream<Path> files = Files.walk(workDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        private int code(String word) {
+            Integer code = dictionary.get(word);
+            if (code == null) {
+                code = words.size();
+                byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+                dictionary.put(word, code);
+                words.add(bytes);
+                dictionaryBytes += 4 + bytes.length;
+            }
+            return code;
+        }
+
+        private DataOutputStream column(String name) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(workDirectory.resolve(name), StandardOpenOption.CREATE_NEW), 1 << 16));
+        }
+
+        private void copy(String name, DataOutputStream out) throws IOException {
+            try (InputStream in = Files.newInputStream(workDirectory.resolve(name))) {
+                in.transferTo(out);
+            }
+        }
+
+        private void narrow(String name, int codeWidth, DataOutputStream out) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(workDirectory.resolve(name)), 1 << 16))) {
+                for (long row = 0; row < rowCount; row++) {
+                    int code = in.readInt();
+                    switch (codeWidth) {
+                        case 1 -> out.writeByte(code);
+                        case 2 -> out.writeShort(code);
+                        default -> out.writeInt(code);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.util.CsvLineParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports one refresh's CRR risk factors from a spooled CSV into a new snapshot.
+ * <p>
+ * Rows must be grouped by client in ascending client ID order, as a refresh extract sorted by client
+ * is; the import then holds only the current client's rows and the snapshot dictionary in memory.
+ * An invalid row is reported and skipped; a client out of order fails the job and leaves the
+ * previous snapshot of that refresh, if any, in place.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CrrSnapshotImportProcessor {
+
+    public static final String COUNTER_ROWS = "rows";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("clientid", "category", "factor", "value", "impact");
+    private static final Set<String> IMPACTS = Set.of("low", "medium", "high");
+
+    private final CrrSnapshotStore snapshotStore;
+    private final RiskLookupCache riskLookupCache;
+
+    @Async(AsyncConfig.BULK_JOB_EXECUTOR)
+    public void process(BulkJob job, Path file, LocalDate refreshDate) {
+        job.start();
+        log.info("CRR snapshot import job {} started for refresh {}", job.getJobId(), refreshDate);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CrrSnapshot.Writer writer = snapshotStore.newWriter(refreshDate)) {
+            Map<String, Integer> columns = readHeader(reader);
+            String clientId = null;
+            List<CrrSnapshotStore.Factor> factors = new ArrayList<>();
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.counter(COUNTER_ROWS).incrementAndGet();
+                List<String> fields = CsvLineParser.parse(line);
+                String rowClientId = field(fields, columns, "clientid");
+                if (rowClientId.isEmpty()) {
+                    job.recordFailure("line " + lineNumber, "Client ID is required");
+                    continue;
+                }
+                if (!rowClientId.equals(clientId)) {
+                    addClient(job, writer, clientId, factors);
+                    clientId = rowClientId;
+                    factors.clear();
+                }
+                try {
+                    factors.add(toFactor(fields, columns));
+                } catch (IllegalArgumentException e) {
+                    job.recordFailure(rowClientId + " (line " + lineNumber + ")", e.getMessage());
+                }
+            }
+            addClient(job, writer, clientId, factors);
+
+            job.setTotalItems(job.getProcessed().get());
+            snapshotStore.publish(writer);
+            riskLookupCache.invalidateCrrFactors();
+            job.complete();
+            log.info("CRR snapshot import job {} finished: {} clients, {} rows, {} rejected", job.getJobId(),
+                    writer.clientCount(), job.counter(COUNTER_ROWS).get(), job.getFailed().get());
+        } catch (IOException | RuntimeException e) {
+            log.error("CRR snapshot import job {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled upload {}", file, e);
+            }
+        }
+    }
+
+    private static void addClient(BulkJob job, CrrSnapshot.Writer writer, String clientId,
+                                  List<CrrSnapshotStore.Factor> factors) throws IOException {
+        if (clientId == null || factors.isEmpty()) {
+            return;
+        }
+        writer.add(clientId, factors);
+        job.recordSuccess(1);
+    }
+
+    private static Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Upload file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvLineParser.parse(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Upload is missing required columns: " + missing);
+        }
+        return columns;
+    }
+
+    private static CrrSnapshotStore.Factor toFactor(List<String> fields, Map<String, Integer> columns) {
+        String category = field(fields, columns, "category");
+        String factor = field(fields, columns, "factor");
+        String impact = field(fields, columns, "impact").toLowerCase(Locale.ROOT);
+        if (category.isEmpty() || factor.isEmpty()) {
+            throw new IllegalArgumentException("Category and factor are required");
+        }
+        if (!IMPACTS.contains(impact)) {
+            throw new IllegalArgumentException("Impact must be low, medium or high");
+        }
+        return new CrrSnapshotStore.Factor(category, factor, field(fields, columns, "value"), impact);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < fields.size() ? fields.get(index) : "";
+    }
+}
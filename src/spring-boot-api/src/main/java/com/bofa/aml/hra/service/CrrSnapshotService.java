@@ -0,0 +1,153 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.BulkJobStatusResponse;
+import com.bofa.aml.hra.dto.response.CrrFactorDiffResponse;
+import com.bofa.aml.hra.dto.response.CrrSnapshotResponse;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.util.SecurityUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service layer for CRR risk factor snapshots: importing a refresh, listing the stored refreshes and
+ * diffing two of them for one client or for every client
+ */
+@Service
+@Slf4j
+public class CrrSnapshotService {
+
+    private final CrrSnapshotStore snapshotStore;
+    private final CrrSnapshotImportProcessor importProcessor;
+    private final BulkJobRegistry bulkJobRegistry;
+    private final ObjectMapper objectMapper;
+    private final Path spoolDirectory;
+
+    public CrrSnapshotService(CrrSnapshotStore snapshotStore,
+                              CrrSnapshotImportProcessor importProcessor,
+                              BulkJobRegistry bulkJobRegistry,
+                              ObjectMapper objectMapper,
+                              @Value("${app.bulk.upload.spool-dir:${java.io.tmpdir}/aml-hra-uploads}") String spoolDirectory) {
+        this.snapshotStore = snapshotStore;
+        this.importProcessor = importProcessor;
+        this.bulkJobRegistry = bulkJobRegistry;
+        this.objectMapper = objectMapper;
+        this.spoolDirectory = Paths.get(spoolDirectory);
+    }
+
+    /**
+     * Spools the CSV to local disk and imports it as the snapshot of the refresh in a background job
+     */
+    public BulkJobStatusResponse startImport(MultipartFile file, LocalDate refreshDate) {
+        log.debug("Starting CRR snapshot import for {} from {} ({} bytes)", refreshDate,
+                file.getOriginalFilename(), file.getSize());
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
+        if (file.isEmpty()) {
+            throw new ValidationException("Upload file is empty");
+        }
+        if (!filename.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            throw new ValidationException("CRR snapshots are imported from CSV");
+        }
+
+        BulkJob job = bulkJobRegistry.create("crr-snapshot-import", SecurityUtils.currentUserId(), null);
+        Path spooled;
+        try {
+            Files.createDirectories(spoolDirectory);
+            spooled = spoolDirectory.resolve(job.getJobId() + ".csv");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            job.fail("Could not store upload");
+            throw new UncheckedIOException("Could not store upload for job " + job.getJobId(), e);
+        }
+
+        bulkJobRegistry.submit(job, spooled, () -> importProcessor.process(job, spooled, refreshDate));
+        return job.toResponse();
+    }
+
+    public List<CrrSnapshotResponse> listSnapshots() {
+        return snapshotStore.snapshots().stream()
+                .map(snapshot -> CrrSnapshotResponse.builder()
+                        .refreshDate(snapshot.refreshDate())
+                        .clients(snapshot.clients())
+                        .factors(snapshot.factors())
+                        .sizeBytes(snapshot.sizeBytes())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Factors of one client that changed between two refreshes, by default the latest two
+     */
+    public CrrFactorDiffResponse getDiff(String clientId, LocalDate refreshDate, LocalDate previousDate) {
+        log.debug("Diffing CRR factors of {} between {} and {}", clientId, previousDate, refreshDate);
+        CrrSnapshotStore.Refreshes refreshes = snapshotStore.resolve(refreshDate, previousDate);
+        CrrSnapshotStore.ClientDiff diff = snapshotStore.diff(clientId, refreshes);
+        if (diff == null) {
+            throw new ResourceNotFoundException("Client " + clientId + " is in neither the "
+                    + refreshes.current() + " nor the " + refreshes.previous() + " CRR snapshot");
+        }
+        return toResponse(diff, refreshes);
+    }
+
+    /**
+     * Every client whose factors changed, as one JSON object per line. The refreshes are resolved
+     * before the response starts, so a bad request still gets an error status; each client is
+     * written out as soon as it is compared, so memory does not grow with the number of clients.
+     */
+    public StreamingResponseBody streamDiffs(LocalDate refreshDate, LocalDate previousDate) {
+        CrrSnapshotStore.Refreshes refreshes = snapshotStore.resolve(refreshDate, previousDate);
+        log.info("Streaming CRR factor diffs between {} and {}", refreshes.previous(), refreshes.current());
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null); // each object ends with its own newline instead
+                long compared = snapshotStore.streamDiffs(refreshes, diff -> {
+                    try {
+                        objectMapper.writeValue(generator, toResponse(diff, refreshes));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.info("Streamed CRR factor diffs of {} clients between {} and {}", compared,
+                        refreshes.previous(), refreshes.current());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static CrrFactorDiffResponse toResponse(CrrSnapshotStore.ClientDiff diff,
+                                                    CrrSnapshotStore.Refreshes refreshes) {
+        return CrrFactorDiffResponse.builder()
+                .clientId(diff.clientId())
+                .refreshDate(refreshes.current())
+                .previousRefreshDate(refreshes.previous())
+                .changes(diff.changes().stream()
+                        .map(change -> CrrFactorDiffResponse.FactorChange.builder()
+                                .category(change.category())
+                                .factor(change.factor())
+                                .previousValue(change.previousValue())
+                                .currentValue(change.currentValue())
+                                .previousImpact(change.previousImpact())
+                                .currentImpact(change.currentImpact())
+                                .change(change.change())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
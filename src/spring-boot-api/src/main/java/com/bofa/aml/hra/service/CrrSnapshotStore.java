@@ -0,0 +1,280 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * CRR risk factor snapshots, one {@link CrrSnapshot} file per refresh date under
+ * app.crr-snapshots.directory, and the diffs between two refreshes.
+ * <p>
+ * A diff lists only the factors whose value or impact changed, appeared or disappeared. Factors are
+ * matched by category and factor name, comparing dictionary codes, so strings are decoded only for
+ * the factors that changed. The bulk diff walks both snapshots' sorted client columns in one merge
+ * pass and hands each changed client to the caller before reading the next, so it holds one
+ * client's factors at a time however many clients there are.
+ */
+@Component
+@Slf4j
+public class CrrSnapshotStore {
+
+    public record Factor(String category, String factor, String value, String impact) {
+    }
+
+    /**
+     * change is "new", "removed", "increased" or "decreased" (impact), or "changed" (value only)
+     */
+    public record FactorChange(String category, String factor, String previousValue, String currentValue,
+                               String previousImpact, String currentImpact, String change) {
+    }
+
+    public record ClientDiff(String clientId, List<FactorChange> changes) {
+    }
+
+    /**
+     * Two refreshes to compare, the previous one earlier than the current one
+     */
+    public record Refreshes(LocalDate current, LocalDate previous) {
+    }
+
+    /**
+     * A client's factors in the latest snapshot that has it and the one before, with the changes
+     * between them; previous is null for a client first seen in the latest snapshot
+     */
+    public record ClientHistory(LocalDate currentDate, LocalDate previousDate, List<Factor> current,
+                                List<Factor> previous, List<FactorChange> changes) {
+    }
+
+    public record SnapshotInfo(LocalDate refreshDate, int clients, int factors, long sizeBytes) {
+    }
+
+    private static final Map<String, Integer> IMPACT_RANKS = Map.of("low", 1, "medium", 2, "high", 3);
+
+    private final Path directory;
+    private final NavigableMap<LocalDate, CrrSnapshot> snapshots = new ConcurrentSkipListMap<>();
+
+    public CrrSnapshotStore(@Value("${app.crr-snapshots.directory:data/crr-snapshots}") String directory)
+            throws IOException {
+        this.directory = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(this.directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory,
+                CrrSnapshot.FILE_PREFIX + "*" + CrrSnapshot.FILE_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    CrrSnapshot snapshot = CrrSnapshot.open(file);
+                    snapshots.put(snapshot.refreshDate(), snapshot);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable CRR snapshot {}", file, e);
+                }
+            }
+        }
+        log.info("Opened {} CRR snapshots in {}", snapshots.size(), this.directory);
+    }
+
+    /**
+     * Start writing the snapshot of a refresh; it replaces any earlier one for the same date once
+     * {@link #publish} is called, and is discarded if the writer is closed first
+     */
+    CrrSnapshot.Writer newWriter(LocalDate refreshDate) throws IOException {
+        return new CrrSnapshot.Writer(directory, refreshDate);
+    }
+
+    SnapshotInfo publish(CrrSnapshot.Writer writer) throws IOException {
+        CrrSnapshot snapshot = CrrSnapshot.open(writer.finish());
+        snapshots.put(snapshot.refreshDate(), snapshot);
+        log.info("Published CRR snapshot for {}: {} clients, {} factors, {} bytes", snapshot.refreshDate(),
+                snapshot.clientCount(), snapshot.rowCount(), snapshot.sizeBytes());
+        return info(snapshot);
+    }
+
+    public List<SnapshotInfo> snapshots() {
+        return snapshots.values().stream().map(CrrSnapshotStore::info).toList();
+    }
+
+    /**
+     * Fill in defaults: the latest refresh, and the refresh before the current one
+     *
+     * @throws ResourceNotFoundException if a requested refresh has no snapshot
+     * @throws ValidationException       if there is nothing earlier to compare with
+     */
+    public Refreshes resolve(LocalDate current, LocalDate previous) {
+        LocalDate currentDate = current != null ? require(current).refreshDate() : latestDate();
+        LocalDate previousDate = previous != null ? require(previous).refreshDate() : snapshots.lowerKey(currentDate);
+        if (previousDate == null) {
+            throw new ValidationException("No CRR snapshot before " + currentDate + " to compare with");
+        }
+        if (!previousDate.isBefore(currentDate)) {
+            throw new ValidationException("The previous refresh must be earlier than " + currentDate);
+        }
+        return new Refreshes(currentDate, previousDate);
+    }
+
+    /**
+     * @return the client's changes, or null if neither snapshot has the client
+     */
+    public ClientDiff diff(String clientId, Refreshes refreshes) {
+        CrrSnapshot current = require(refreshes.current());
+        CrrSnapshot previous = require(refreshes.previous());
+        int currentIndex = current.find(clientId);
+        int previousIndex = previous.find(clientId);
+        if (currentIndex < 0 && previousIndex < 0) {
+            return null;
+        }
+        return new ClientDiff(clientId,
+                changes(current, currentIndex, previous, previousIndex, current.translate(previous)));
+    }
+
+    /**
+     * Hand every client whose factors changed between the two refreshes to the consumer, in client
+     * ID order; clients only in one of the two have all their factors new or removed
+     *
+     * @return the number of clients compared
+     */
+    public long streamDiffs(Refreshes refreshes, Consumer<ClientDiff> consumer) {
+        CrrSnapshot current = require(refreshes.current());
+        CrrSnapshot previous = require(refreshes.previous());
+        int[] translate = current.translate(previous);
+        int i = 0;
+        int j = 0;
+        long compared = 0;
+        while (i < current.clientCount() || j < previous.clientCount()) {
+            int order = i == current.clientCount() ? 1
+                    : j == previous.clientCount() ? -1
+                    : CrrSnapshot.compareClientIds(current, i, previous, j);
+            int currentIndex = order <= 0 ? i++ : -1;
+            int previousIndex = order >= 0 ? j++ : -1;
+            List<FactorChange> changes = changes(current, currentIndex, previous, previousIndex, translate);
+            if (!changes.isEmpty()) {
+                String clientId = currentIndex >= 0
+                        ? current.clientId(currentIndex) : previous.clientId(previousIndex);
+                consumer.accept(new ClientDiff(clientId, changes));
+            }
+            compared++;
+        }
+        return compared;
+    }
+
+    /**
+     * @return the client's latest factors, or null if the latest snapshot does not have the client
+     */
+    public ClientHistory history(String clientId) {
+        Map.Entry<LocalDate, CrrSnapshot> latest = snapshots.lastEntry();
+        if (latest == null) {
+            return null;
+        }
+        CrrSnapshot current = latest.getValue();
+        int currentIndex = current.find(clientId);
+        if (currentIndex < 0) {
+            return null;
+        }
+        Map.Entry<LocalDate, CrrSnapshot> before = snapshots.lowerEntry(latest.getKey());
+        if (before == null) {
+            return new ClientHistory(current.refreshDate(), null, current.factors(currentIndex), null, List.of());
+        }
+        CrrSnapshot previous = before.getValue();
+        int previousIndex = previous.find(clientId);
+        return new ClientHistory(current.refreshDate(), previous.refreshDate(), current.factors(currentIndex),
+                previousIndex < 0 ? List.of() : previous.factors(previousIndex),
+                changes(current, currentIndex, previous, previousIndex, current.translate(previous)));
+    }
+
+    /**
+     * Changes of one client; an index of -1 means the snapshot does not have the client. Previous
+     * codes are translated into the current dictionary, where a word missing from it becomes -1 and
+     * so never equals a current code.
+     */
+    private static List<FactorChange> changes(CrrSnapshot current, int currentIndex,
+                                              CrrSnapshot previous, int previousIndex, int[] translate) {
+        int currentFirst = currentIndex < 0 ? 0 : current.firstRow(currentIndex);
+        int currentEnd = currentIndex < 0 ? 0 : current.endRow(currentIndex);
+        int previousFirst = previousIndex < 0 ? 0 : previous.firstRow(previousIndex);
+        int previousEnd = previousIndex < 0 ? 0 : previous.endRow(previousIndex);
+        boolean[] matched = new boolean[previousEnd - previousFirst];
+        List<FactorChange> changes = new ArrayList<>();
+
+        for (int row = currentFirst; row < currentEnd; row++) {
+            int category = current.code(CrrSnapshot.CATEGORY, row);
+            int factor = current.code(CrrSnapshot.FACTOR, row);
+            int match = -1;
+            for (int before = previousFirst; before < previousEnd && match < 0; before++) {
+                if (!matched[before - previousFirst]
+                        && translate[previous.code(CrrSnapshot.CATEGORY, before)] == category
+                        && translate[previous.code(CrrSnapshot.FACTOR, before)] == factor) {
+                    match = before;
+                }
+            }
+            if (match < 0) {
+                changes.add(new FactorChange(current.word(category), current.word(factor), null,
+                        current.word(current.code(CrrSnapshot.VALUE, row)), null,
+                        current.word(current.code(CrrSnapshot.IMPACT, row)), "new"));
+                continue;
+            }
+            matched[match - previousFirst] = true;
+            int value = current.code(CrrSnapshot.VALUE, row);
+            int impact = current.code(CrrSnapshot.IMPACT, row);
+            if (translate[previous.code(CrrSnapshot.VALUE, match)] == value
+                    && translate[previous.code(CrrSnapshot.IMPACT, match)] == impact) {
+                continue;
+            }
+            String previousImpact = previous.word(previous.code(CrrSnapshot.IMPACT, match));
+            String currentImpact = current.word(impact);
+            changes.add(new FactorChange(current.word(category), current.word(factor),
+                    previous.word(previous.code(CrrSnapshot.VALUE, match)), current.word(value),
+                    previousImpact, currentImpact, impactChange(previousImpact, currentImpact)));
+        }
+
+        for (int before = previousFirst; before < previousEnd; before++) {
+            if (!matched[before - previousFirst]) {
+                changes.add(new FactorChange(previous.word(previous.code(CrrSnapshot.CATEGORY, before)),
+                        previous.word(previous.code(CrrSnapshot.FACTOR, before)),
+                        previous.word(previous.code(CrrSnapshot.VALUE, before)), null,
+                        previous.word(previous.code(CrrSnapshot.IMPACT, before)), null, "removed"));
+            }
+        }
+        return changes;
+    }
+
+    private static String impactChange(String previousImpact, String currentImpact) {
+        int before = IMPACT_RANKS.getOrDefault(previousImpact, 0);
+        int after = IMPACT_RANKS.getOrDefault(currentImpact, 0);
+        if (before == 0 || after == 0 || before == after) {
+            return "changed";
+        }
+        return after > before ? "increased" : "decreased";
+    }
+
+    private LocalDate latestDate() {
+        if (snapshots.isEmpty()) {
+            throw new ResourceNotFoundException("No CRR snapshots have been imported");
+        }
+        return snapshots.lastKey();
+    }
+
+    private CrrSnapshot require(LocalDate refreshDate) {
+        CrrSnapshot snapshot = snapshots.get(refreshDate);
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("CRR snapshot", refreshDate.toString());
+        }
+        return snapshot;
+    }
+
+    private static SnapshotInfo info(CrrSnapshot snapshot) {
+        return new SnapshotInfo(snapshot.refreshDate(), snapshot.clientCount(), snapshot.rowCount(),
+                snapshot.sizeBytes());
+    }
+}
@@ -0,0 +1,113 @@
+package com.bofa.aml.hra.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized dashboard responses keyed by request path and query.
+ * <p>
+ * An entry is valid while the {@link DashboardVersion} it was built at is still current and it is
+ * younger than the TTL; the TTL covers responses that depend on the date as well as on the data,
+ * such as trend windows. Each entry has a strong ETag made of the node's start time, the version
+ * and an entry sequence number, so a client revalidating with If-None-Match is answered without
+ * rebuilding or re-serializing anything. The number of entries is capped so arbitrary query
+ * strings cannot grow the cache without bound.
+ */
+@Component
+@Slf4j
+public class DashboardResponseCache {
+
+    private final DashboardVersion dashboardVersion;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong entrySequence = new AtomicLong();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public DashboardResponseCache(DashboardVersion dashboardVersion,
+                                  @Value("${app.dashboard.cache.ttl-ms:60000}") long ttlMs,
+                                  @Value("${app.dashboard.cache.max-entries:256}") int maxEntries) {
+        this.dashboardVersion = dashboardVersion;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * A cached response body with the metadata needed to replay it
+     */
+    public record Entry(byte[] body, String contentType, String etag, long version, long createdAtMs) {
+    }
+
+    public record Stats(long hits, long misses, long notModified, long rejected, int entries, long version) {
+
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * Current version, to be read before building a response that will be stored
+     */
+    public long version() {
+        return dashboardVersion.current();
+    }
+
+    /**
+     * Valid entry for the key, counting the lookup as a hit or a miss
+     */
+    public Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isValid(entry)) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a freshly built response. The version must have been read before building it, so a
+     * change applied while it was being built leaves the entry already stale rather than wrong.
+     */
+    public Entry store(String key, byte[] body, String contentType, long builtAtVersion) {
+        String etag = "\"" + epoch + "-" + Long.toString(builtAtVersion, 36) + "-"
+                + Long.toString(entrySequence.incrementAndGet(), 36) + "\"";
+        Entry entry = new Entry(body, contentType, etag, builtAtVersion, System.currentTimeMillis());
+        if (!entries.containsKey(key) && entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> !isValid(existing));
+            if (entries.size() >= maxEntries) {
+                rejected.increment();
+                log.debug("Dashboard response cache is full, not caching {}", key);
+                return entry;
+            }
+        }
+        entries.put(key, entry);
+        return entry;
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), notModified.sum(), rejected.sum(), entries.size(),
+                dashboardVersion.current());
+    }
+
+    private boolean isValid(Entry entry) {
+        return entry.version() == dashboardVersion.current()
+                && System.currentTimeMillis() - entry.createdAtMs() < ttlMs;
+    }
+}
@@ -1,49 +1,62 @@
 package com.bofa.aml.hra.service;
 
 import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.util.QuantileSketch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.*;
 
 /**
  * Service layer for Dashboard business logic
- * Contains mock data - replace with actual database calls in production
+ * Reads the in-memory case aggregates, rollups and sketches rather than querying per request
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
+    private static final int MAX_TREND_WEEKS = 260;
+    private static final double MINUTES_PER_DAY = 24 * 60;
+    private static final int AT_CAPACITY_UTILIZATION = 90;
+
+    private final CaseAggregateStore caseAggregates;
+    private final ActivityFeed activityFeed;
+    private final EscalationRollupStore escalationRollups;
+    private final TurnaroundSketchStore turnaroundSketches;
+    private final CaseCapacityTracker capacityTracker;
+    private final QuickActionCounterIndex quickActionCounters;
+    private final CompanySearchIndex companySearchIndex;
+
+    /**
+     * Case-derived metrics are read from the incrementally maintained aggregates, client totals from
+     * the company search index as of its last rebuild. No earlier figures are kept, so change and
+     * changeType are left out rather than invented.
+     */
     public RiskOverviewResponse getRiskOverview() {
         log.debug("Fetching risk overview metrics");
         
         return RiskOverviewResponse.builder()
                 .highRiskClients(RiskOverviewResponse.MetricData.builder()
-                        .value(247)
-                        .change("+12%")
-                        .changeType("increase")
-                        .description("Clients with risk score > 80")
+                        .value((int) caseAggregates.openHighRiskCount())
+                        .description("Open cases of high-risk clients")
                         .build())
                 .activeInvestigations(RiskOverviewResponse.MetricData.builder()
-                        .value(18)
-                        .change("-3%")
-                        .changeType("decrease")
-                        .description("Ongoing compliance reviews")
+                        .value((int) caseAggregates.count(CaseStatus.ESCALATED))
+                        .description("Cases escalated for compliance review")
                         .build())
                 .totalClients(RiskOverviewResponse.MetricData.builder()
-                        .value(12847)
-                        .change("+5%")
-                        .changeType("increase")
+                        .value(companySearchIndex.size())
                         .description("All monitored entities")
                         .build())
                 .highRiskJurisdictions(RiskOverviewResponse.MetricData.builder()
-                        .value(23)
-                        .change("+2")
-                        .changeType("increase")
-                        .description("Countries with elevated risk")
+                        .value(companySearchIndex.highRiskJurisdictions())
+                        .description("Jurisdictions of high-risk clients")
                         .build())
                 .build();
     }
@@ -51,138 +64,144 @@ public class DashboardService {
     public WorkflowDistributionResponse getWorkflowDistribution() {
         log.debug("Fetching workflow distribution");
         
-        List<WorkflowDistributionResponse.WorkflowStatus> statuses = Arrays.asList(
-                WorkflowDistributionResponse.WorkflowStatus.builder()
-                        .status("Assigned").count(45).color("#3b82f6").build(),
-                WorkflowDistributionResponse.WorkflowStatus.builder()
-                        .status("In Progress").count(32).color("#eab308").build(),
-                WorkflowDistributionResponse.WorkflowStatus.builder()
-                        .status("Escalated").count(18).color("#f97316").build(),
-                WorkflowDistributionResponse.WorkflowStatus.builder()
-                        .status("Returned").count(12).color("#ef4444").build(),
-                WorkflowDistributionResponse.WorkflowStatus.builder()
-                        .status("Completed").count(89).color("#22c55e").build()
-        );
+        List<WorkflowDistributionResponse.WorkflowStatus> statuses = new ArrayList<>();
+        for (CaseStatus status : CaseStatus.values()) {
+            if (status.getColor() == null) {
+                continue;
+            }
+            statuses.add(WorkflowDistributionResponse.WorkflowStatus.builder()
+                    .status(status.getLabel())
+                    .count((int) caseAggregates.count(status))
+                    .color(status.getColor())
+                    .build());
+        }
         
         return WorkflowDistributionResponse.builder().data(statuses).build();
     }
 
-    public EscalationTrendsResponse getEscalationTrends(int weeks) {
-        log.debug("Fetching escalation trends for {} weeks", weeks);
-        
-        List<EscalationTrendsResponse.WeeklyTrend> trends = Arrays.asList(
-                EscalationTrendsResponse.WeeklyTrend.builder()
-                        .week("Week 1").toManager(12).toFLU(8).toGFC(4).build(),
-                EscalationTrendsResponse.WeeklyTrend.builder()
-                        .week("Week 2").toManager(15).toFLU(11).toGFC(6).build(),
-                EscalationTrendsResponse.WeeklyTrend.builder()
-                        .week("Week 3").toManager(18).toFLU(9).toGFC(8).build(),
+    /**
+     * Sums pre-aggregated escalation buckets, so the cost grows with the window, not the history
+     */
+    public EscalationTrendsResponse getEscalationTrends(int weeks, String granularity) {
+        log.debug("Fetching escalation trends for {} weeks by {}", weeks, granularity);
+        if (weeks <= 0 || weeks > MAX_TREND_WEEKS) {
+            throw new ValidationException("Weeks must be between 1 and " + MAX_TREND_WEEKS);
+        }
+        if (!EscalationRollupStore.WEEK.equals(granularity) && !EscalationRollupStore.DAY.equals(granularity)) {
+            throw new ValidationException("Granularity must be week or day");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = EscalationRollupStore.WEEK.equals(granularity)
+                ? today.minusWeeks(weeks - 1L)
+                : today.minusDays(weeks * 7L - 1);
+        List<EscalationTrendsResponse.WeeklyTrend> trends = new ArrayList<>();
+        escalationRollups.trends(granularity, from, today).forEach((periodStart, counts) -> trends.add(
                 EscalationTrendsResponse.WeeklyTrend.builder()
-                        .week("Week 4").toManager(14).toFLU(12).toGFC(5).build()
-        );
-        
-        return EscalationTrendsResponse.builder().data(trends).build();
+                        .week(EscalationRollupStore.WEEK.equals(granularity)
+                                ? "Week of " + periodStart : periodStart.toString())
+                        .periodStart(periodStart)
+                        .toManager((int) counts[EscalationDestination.MANAGER.ordinal()])
+                        .toFLU((int) counts[EscalationDestination.FLU.ordinal()])
+                        .toGFC((int) counts[EscalationDestination.GFC.ordinal()])
+                        .build()));
+
+        return EscalationTrendsResponse.builder().granularity(granularity).data(trends).build();
     }
 
-    public TurnaroundTimesResponse getTurnaroundTimes() {
-        log.debug("Fetching turnaround time metrics");
-        
-        List<TurnaroundTimesResponse.TurnaroundMetric> metrics = Arrays.asList(
-                TurnaroundTimesResponse.TurnaroundMetric.builder()
-                        .role("HRA Analyst").avgDays(2.4).target(3.0).status("on-target").build(),
-                TurnaroundTimesResponse.TurnaroundMetric.builder()
-                        .role("HRA Manager").avgDays(1.8).target(2.0).status("on-target").build(),
-                TurnaroundTimesResponse.TurnaroundMetric.builder()
-                        .role("FLU AML").avgDays(4.2).target(5.0).status("on-target").build(),
-                TurnaroundTimesResponse.TurnaroundMetric.builder()
-                        .role("GFC").avgDays(3.6).target(4.0).status("on-target").build()
-        );
-        
-        return TurnaroundTimesResponse.builder().data(metrics).build();
+    /**
+     * Percentiles come from the per-stage turnaround sketches; a stage with no exits in the
+     * window reports zero samples and no times
+     */
+    public TurnaroundTimesResponse getTurnaroundTimes(int windowDays, String lob) {
+        log.debug("Fetching turnaround time metrics for {} days, LOB {}", windowDays, lob);
+        if (windowDays <= 0 || windowDays > turnaroundSketches.getRetentionDays()) {
+            throw new ValidationException("Window must be between 1 and "
+                    + turnaroundSketches.getRetentionDays() + " days");
+        }
+
+        Map<TurnaroundSketchStore.Stage, QuantileSketch> sketches = turnaroundSketches.window(windowDays, lob);
+        List<TurnaroundTimesResponse.TurnaroundMetric> metrics = new ArrayList<>();
+        for (TurnaroundSketchStore.Stage stage : TurnaroundSketchStore.Stage.values()) {
+            QuantileSketch sketch = sketches.get(stage);
+            TurnaroundTimesResponse.TurnaroundMetric.TurnaroundMetricBuilder metric =
+                    TurnaroundTimesResponse.TurnaroundMetric.builder()
+                            .role(stage.getRole())
+                            .target(stage.getTargetDays())
+                            .sampleCount(sketch == null ? 0L : sketch.count());
+            if (sketch != null) {
+                double avgDays = toDays(sketch.mean());
+                metric.avgDays(avgDays)
+                        .p50Days(toDays(sketch.quantile(0.5)))
+                        .p90Days(toDays(sketch.quantile(0.9)))
+                        .p99Days(toDays(sketch.quantile(0.99)))
+                        .status(avgDays <= stage.getTargetDays() ? "on-target" : "over-target");
+            }
+            metrics.add(metric.build());
+        }
+
+        return TurnaroundTimesResponse.builder()
+                .data(metrics)
+                .windowDays(windowDays)
+                .lob(lob)
+                .build();
     }
 
+    private static double toDays(double minutes) {
+        return Math.round(minutes / MINUTES_PER_DAY * 10) / 10.0;
+    }
+
+    /**
+     * Served from the in-memory activity ring buffer that workflow operations publish to
+     */
     public RecentActivityResponse getRecentActivity(int limit) {
         log.debug("Fetching {} recent activities", limit);
-        
-        List<RecentActivityResponse.Activity> activities = Arrays.asList(
-                RecentActivityResponse.Activity.builder()
-                        .id("act-001")
-                        .action("Case HRA-2024-0156 escalated to Manager")
-                        .user("Sarah Johnson")
-                        .userId("USR-001")
-                        .timestamp(LocalDateTime.now().minusMinutes(2))
-                        .status("escalated")
-                        .caseId("HRA-2024-0156")
-                        .build(),
-                RecentActivityResponse.Activity.builder()
-                        .id("act-002")
-                        .action("Case HRA-2024-0143 returned for corrections")
-                        .user("Michael Chen")
-                        .userId("USR-002")
-                        .timestamp(LocalDateTime.now().minusMinutes(15))
-                        .status("returned")
-                        .caseId("HRA-2024-0143")
-                        .build(),
-                RecentActivityResponse.Activity.builder()
-                        .id("act-003")
-                        .action("Bulk reassignment: 12 cases to Investment Banking team")
-                        .user("Manager - David Kim")
-                        .userId("USR-003")
-                        .timestamp(LocalDateTime.now().minusHours(2))
-                        .status("bulk")
-                        .metadata(Map.of("caseCount", 12, "lob", "Investment Banking"))
-                        .build()
-        );
-        
+        if (limit <= 0) {
+            throw new ValidationException("Limit must be positive");
+        }
+
         return RecentActivityResponse.builder()
-                .data(activities.subList(0, Math.min(limit, activities.size())))
+                .data(activityFeed.recent(limit))
                 .build();
     }
 
-    public QuickActionsResponse getQuickActions(String userRole) {
-        log.debug("Fetching quick actions for role: {}", userRole);
+    /**
+     * Read from the quick-action counter index: the analyst role's counts are the caller's own
+     * cases, the other roles' counts are shared by everyone in the role
+     */
+    public QuickActionsResponse getQuickActions(String userRole, String userId) {
+        log.debug("Fetching quick actions for role {} and user {}", userRole, userId);
         
         List<QuickActionsResponse.Action> actions;
         
         switch (userRole.toLowerCase()) {
             case "hra-analyst":
+                long[] mine = quickActionCounters.counts(userId);
                 actions = Arrays.asList(
-                        QuickActionsResponse.Action.builder()
-                                .label("My Active Cases").count(24).icon("Users").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Ready to Escalate").count(8).icon("ArrowUpCircle").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Returned for Review").count(3).icon("RotateCcw").build()
+                        action("My Active Cases", mine[QuickActionCounterIndex.AnalystBucket.ACTIVE_CASES.ordinal()], "Users"),
+                        action("Ready to Escalate", mine[QuickActionCounterIndex.AnalystBucket.IN_PROGRESS.ordinal()], "ArrowUpCircle"),
+                        action("Returned for Review", mine[QuickActionCounterIndex.AnalystBucket.RETURNED.ordinal()], "RotateCcw")
                 );
                 break;
             case "hra-manager":
                 actions = Arrays.asList(
-                        QuickActionsResponse.Action.builder()
-                                .label("Team Cases").count(156).icon("Users").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Pending Approvals").count(18).icon("CheckCircle").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Escalation Requests").count(12).icon("ArrowUpCircle").build()
+                        action("Team Cases", QuickActionCounterIndex.RoleBucket.TEAM_CASES, "Users"),
+                        action("Pending Approvals", QuickActionCounterIndex.RoleBucket.MANAGER_PENDING, "CheckCircle"),
+                        action("Escalation Requests", QuickActionCounterIndex.RoleBucket.ALL_ESCALATIONS, "ArrowUpCircle")
                 );
                 break;
             case "flu-aml":
                 actions = Arrays.asList(
-                        QuickActionsResponse.Action.builder()
-                                .label("AML Cases").count(34).icon("AlertTriangle").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Under Review").count(12).icon("Clock").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Completed").count(89).icon("CheckCircle").build()
+                        action("AML Cases", QuickActionCounterIndex.RoleBucket.FLU_CASES, "AlertTriangle"),
+                        action("Under Review", QuickActionCounterIndex.RoleBucket.FLU_PENDING, "Clock"),
+                        action("Completed", QuickActionCounterIndex.RoleBucket.FLU_COMPLETED, "CheckCircle")
                 );
                 break;
             case "gfc":
                 actions = Arrays.asList(
-                        QuickActionsResponse.Action.builder()
-                                .label("GFC Cases").count(28).icon("ArrowUpCircle").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("High Priority").count(8).icon("AlertTriangle").build(),
-                        QuickActionsResponse.Action.builder()
-                                .label("Disposition Ready").count(23).icon("CheckCircle").build()
+                        action("GFC Cases", QuickActionCounterIndex.RoleBucket.GFC_CASES, "ArrowUpCircle"),
+                        action("High Priority", QuickActionCounterIndex.RoleBucket.GFC_HIGH_PRIORITY, "AlertTriangle"),
+                        action("Disposition Ready", QuickActionCounterIndex.RoleBucket.GFC_PENDING, "CheckCircle")
                 );
                 break;
             default:
@@ -195,37 +214,53 @@ public class DashboardService {
                 .build();
     }
 
+    private QuickActionsResponse.Action action(String label, QuickActionCounterIndex.RoleBucket bucket, String icon) {
+        return action(label, quickActionCounters.count(bucket), icon);
+    }
+
+    private static QuickActionsResponse.Action action(String label, long count, String icon) {
+        return QuickActionsResponse.Action.builder().label(label).count((int) count).icon(icon).build();
+    }
+
+    /**
+     * Computed from the live analyst caseload counters. Utilization is the caseload against
+     * app.capacity.cases-per-analyst for each analyst currently holding cases in the LOB.
+     */
     public TeamCapacityResponse getTeamCapacity() {
         log.debug("Fetching team capacity overview");
-        
-        List<TeamCapacityResponse.Team> teams = Arrays.asList(
-                TeamCapacityResponse.Team.builder()
-                        .lob("Investment Banking")
-                        .totalAnalysts(8)
-                        .activeCases(156)
-                        .avgCaseload(19.5)
-                        .capacityUtilization(78)
-                        .status("healthy")
-                        .build(),
-                TeamCapacityResponse.Team.builder()
-                        .lob("Commercial Banking")
-                        .totalAnalysts(6)
-                        .activeCases(143)
-                        .avgCaseload(23.8)
-                        .capacityUtilization(95)
-                        .status("at-capacity")
-                        .build()
-        );
-        
+
+        int casesPerAnalyst = capacityTracker.getCasesPerAnalyst();
+        List<TeamCapacityResponse.Team> teams = new ArrayList<>();
+        int totalAnalysts = 0;
+        long totalCases = 0;
+        for (CaseCapacityTracker.TeamLoad load : new TreeMap<>(capacityTracker.teams()).values()) {
+            int utilization = utilization(load.activeCases(), load.analysts(), casesPerAnalyst);
+            teams.add(TeamCapacityResponse.Team.builder()
+                    .lob(load.lob())
+                    .totalAnalysts(load.analysts())
+                    .activeCases((int) load.activeCases())
+                    .avgCaseload(Math.round((double) load.activeCases() / load.analysts() * 10) / 10.0)
+                    .capacityUtilization(utilization)
+                    .status(utilization > 100 ? "over-capacity" : utilization >= AT_CAPACITY_UTILIZATION
+                            ? "at-capacity" : "healthy")
+                    .build());
+            totalAnalysts += load.analysts();
+            totalCases += load.activeCases();
+        }
+
         TeamCapacityResponse.Summary summary = TeamCapacityResponse.Summary.builder()
-                .totalAnalysts(24)
-                .totalCases(587)
-                .avgUtilization(82)
+                .totalAnalysts(totalAnalysts)
+                .totalCases((int) totalCases)
+                .avgUtilization(utilization(totalCases, totalAnalysts, casesPerAnalyst))
                 .build();
-        
+
         return TeamCapacityResponse.builder()
                 .teams(teams)
                 .summary(summary)
                 .build();
     }
+
+    private static int utilization(long cases, int analysts, int casesPerAnalyst) {
+        return analysts == 0 ? 0 : (int) Math.round(100.0 * cases / ((long) analysts * casesPerAnalyst));
+    }
 }
@@ -0,0 +1,165 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.dto.response.DashboardSummaryResponse;
+import com.bofa.aml.hra.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the batched dashboard summary.
+ * The requested sections are computed concurrently, each with its own timeout, so the page waits
+ * for the slowest section once instead of making seven calls; a section that fails, times out or
+ * has invalid parameters is reported in the response instead of failing the others.
+ */
+@Service
+@Slf4j
+public class DashboardSummaryService {
+
+    static final String RISK_OVERVIEW = "risk-overview";
+    static final String WORKFLOW_DISTRIBUTION = "workflow-distribution";
+    static final String ESCALATION_TRENDS = "escalation-trends";
+    static final String TURNAROUND_TIMES = "turnaround-times";
+    static final String RECENT_ACTIVITY = "recent-activity";
+    static final String QUICK_ACTIONS = "quick-actions";
+    static final String TEAM_CAPACITY = "team-capacity";
+
+    static final List<String> SECTIONS = List.of(RISK_OVERVIEW, WORKFLOW_DISTRIBUTION, ESCALATION_TRENDS,
+            TURNAROUND_TIMES, RECENT_ACTIVITY, QUICK_ACTIONS, TEAM_CAPACITY);
+
+    private final DashboardService dashboardService;
+    private final Executor executor;
+    private final long sectionTimeoutMs;
+
+    public DashboardSummaryService(DashboardService dashboardService,
+                                   @Qualifier(AsyncConfig.DASHBOARD_SUMMARY_EXECUTOR) Executor executor,
+                                   @Value("${app.dashboard.summary.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.dashboardService = dashboardService;
+        this.executor = executor;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+    }
+
+    /**
+     * Parameters of the individual dashboard endpoints, passed to the sections that use them.
+     * The caller's user ID is resolved on the request thread, as sections run on the executor.
+     */
+    public record SummaryParams(int weeks, String granularity, int days, String lob, int limit, String userRole,
+                                String userId) {
+    }
+
+    /**
+     * @param sections section names as in the dashboard endpoint paths; null or empty means all
+     */
+    public DashboardSummaryResponse getSummary(Collection<String> sections, SummaryParams params) {
+        Set<String> requested = resolve(sections);
+        log.debug("Building dashboard summary for sections {}", requested);
+        long startedAt = System.nanoTime();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        Map<String, CompletableFuture<?>> futures = new LinkedHashMap<>();
+        for (String section : requested) {
+            futures.put(section, CompletableFuture.supplyAsync(() -> timed(section, timings, loader(section, params)),
+                            executor)
+                    .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS));
+        }
+
+        List<DashboardSummaryResponse.SectionError> errors = new ArrayList<>();
+        DashboardSummaryResponse response = DashboardSummaryResponse.builder()
+                .riskOverview(collect(RISK_OVERVIEW, futures, errors))
+                .workflowDistribution(collect(WORKFLOW_DISTRIBUTION, futures, errors))
+                .escalationTrends(collect(ESCALATION_TRENDS, futures, errors))
+                .turnaroundTimes(collect(TURNAROUND_TIMES, futures, errors))
+                .recentActivity(collect(RECENT_ACTIVITY, futures, errors))
+                .quickActions(collect(QUICK_ACTIONS, futures, errors))
+                .teamCapacity(collect(TEAM_CAPACITY, futures, errors))
+                .build();
+
+        response.setComplete(errors.isEmpty());
+        response.setSectionErrors(errors.isEmpty() ? null : errors);
+        response.setSectionTimingsMs(new LinkedHashMap<>(timings));
+        response.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+        if (!errors.isEmpty()) {
+            log.warn("Dashboard summary returned partial results: {}", errors);
+        }
+        return response;
+    }
+
+    private static Set<String> resolve(Collection<String> sections) {
+        if (sections == null || sections.isEmpty()) {
+            return new LinkedHashSet<>(SECTIONS);
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String section : sections) {
+            String name = section.trim().toLowerCase(Locale.ROOT);
+            if (!SECTIONS.contains(name)) {
+                throw new ValidationException("Unknown dashboard section '" + section.trim()
+                        + "', expected one of " + String.join(", ", SECTIONS));
+            }
+            requested.add(name);
+        }
+        return requested;
+    }
+
+    private Supplier<?> loader(String section, SummaryParams params) {
+        return switch (section) {
+            case RISK_OVERVIEW -> dashboardService::getRiskOverview;
+            case WORKFLOW_DISTRIBUTION -> dashboardService::getWorkflowDistribution;
+            case ESCALATION_TRENDS -> () -> dashboardService.getEscalationTrends(params.weeks(), params.granularity());
+            case TURNAROUND_TIMES -> () -> dashboardService.getTurnaroundTimes(params.days(), params.lob());
+            case RECENT_ACTIVITY -> () -> dashboardService.getRecentActivity(params.limit());
+            case QUICK_ACTIONS -> () -> {
+                if (params.userRole() == null || params.userRole().isBlank()) {
+                    throw new ValidationException("userRole is required for quick-actions");
+                }
+                return dashboardService.getQuickActions(params.userRole(), params.userId());
+            };
+            case TEAM_CAPACITY -> dashboardService::getTeamCapacity;
+            default -> throw new IllegalArgumentException("Unknown dashboard section " + section);
+        };
+    }
+
+    private static <T> T timed(String name, Map<String, Long> timings, Supplier<T> loader) {
+        long startedAt = System.nanoTime();
+        try {
+            return loader.get();
+        } finally {
+            timings.put(name, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T collect(String name, Map<String, CompletableFuture<?>> futures,
+                                 List<DashboardSummaryResponse.SectionError> errors) {
+        CompletableFuture<?> future = futures.get(name);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return (T) future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String status = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof ValidationException ? "invalid"
+                    : "error";
+            if ("error".equals(status)) {
+                log.error("Dashboard summary section {} failed", name, cause);
+            }
+            errors.add(DashboardSummaryResponse.SectionError.builder()
+                    .section(name)
+                    .status(status)
+                    .message(switch (status) {
+                        case "timeout" -> "Section did not load in time";
+                        case "invalid" -> cause.getMessage();
+                        default -> "Section failed to load";
+                    })
+                    .build());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.bofa.aml.hra.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the in-memory data behind the dashboard endpoints.
+ * The dashboard stores bump it after applying a committed change, so a cached dashboard
+ * response built at an older version is known to be stale.
+ */
+@Component
+public class DashboardVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,183 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.repository.EscalationRollupRepository;
+import com.bofa.aml.hra.repository.EscalationRollupRepository.RollupRow;
+import com.bofa.aml.hra.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Escalation counts per destination in pre-aggregated time buckets behind the escalation trends.
+ * <p>
+ * Each escalation increments its day bucket in the escalation's own transaction, so counts roll
+ * back with it. Day buckets are created ahead of time, at startup and hourly, so that transaction
+ * only ever runs the relative UPDATE and never needs a second connection to create a bucket; an
+ * escalation that finds no bucket (a backdated day) is counted after it commits instead.
+ * <p>
+ * A window is answered by summing the buckets that start inside it, which costs one row per
+ * bucket however many escalations there were. Day buckets older than the daily retention
+ * are compacted into week buckets (Monday start), and week buckets older than the weekly retention
+ * into month buckets (by the month the week starts in). Trends finer than the stored granularity
+ * report a compacted bucket at its start date.
+ */
+@Component
+@Slf4j
+public class EscalationRollupStore {
+
+    public static final String DAY = "day";
+    public static final String WEEK = "week";
+    public static final String MONTH = "month";
+
+    private final EscalationRollupRepository rollupRepository;
+    private final DashboardVersion dashboardVersion;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final int dailyRetentionDays;
+    private final int weeklyRetentionWeeks;
+    private final int daysAhead;
+
+    public EscalationRollupStore(EscalationRollupRepository rollupRepository,
+                                 DashboardVersion dashboardVersion,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.escalation-rollup.daily-retention-days:90}") int dailyRetentionDays,
+                                 @Value("${app.escalation-rollup.weekly-retention-weeks:104}") int weeklyRetentionWeeks,
+                                 @Value("${app.escalation-rollup.days-ahead:2}") int daysAhead) {
+        this.rollupRepository = rollupRepository;
+        this.dashboardVersion = dashboardVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dailyRetentionDays = dailyRetentionDays;
+        this.weeklyRetentionWeeks = weeklyRetentionWeeks;
+        this.daysAhead = daysAhead;
+    }
+
+    /**
+     * Create the day buckets from today to daysAhead days out, so the day rolls over into an
+     * existing bucket even if this runs late
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.escalation-rollup.bucket-cron:0 0 * * * *}")
+    public void createUpcomingBuckets() {
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day <= daysAhead; day++) {
+            ensureBucket(DAY, today.plusDays(day));
+        }
+    }
+
+    /**
+     * Count one escalation in its day bucket, inside the caller's transaction
+     */
+    public void recordEscalation(EscalationDestination destination, LocalDate day) {
+        if (rollupRepository.increment(DAY, day, destination) == 1) {
+            AfterCommit.run(dashboardVersion::bump);
+            return;
+        }
+        // No bucket for the day: a backdated day, or the upcoming buckets have not been created
+        log.warn("No escalation rollup bucket for {}; counting the escalation after commit", day);
+        AfterCommit.run(() -> {
+            ensureBucket(DAY, day);
+            rollupRepository.increment(DAY, day, destination);
+            dashboardVersion.bump();
+        });
+    }
+
+    /**
+     * Escalation counts per period over [from, to], one entry per period including empty ones
+     *
+     * @param granularity DAY or WEEK
+     */
+    public NavigableMap<LocalDate, long[]> trends(String granularity, LocalDate from, LocalDate to) {
+        UnaryOperator<LocalDate> periodOf = WEEK.equals(granularity) ? EscalationRollupStore::weekStart : day -> day;
+        NavigableMap<LocalDate, long[]> periods = new TreeMap<>();
+        for (LocalDate period = periodOf.apply(from); !period.isAfter(to);
+             period = WEEK.equals(granularity) ? period.plusWeeks(1) : period.plusDays(1)) {
+            periods.put(period, new long[EscalationDestination.values().length]);
+        }
+
+        for (RollupRow row : rollupRepository.findStartingBetween(periodOf.apply(from), to)) {
+            long[] counts = periods.floorEntry(periodOf.apply(row.bucketStart())).getValue();
+            counts[EscalationDestination.MANAGER.ordinal()] += row.toManager();
+            counts[EscalationDestination.FLU.ordinal()] += row.toFlu();
+            counts[EscalationDestination.GFC.ordinal()] += row.toGfc();
+        }
+        return periods;
+    }
+
+    @Scheduled(cron = "${app.escalation-rollup.compaction-cron:0 30 2 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        int weeks = compact(DAY, WEEK, weekStart(today.minusDays(dailyRetentionDays)), EscalationRollupStore::weekStart);
+        int months = compact(WEEK, MONTH, weekStart(today.minusWeeks(weeklyRetentionWeeks)),
+                day -> day.withDayOfMonth(1));
+        if (weeks > 0 || months > 0) {
+            dashboardVersion.bump();
+            log.info("Escalation rollups compacted into {} week and {} month buckets", weeks, months);
+        }
+    }
+
+    /**
+     * Fold every source bucket starting before the cutoff into its target bucket in one transaction.
+     * The delete must remove exactly the rows that were read, otherwise another node compacted them
+     * first and the transaction rolls back instead of counting them twice.
+     */
+    private int compact(String sourceGranularity, String targetGranularity, LocalDate cutoff,
+                        UnaryOperator<LocalDate> targetOf) {
+        Integer compacted = transactionTemplate.execute(status -> {
+            List<RollupRow> rows = rollupRepository.findStartingBefore(sourceGranularity, cutoff);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            Map<LocalDate, long[]> targets = new TreeMap<>();
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (RollupRow row : rows) {
+                long[] counts = targets.computeIfAbsent(targetOf.apply(row.bucketStart()), k -> new long[3]);
+                counts[0] += row.toManager();
+                counts[1] += row.toFlu();
+                counts[2] += row.toGfc();
+                ids.add(row.id());
+            }
+            if (rollupRepository.deleteByIds(ids) != ids.size()) {
+                throw new IllegalStateException("Escalation rollups were compacted concurrently");
+            }
+            targets.forEach((bucketStart, counts) -> {
+                ensureBucket(targetGranularity, bucketStart);
+                rollupRepository.add(targetGranularity, bucketStart, counts[0], counts[1], counts[2]);
+            });
+            return targets.size();
+        });
+        return compacted == null ? 0 : compacted;
+    }
+
+    /**
+     * Create an empty bucket in its own transaction so a concurrent creator never aborts the
+     * caller's transaction with a duplicate key. Not used on the escalation path, where it would
+     * take a second pooled connection while the escalation holds one.
+     */
+    private void ensureBucket(String granularity, LocalDate bucketStart) {
+        try {
+            newTransaction.executeWithoutResult(status -> rollupRepository.insertBucket(granularity, bucketStart));
+        } catch (DuplicateKeyException e) {
+            // Created by another node, or earlier
+        }
+    }
+
+    static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.BusinessLine;
+import com.bofa.aml.hra.model.PopulationCriterion;
+import com.bofa.aml.hra.repository.ClientJdbcRepository.CriteriaRow;
+
+import java.time.LocalDate;
+
+/**
+ * Evaluates the population identification criteria for one client as of a run date.
+ * Stateless, so partitions can evaluate clients concurrently.
+ */
+public final class PopulationCriteriaEvaluator {
+
+    /**
+     * CAM 2.0: when CAM is not aligned with the refresh, the most recent CAM within this window counts
+     */
+    static final int CAM_LOOKBACK_MONTHS = 12;
+
+    private PopulationCriteriaEvaluator() {
+    }
+
+    /**
+     * @return bitmask of the {@link PopulationCriterion} values the client passes
+     */
+    public static int evaluate(CriteriaRow row, LocalDate runDate) {
+        int passed = 0;
+        if ("High".equalsIgnoreCase(row.riskRating())) {
+            passed |= PopulationCriterion.HIGH_RISK.mask();
+        }
+        if (onOrBefore(row.refreshCompletionDate(), runDate)) {
+            passed |= PopulationCriterion.REFRESH_COMPLETE.mask();
+        }
+        if (craComplete(row, runDate)) {
+            passed |= PopulationCriterion.CRA_COMPLETE.mask();
+        }
+        if (camComplete(row, runDate)) {
+            passed |= PopulationCriterion.CAM_COMPLETE.mask();
+        }
+        if (!"exiting".equalsIgnoreCase(row.status()) && !"closed".equalsIgnoreCase(row.status())) {
+            passed |= PopulationCriterion.ACTIVE_STATUS.mask();
+        }
+        return passed;
+    }
+
+    /**
+     * CRR factors are taken as of the refresh initiation date for GBGM and the refresh completion
+     * date for the other business lines; the assessment must be completed on or after that date
+     */
+    private static boolean craComplete(CriteriaRow row, LocalDate runDate) {
+        BusinessLine businessLine = row.businessLine();
+        LocalDate basis = businessLine != null && businessLine.getCrrBasis() == BusinessLine.CrrBasis.REFRESH_INITIATION
+                ? row.refreshInitiationDate()
+                : row.refreshCompletionDate();
+        return basis != null
+                && onOrBefore(row.craCompletionDate(), runDate)
+                && !row.craCompletionDate().isBefore(basis);
+    }
+
+    /**
+     * Aligned business lines wait for a CAM completed as part of the current refresh;
+     * the others accept the most recent CAM within the lookback window
+     */
+    private static boolean camComplete(CriteriaRow row, LocalDate runDate) {
+        LocalDate cam = row.camCompletionDate();
+        if (!onOrBefore(cam, runDate)) {
+            return false;
+        }
+        BusinessLine businessLine = row.businessLine();
+        if (businessLine != null && businessLine.isCamAlignedWithRefresh()) {
+            return row.refreshInitiationDate() != null && !cam.isBefore(row.refreshInitiationDate());
+        }
+        return !cam.isBefore(runDate.minusMonths(CAM_LOOKBACK_MONTHS));
+    }
+
+    private static boolean onOrBefore(LocalDate date, LocalDate runDate) {
+        return date != null && !date.isAfter(runDate);
+    }
+}
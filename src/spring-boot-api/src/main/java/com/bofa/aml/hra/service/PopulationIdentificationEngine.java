@@ -0,0 +1,158 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.repository.ClientJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel engine behind the monthly High Risk Summary population identification.
+ * <p>
+ * The clients table is split into client ID ranges of about partition-size rows. A fork-join task
+ * splits the range list down to single partitions, and each partition streams its rows, evaluates
+ * the criteria into a thread-local tally and adds it to the run once finished, so the overview and
+ * criteria matrix can be read while a run is still in progress. A partition that fails is counted
+ * and the run carries on with the rest.
+ * <p>
+ * Every worker holds a JDBC connection while it scans, so parallelism should stay below the
+ * connection pool size.
+ */
+@Component
+@Slf4j
+public class PopulationIdentificationEngine {
+
+    private final ClientJdbcRepository clientJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<PopulationRun> latestRun = new AtomicReference<>();
+
+    public PopulationIdentificationEngine(ClientJdbcRepository clientJdbcRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.population.parallelism:0}") int parallelism,
+                                          @Value("${app.population.partition-size:50000}") int partitionSize) {
+        this.clientJdbcRepository = clientJdbcRepository;
+        // Streaming with a fetch size needs autocommit off on PostgreSQL
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.partitionSize = Math.max(1, partitionSize);
+    }
+
+    /**
+     * Start a run for the given date in the background; only one run may be in progress at a time
+     */
+    public PopulationRun start(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ValidationException("A population identification run is already in progress");
+        }
+        PopulationRun run = new PopulationRun(runDate);
+        latestRun.set(run);
+        pool.execute(() -> execute(run));
+        log.info("Population identification run {} started for {}", run.getRunId(), runDate);
+        return run;
+    }
+
+    @Scheduled(cron = "${app.population.cron:0 0 1 1 * *}")
+    public void scheduledRun() {
+        try {
+            start(LocalDate.now());
+        } catch (ValidationException e) {
+            log.warn("Skipping scheduled population identification: {}", e.getMessage());
+        }
+    }
+
+    public Optional<PopulationRun> latestRun() {
+        return Optional.ofNullable(latestRun.get());
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void execute(PopulationRun run) {
+        try {
+            List<String> boundaries = readOnlyTransaction.execute(
+                    status -> clientJdbcRepository.findPartitionBoundaries(partitionSize));
+            run.setTotalPartitions(boundaries.size());
+            if (!boundaries.isEmpty()) {
+                new PartitionTask(run, boundaries, 0, boundaries.size()).invoke();
+            }
+            run.complete();
+            log.info("Population identification run {} {}: {} clients evaluated, {} eligible, {} failed partitions in {} ms",
+                    run.getRunId(), run.getStatus(), run.getEvaluated().sum(), run.getEligible().sum(),
+                    run.getFailedPartitions().get(), run.elapsed().toMillis());
+        } catch (RuntimeException e) {
+            log.error("Population identification run {} failed", run.getRunId(), e);
+            run.fail(e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Splits a range of partitions in half until a single partition remains, then scans it
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private final PopulationRun run;
+        private final List<String> boundaries;
+        private final int from;
+        private final int to;
+
+        PartitionTask(PopulationRun run, List<String> boundaries, int from, int to) {
+            this.run = run;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                evaluatePartition(run, boundaries, from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PartitionTask(run, boundaries, from, mid), new PartitionTask(run, boundaries, mid, to));
+        }
+    }
+
+    private void evaluatePartition(PopulationRun run, List<String> boundaries, int index) {
+        String fromClientId = boundaries.get(index);
+        String toClientId = index + 1 < boundaries.size() ? boundaries.get(index + 1) : null;
+        LocalDate runDate = run.getRunDate();
+        PopulationRun.PartitionTally tally = new PopulationRun.PartitionTally();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> clientJdbcRepository.scanCriteriaRows(
+                    fromClientId, toClientId,
+                    row -> tally.add(row.businessLine(), PopulationCriteriaEvaluator.evaluate(row, runDate))));
+            run.addPartition(tally);
+        } catch (RuntimeException e) {
+            log.error("Population run {} partition starting at client {} failed", run.getRunId(), fromClientId, e);
+            run.partitionFailed();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.BusinessLine;
+import com.bofa.aml.hra.model.PopulationCriterion;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live state of one population identification run.
+ * Partitions add their tallies as they finish, so counts can be read while the run is in progress.
+ */
+@Getter
+public class PopulationRun {
+
+    private static final PopulationCriterion[] CRITERIA = PopulationCriterion.values();
+    private static final BusinessLine[] BUSINESS_LINES = BusinessLine.values();
+
+    private final String runId = "POP-" + UUID.randomUUID();
+    private final LocalDate runDate;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private volatile String status = "running"; // "running", "completed", "completed-with-errors", "failed"
+    private volatile LocalDateTime completedAt;
+    private volatile int totalPartitions;
+    private volatile String message;
+
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final AtomicInteger failedPartitions = new AtomicInteger();
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder eligible = new LongAdder();
+    private final LongAdder pendingCam = new LongAdder();
+    private final LongAdder[] passedByCriterion = newAdders(CRITERIA.length);
+    private final LongAdder[] evaluatedByBusinessLine = newAdders(BUSINESS_LINES.length);
+    private final LongAdder[] eligibleByBusinessLine = newAdders(BUSINESS_LINES.length);
+
+    PopulationRun(LocalDate runDate) {
+        this.runDate = runDate;
+    }
+
+    /**
+     * Single-threaded counts for one partition, added to the run once the partition finishes
+     */
+    static final class PartitionTally {
+
+        private static final int ELIGIBLE_MASK = PopulationCriterion.allMask();
+        private static final int PENDING_CAM_MASK = ELIGIBLE_MASK & ~PopulationCriterion.CAM_COMPLETE.mask();
+
+        private long evaluated;
+        private long eligible;
+        private long pendingCam;
+        private final long[] passedByCriterion = new long[CRITERIA.length];
+        private final long[] evaluatedByBusinessLine = new long[BUSINESS_LINES.length];
+        private final long[] eligibleByBusinessLine = new long[BUSINESS_LINES.length];
+
+        void add(BusinessLine businessLine, int passedMask) {
+            evaluated++;
+            for (PopulationCriterion criterion : CRITERIA) {
+                if ((passedMask & criterion.mask()) != 0) {
+                    passedByCriterion[criterion.ordinal()]++;
+                }
+            }
+            boolean isEligible = passedMask == ELIGIBLE_MASK;
+            if (isEligible) {
+                eligible++;
+            } else if (passedMask == PENDING_CAM_MASK) {
+                pendingCam++;
+            }
+            if (businessLine != null) {
+                evaluatedByBusinessLine[businessLine.ordinal()]++;
+                if (isEligible) {
+                    eligibleByBusinessLine[businessLine.ordinal()]++;
+                }
+            }
+        }
+    }
+
+    void addPartition(PartitionTally tally) {
+        evaluated.add(tally.evaluated);
+        eligible.add(tally.eligible);
+        pendingCam.add(tally.pendingCam);
+        addAll(passedByCriterion, tally.passedByCriterion);
+        addAll(evaluatedByBusinessLine, tally.evaluatedByBusinessLine);
+        addAll(eligibleByBusinessLine, tally.eligibleByBusinessLine);
+        completedPartitions.incrementAndGet();
+    }
+
+    void partitionFailed() {
+        failedPartitions.incrementAndGet();
+    }
+
+    void setTotalPartitions(int totalPartitions) {
+        this.totalPartitions = totalPartitions;
+    }
+
+    void complete() {
+        completedAt = LocalDateTime.now();
+        status = failedPartitions.get() == 0 ? "completed" : "completed-with-errors";
+    }
+
+    void fail(String reason) {
+        completedAt = LocalDateTime.now();
+        message = reason;
+        status = "failed";
+    }
+
+    public boolean isRunning() {
+        return completedAt == null;
+    }
+
+    public long passed(PopulationCriterion criterion) {
+        return passedByCriterion[criterion.ordinal()].sum();
+    }
+
+    public long evaluated(BusinessLine businessLine) {
+        return evaluatedByBusinessLine[businessLine.ordinal()].sum();
+    }
+
+    public long eligible(BusinessLine businessLine) {
+        return eligibleByBusinessLine[businessLine.ordinal()].sum();
+    }
+
+    public Duration elapsed() {
+        return Duration.between(startedAt, completedAt != null ? completedAt : LocalDateTime.now());
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void addAll(LongAdder[] target, long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                target[i].add(values[i]);
+            }
+        }
+    }
+}
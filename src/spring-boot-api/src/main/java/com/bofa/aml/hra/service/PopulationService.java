@@ -0,0 +1,123 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.CriteriaMatrixResponse;
+import com.bofa.aml.hra.dto.response.PopulationOverviewResponse;
+import com.bofa.aml.hra.model.BusinessLine;
+import com.bofa.aml.hra.model.PopulationCriterion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service layer for Population Identification business logic.
+ * Results come from the latest engine run and are live while a run is in progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PopulationService {
+
+    private final PopulationIdentificationEngine engine;
+
+    public PopulationOverviewResponse startRun(LocalDate runDate) {
+        log.debug("Starting population identification run for {}", runDate);
+        return toOverview(engine.start(runDate != null ? runDate : LocalDate.now()));
+    }
+
+    public PopulationOverviewResponse getOverview() {
+        log.debug("Fetching population overview");
+        return engine.latestRun()
+                .map(this::toOverview)
+                .orElseGet(() -> PopulationOverviewResponse.builder()
+                        .status("not-run")
+                        .message("No population identification run has been started")
+                        .build());
+    }
+
+    public CriteriaMatrixResponse getCriteriaMatrix() {
+        log.debug("Fetching population criteria matrix");
+        PopulationRun run = engine.latestRun().orElse(null);
+        long evaluated = run == null ? 0 : run.getEvaluated().sum();
+
+        List<CriteriaMatrixResponse.CriterionResult> criteria = new ArrayList<>();
+        for (PopulationCriterion criterion : PopulationCriterion.values()) {
+            long passed = run == null ? 0 : run.passed(criterion);
+            criteria.add(CriteriaMatrixResponse.CriterionResult.builder()
+                    .criterion(criterion.getLabel())
+                    .description(criterion.getDescription())
+                    .priority(criterion.getPriority())
+                    .status(criterion.getStatus())
+                    .passed(passed)
+                    .failed(evaluated - passed)
+                    .compliance(percentage(passed, evaluated))
+                    .build());
+        }
+
+        List<CriteriaMatrixResponse.BusinessLineRule> rules = new ArrayList<>();
+        for (BusinessLine businessLine : BusinessLine.values()) {
+            long lineEvaluated = run == null ? 0 : run.evaluated(businessLine);
+            long lineEligible = run == null ? 0 : run.eligible(businessLine);
+            rules.add(CriteriaMatrixResponse.BusinessLineRule.builder()
+                    .businessLine(businessLine.getLabel())
+                    .crrBasis(businessLine.getCrrBasis().getLabel())
+                    .camAlignment(businessLine.getCamAlignment())
+                    .evaluated(lineEvaluated)
+                    .eligible(lineEligible)
+                    .completionRate(percentage(lineEligible, lineEvaluated))
+                    .build());
+        }
+
+        return CriteriaMatrixResponse.builder()
+                .runId(run == null ? null : run.getRunId())
+                .runDate(run == null ? null : run.getRunDate())
+                .criteria(criteria)
+                .businessLineRules(rules)
+                .build();
+    }
+
+    private PopulationOverviewResponse toOverview(PopulationRun run) {
+        long evaluated = run.getEvaluated().sum();
+        long eligible = run.getEligible().sum();
+        long elapsedMs = run.elapsed().toMillis();
+
+        List<PopulationOverviewResponse.BusinessLineCount> byBusinessLine = new ArrayList<>();
+        for (BusinessLine businessLine : BusinessLine.values()) {
+            byBusinessLine.add(PopulationOverviewResponse.BusinessLineCount.builder()
+                    .businessLine(businessLine.getLabel())
+                    .evaluated(run.evaluated(businessLine))
+                    .eligible(run.eligible(businessLine))
+                    .build());
+        }
+
+        return PopulationOverviewResponse.builder()
+                .runId(run.getRunId())
+                .status(run.getStatus())
+                .runDate(run.getRunDate())
+                .totalClients(evaluated)
+                .eligiblePopulation(eligible)
+                .refreshCompleted(run.passed(PopulationCriterion.REFRESH_COMPLETE))
+                .pendingCam(run.getPendingCam().sum())
+                .eligibilityRate(percentage(eligible, evaluated))
+                .byBusinessLine(byBusinessLine)
+                .progress(PopulationOverviewResponse.Progress.builder()
+                        .totalPartitions(run.getTotalPartitions())
+                        .completedPartitions(run.getCompletedPartitions().get())
+                        .failedPartitions(run.getFailedPartitions().get())
+                        .parallelism(engine.getParallelism())
+                        .startedAt(run.getStartedAt())
+                        .completedAt(run.getCompletedAt())
+                        .elapsedMs(elapsedMs)
+                        .clientsPerSecond(elapsedMs == 0 ? 0 : evaluated * 1000 / elapsedMs)
+                        .build())
+                .message(run.getMessage())
+                .build();
+    }
+
+    private static double percentage(long part, long total) {
+        return total == 0 ? 0.0 : Math.round(part * 1000.0 / total) / 10.0;
+    }
+}
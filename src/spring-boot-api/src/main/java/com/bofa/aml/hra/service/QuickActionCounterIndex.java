@@ -0,0 +1,312 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters behind the dashboard quick actions, keyed by (analyst, bucket) and (role, bucket).
+ * <p>
+ * Workflow mutations pass a case's facts before and after the change; the buckets it left are
+ * decremented and the ones it entered incremented after the transaction commits, so a quick-actions
+ * read is a few array lookups instead of filtered COUNT queries. Role buckets are one small array
+ * rebuilt and reconciled by {@link CaseAggregateReconciler}. Analyst buckets are kept only for
+ * analysts who asked for them: an analyst's counters are loaded with one grouped query on first
+ * read, reloaded after the refresh interval to correct drift, evicted after the idle interval,
+ * and capped at max-analysts with the least recently read evicted first. Changes for an analyst
+ * who is not loaded are skipped, as the next load counts them.
+ */
+@Component
+@Slf4j
+public class QuickActionCounterIndex {
+
+    private static final Set<CaseStatus> ACTIVE = EnumSet.of(
+            CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, CaseStatus.MANUAL_REVIEW);
+    private static final Set<CaseStatus> ANALYST_WORKLOAD = EnumSet.of(
+            CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, CaseStatus.MANUAL_REVIEW, CaseStatus.RETURNED);
+    private static final Set<String> HIGH_PRIORITIES = Set.of("high", "critical");
+
+    /**
+     * Count kept for one analyst, over their own cases
+     */
+    public enum AnalystBucket {
+        ACTIVE_CASES, // assigned, in progress or in manual review
+        IN_PROGRESS, // opened and being worked
+        RETURNED // returned for corrections
+    }
+
+    /**
+     * Count kept once for everyone in a role
+     */
+    public enum RoleBucket {
+        TEAM_CASES, // open cases waiting on an analyst
+        MANAGER_PENDING, // escalated to an HRA manager
+        ALL_ESCALATIONS, // escalated to any role
+        FLU_CASES, // escalated to FLU AML, open or completed
+        FLU_PENDING, // escalated to FLU AML and open
+        FLU_COMPLETED, // completed after escalation to FLU AML
+        GFC_CASES, // escalated to GFC, open or completed
+        GFC_HIGH_PRIORITY, // high or critical priority, escalated to GFC and open
+        GFC_PENDING // escalated to GFC and awaiting disposition
+    }
+
+    /**
+     * The case attributes that decide its buckets
+     */
+    public record CaseFacts(String analyst, CaseStatus status, String escalatedTo, String priority) {
+
+        public static CaseFacts of(Case hraCase) {
+            return new CaseFacts(hraCase.getAssignedAnalyst(), hraCase.getStatus(), hraCase.getEscalatedTo(),
+                    hraCase.getPriority());
+        }
+    }
+
+    private static final class AnalystCounters {
+
+        private final AtomicLongArray counts = new AtomicLongArray(AnalystBucket.values().length);
+        private final long loadedAtMs = System.currentTimeMillis();
+        private volatile long lastReadMs = loadedAtMs;
+    }
+
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final DashboardVersion dashboardVersion;
+    private final int maxAnalysts;
+    private final long refreshMs;
+    private final long idleMs;
+
+    private final AtomicLongArray roleCounts = new AtomicLongArray(RoleBucket.values().length);
+    private final ConcurrentMap<String, AnalystCounters> analysts = new ConcurrentHashMap<>();
+
+    public QuickActionCounterIndex(CaseJdbcRepository caseJdbcRepository,
+                                   DashboardVersion dashboardVersion,
+                                   @Value("${app.quick-actions.max-analysts:5000}") int maxAnalysts,
+                                   @Value("${app.quick-actions.refresh-interval-ms:600000}") long refreshMs,
+                                   @Value("${app.quick-actions.idle-eviction-ms:3600000}") long idleMs) {
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.dashboardVersion = dashboardVersion;
+        this.maxAnalysts = maxAnalysts;
+        this.refreshMs = refreshMs;
+        this.idleMs = idleMs;
+    }
+
+    /**
+     * Record a case change once the surrounding transaction commits, or immediately outside one.
+     * Either side may be null for a case that was created or deleted.
+     */
+    public void recordTransition(CaseFacts before, CaseFacts after) {
+        Changes changes = changes();
+        changes.move(before, after);
+        changes.apply();
+    }
+
+    public Changes changes() {
+        return new Changes();
+    }
+
+    /**
+     * Moves collected by a single thread and applied together; not thread-safe
+     */
+    public final class Changes {
+
+        private final long[] roleDeltas = new long[RoleBucket.values().length];
+        private final Map<String, long[]> analystDeltas = new HashMap<>();
+
+        private Changes() {
+        }
+
+        public void move(CaseFacts before, CaseFacts after) {
+            if (before != null) {
+                add(before, -1);
+            }
+            if (after != null) {
+                add(after, 1);
+            }
+        }
+
+        private void add(CaseFacts facts, long delta) {
+            for (RoleBucket bucket : roleBuckets(facts)) {
+                roleDeltas[bucket.ordinal()] += delta;
+            }
+            if (facts.analyst() != null) {
+                for (AnalystBucket bucket : analystBuckets(facts)) {
+                    analystDeltas.computeIfAbsent(facts.analyst(), k -> new long[AnalystBucket.values().length])
+                            [bucket.ordinal()] += delta;
+                }
+            }
+        }
+
+        /**
+         * Apply once the surrounding transaction commits, or immediately outside one
+         */
+        public void apply() {
+            long[] roles = roleDeltas.clone();
+            Map<String, long[]> perAnalyst = Map.copyOf(analystDeltas);
+            AfterCommit.run(() -> {
+                for (int i = 0; i < roles.length; i++) {
+                    if (roles[i] != 0) {
+                        roleCounts.addAndGet(i, roles[i]);
+                    }
+                }
+                perAnalyst.forEach((analyst, deltas) -> {
+                    AnalystCounters counters = analysts.get(analyst);
+                    if (counters == null) {
+                        return;
+                    }
+                    for (int i = 0; i < deltas.length; i++) {
+                        if (deltas[i] != 0) {
+                            counters.counts.addAndGet(i, deltas[i]);
+                        }
+                    }
+                });
+                dashboardVersion.bump();
+            });
+        }
+    }
+
+    public long count(RoleBucket bucket) {
+        return roleCounts.get(bucket.ordinal());
+    }
+
+    /**
+     * Analyst counters, loaded from the database if they are not held or are due for a refresh
+     */
+    public long[] counts(String analyst) {
+        AnalystCounters counters = analysts.get(analyst);
+        long now = System.currentTimeMillis();
+        if (counters == null || now - counters.loadedAtMs > refreshMs) {
+            counters = load(analyst);
+        }
+        counters.lastReadMs = now;
+        long[] counts = new long[AnalystBucket.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = counters.counts.get(i);
+        }
+        return counts;
+    }
+
+    private AnalystCounters load(String analyst) {
+        AnalystCounters loaded = new AnalystCounters();
+        for (CaseJdbcRepository.StateCountRow row : caseJdbcRepository.countStatesForAnalyst(analyst)) {
+            CaseFacts facts = new CaseFacts(analyst, CaseStatus.valueOf(row.status()), row.escalatedTo(), row.priority());
+            for (AnalystBucket bucket : analystBuckets(facts)) {
+                loaded.counts.addAndGet(bucket.ordinal(), row.cases());
+            }
+        }
+        if (analysts.size() >= maxAnalysts && !analysts.containsKey(analyst)) {
+            evictLeastRecentlyRead();
+        }
+        analysts.put(analyst, loaded);
+        return loaded;
+    }
+
+    private void evictLeastRecentlyRead() {
+        analysts.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastReadMs))
+                .ifPresent(entry -> analysts.remove(entry.getKey(), entry.getValue()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.quick-actions.idle-check-interval-ms:300000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        int before = analysts.size();
+        analysts.values().removeIf(counters -> counters.lastReadMs < cutoff);
+        if (analysts.size() < before) {
+            log.debug("Evicted quick-action counters of {} idle analysts", before - analysts.size());
+        }
+    }
+
+    public int loadedAnalysts() {
+        return analysts.size();
+    }
+
+    /**
+     * Point-in-time copy of the role counters
+     */
+    long[] roleSnapshot() {
+        long[] snapshot = new long[roleCounts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = roleCounts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Role counters computed from grouped case counts, as loaded by the reconciler
+     */
+    static long[] roleCounts(List<CaseJdbcRepository.StateCountRow> rows) {
+        long[] counts = new long[RoleBucket.values().length];
+        for (CaseJdbcRepository.StateCountRow row : rows) {
+            CaseFacts facts = new CaseFacts(null, CaseStatus.valueOf(row.status()), row.escalatedTo(), row.priority());
+            for (RoleBucket bucket : roleBuckets(facts)) {
+                counts[bucket.ordinal()] += row.cases();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Overwrite the role counters with values rebuilt from the database
+     */
+    void resetRoles(long[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+            roleCounts.set(i, counts[i]);
+        }
+        dashboardVersion.bump();
+    }
+
+    private static List<AnalystBucket> analystBuckets(CaseFacts facts) {
+        List<AnalystBucket> buckets = new ArrayList<>(2);
+        if (ACTIVE.contains(facts.status())) {
+            buckets.add(AnalystBucket.ACTIVE_CASES);
+        }
+        if (facts.status() == CaseStatus.IN_PROGRESS) {
+            buckets.add(AnalystBucket.IN_PROGRESS);
+        }
+        if (facts.status() == CaseStatus.RETURNED) {
+            buckets.add(AnalystBucket.RETURNED);
+        }
+        return buckets;
+    }
+
+    private static List<RoleBucket> roleBuckets(CaseFacts facts) {
+        List<RoleBucket> buckets = new ArrayList<>(3);
+        CaseStatus status = facts.status();
+        if (ANALYST_WORKLOAD.contains(status) && facts.analyst() != null) {
+            buckets.add(RoleBucket.TEAM_CASES);
+        }
+        EscalationDestination destination = facts.escalatedTo() == null
+                ? null : EscalationDestination.fromCode(facts.escalatedTo());
+        boolean escalated = status == CaseStatus.ESCALATED;
+        if (escalated) {
+            buckets.add(RoleBucket.ALL_ESCALATIONS);
+        }
+        if (destination == EscalationDestination.MANAGER && escalated) {
+            buckets.add(RoleBucket.MANAGER_PENDING);
+        }
+        if (destination == EscalationDestination.FLU && (escalated || status == CaseStatus.COMPLETED)) {
+            buckets.add(RoleBucket.FLU_CASES);
+            buckets.add(escalated ? RoleBucket.FLU_PENDING : RoleBucket.FLU_COMPLETED);
+        }
+        if (destination == EscalationDestination.GFC && (escalated || status == CaseStatus.COMPLETED)) {
+            buckets.add(RoleBucket.GFC_CASES);
+            if (escalated) {
+                buckets.add(RoleBucket.GFC_PENDING);
+                if (facts.priority() != null && HIGH_PRIORITIES.contains(facts.priority())) {
+                    buckets.add(RoleBucket.GFC_HIGH_PRIORITY);
+                }
+            }
+        }
+        return buckets;
+    }
+}
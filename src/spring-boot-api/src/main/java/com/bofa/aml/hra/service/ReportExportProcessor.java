@@ -0,0 +1,107 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.config.AsyncConfig;
+import com.bofa.aml.hra.model.ReportFormat;
+import com.bofa.aml.hra.model.ReportType;
+import com.bofa.aml.hra.repository.ReportJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes reports from a forward-only scan straight to an output stream: the HTTP response of a
+ * streamed report, or a local file for a report generated as a background job.
+ * <p>
+ * The scan runs in a read-only transaction so every driver uses a cursor with the fetch size
+ * rather than reading the whole result, and holds its pooled connection until the last row is
+ * written; a streamed report to a slow client holds it that long, which is why large reports
+ * should be generated as jobs.
+ */
+@Component
+@Slf4j
+public class ReportExportProcessor {
+
+    static final int PROGRESS_INTERVAL = 10000; // rows between job progress updates
+
+    private final ReportJdbcRepository reportJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportExportProcessor(ReportJdbcRepository reportJdbcRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.reportJdbcRepository = reportJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write the report to the stream, reporting progress every {@link #PROGRESS_INTERVAL} rows and
+     * once more at the end. The stream is flushed, not closed.
+     *
+     * @return the number of rows written
+     */
+    public long write(ReportType type, ReportJdbcRepository.ReportFilter filter, ReportFormat format,
+                      OutputStream out, LongConsumer progress) throws IOException {
+        ReportWriter writer = new ReportWriter(format, type.getColumns(), out, objectMapper.getFactory());
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> reportJdbcRepository.scan(type, filter, rs -> {
+                try {
+                    writer.writeRow(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (writer.rows() % PROGRESS_INTERVAL == 0) {
+                    progress.accept(PROGRESS_INTERVAL);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        progress.accept(writer.rows() % PROGRESS_INTERVAL);
+        return writer.rows();
+    }
+
+    /**
+     * Generate the report into target; it is written under a temporary name and renamed when
+     * complete, so a file at target is always a whole report
+     */
+    @Async(AsyncConfig.BULK_JOB_EXECUTOR)
+    public void export(BulkJob job, ReportType type, ReportJdbcRepository.ReportFilter filter,
+                       ReportFormat format, Path target) {
+        job.start();
+        log.info("Report job {} started: {} as {}", job.getJobId(), type.getCode(), format.getCode());
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            long rows;
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                rows = write(type, filter, format, out, job::recordSuccess);
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.setTotalItems(rows);
+            job.complete();
+            log.info("Report job {} finished: {} rows, {} bytes", job.getJobId(), rows, Files.size(target));
+        } catch (IOException | RuntimeException e) {
+            log.error("Report job {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException deleteFailure) {
+                log.warn("Could not delete partial report {}", partial, deleteFailure);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.request.GenerateReportRequest;
+import com.bofa.aml.hra.dto.response.BulkJobStatusResponse;
+import com.bofa.aml.hra.dto.response.ReportDefinitionResponse;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.model.ReportFormat;
+import com.bofa.aml.hra.model.ReportType;
+import com.bofa.aml.hra.repository.ReportJdbcRepository;
+import com.bofa.aml.hra.util.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Service layer for generated reports. A report is either streamed into the response as it is
+ * read, or generated by a background job into a file under app.reports.directory that is then
+ * downloaded, with range requests, until it expires after app.reports.retention-hours.
+ */
+@Service
+@Slf4j
+public class ReportService {
+
+    public static final String JOB_TYPE = "report-export";
+
+    private static final Pattern JOB_ID = Pattern.compile("JOB-[0-9a-f-]{36}");
+
+    /**
+     * A report body with the name and content type to send it with
+     */
+    public record ReportContent<T>(String filename, String contentType, T body) {
+    }
+
+    private final ReportExportProcessor exportProcessor;
+    private final BulkJobRegistry bulkJobRegistry;
+    private final Path directory;
+    private final Duration retention;
+
+    public ReportService(ReportExportProcessor exportProcessor,
+                         BulkJobRegistry bulkJobRegistry,
+                         @Value("${app.reports.directory:data/reports}") String directory,
+                         @Value("${app.reports.retention-hours:24}") long retentionHours) throws IOException {
+        this.exportProcessor = exportProcessor;
+        this.bulkJobRegistry = bulkJobRegistry;
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.retention = Duration.ofHours(retentionHours);
+        Files.createDirectories(this.directory);
+    }
+
+    public List<ReportDefinitionResponse> listReports() {
+        List<String> formats = Arrays.stream(ReportFormat.values()).map(ReportFormat::getCode).toList();
+        return Arrays.stream(ReportType.values())
+                .map(type -> ReportDefinitionResponse.builder()
+                        .reportType(type.getCode())
+                        .name(type.getLabel())
+                        .description(type.getDescription())
+                        .dateColumn(type.getColumns().stream()
+                                .filter(column -> column.sqlColumn().equals(type.getDateColumn()))
+                                .map(ReportType.Column::name)
+                                .findFirst()
+                                .orElse(null))
+                        .columns(type.getColumns().stream().map(ReportType.Column::name).toList())
+                        .formats(formats)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * The report as a response body that writes rows while they are read. The request is validated
+     * before the response starts, so a bad filter still gets an error status.
+     */
+    public ReportContent<StreamingResponseBody> stream(GenerateReportRequest request) {
+        ReportType type = ReportType.fromCode(request.getReportType());
+        ReportFormat format = ReportFormat.fromCode(request.getFormat());
+        ReportJdbcRepository.ReportFilter filter = toFilter(type, request);
+        log.info("Streaming {} report as {} with {}", type.getCode(), format.getCode(), filter);
+        StreamingResponseBody body = out -> {
+            long rows = exportProcessor.write(type, filter, format, out, written -> { });
+            log.info("Streamed {} report: {} rows", type.getCode(), rows);
+        };
+        return new ReportContent<>(type.getCode() + "-" + LocalDate.now() + "." + format.getCode(),
+                format.getContentType(), body);
+    }
+
+    /**
+     * Generate the report into a local file as a background job; poll the bulk job status and then
+     * download it with {@link #download}
+     */
+    public BulkJobStatusResponse startExport(GenerateReportRequest request) {
+        ReportType type = ReportType.fromCode(request.getReportType());
+        ReportFormat format = ReportFormat.fromCode(request.getFormat());
+        ReportJdbcRepository.ReportFilter filter = toFilter(type, request);
+        BulkJob job = bulkJobRegistry.create(JOB_TYPE, SecurityUtils.currentUserId(), null);
+        Path target = directory.resolve(job.getJobId() + "." + format.getCode());
+        bulkJobRegistry.submit(job, null, () -> exportProcessor.export(job, type, filter, format, target));
+        return job.toResponse();
+    }
+
+    /**
+     * The file of a finished report job
+     *
+     * @throws ResourceNotFoundException if the job has not finished, failed or its file has expired
+     */
+    public ReportContent<Resource> download(String jobId) {
+        if (JOB_ID.matcher(jobId).matches()) {
+            for (ReportFormat format : ReportFormat.values()) {
+                Path file = directory.resolve(jobId + "." + format.getCode());
+                if (Files.isRegularFile(file)) {
+                    return new ReportContent<>(file.getFileName().toString(), format.getContentType(),
+                            new FileSystemResource(file));
+                }
+            }
+        }
+        throw new ResourceNotFoundException("Report file", jobId);
+    }
+
+    @Scheduled(fixedDelay = 3600000)
+    public void deleteExpiredReports() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                    Files.deleteIfExists(file);
+                    log.debug("Deleted expired report {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired reports in {}", directory, e);
+        }
+    }
+
+    private static ReportJdbcRepository.ReportFilter toFilter(ReportType type, GenerateReportRequest request) {
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getToDate().isBefore(request.getFromDate())) {
+            throw new ValidationException("toDate must not be before fromDate");
+        }
+        String status = request.getStatus();
+        if (status != null && type == ReportType.CASE_DETAIL) {
+            status = Arrays.stream(CaseStatus.values())
+                    .filter(caseStatus -> caseStatus.getCode().equals(request.getStatus()))
+                    .map(CaseStatus::name)
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("Unknown case status: " + request.getStatus()));
+        }
+        return new ReportJdbcRepository.ReportFilter(request.getLob(), status, request.getRiskRating(),
+                request.getFromDate(), request.getToDate());
+    }
+}
@@ -0,0 +1,116 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.model.ReportFormat;
+import com.bofa.aml.hra.model.ReportType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes report rows to an output stream as they are read from the result set, either as CSV with a
+ * header line or as one JSON object per line. Only the current row is held; output is buffered and
+ * reaches the stream in blocks. The stream is flushed but never closed, which is left to its owner.
+ */
+final class ReportWriter {
+
+    private final List<ReportType.Column> columns;
+    private final Writer csv;
+    private final JsonGenerator json;
+    private long rows;
+
+    ReportWriter(ReportFormat format, List<ReportType.Column> columns, OutputStream out, JsonFactory jsonFactory)
+            throws IOException {
+        this.columns = columns;
+        if (format == ReportFormat.CSV) {
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            json = null;
+            for (int i = 0; i < columns.size(); i++) {
+                writeCsvField(i, columns.get(i).name());
+            }
+            csv.write("\r\n");
+        } else {
+            csv = null;
+            json = jsonFactory.createGenerator(out);
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null); // each object ends with its own newline instead
+        }
+    }
+
+    /**
+     * Write the current row of a result set selecting the report's columns in order
+     */
+    void writeRow(ResultSet rs) throws SQLException, IOException {
+        if (csv != null) {
+            for (int i = 0; i < columns.size(); i++) {
+                String value = value(rs, i + 1, columns.get(i).kind());
+                writeCsvField(i, value == null ? "" : value);
+            }
+            csv.write("\r\n");
+        } else {
+            json.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                json.writeStringField(columns.get(i).name(), value(rs, i + 1, columns.get(i).kind()));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    void flush() throws IOException {
+        if (csv != null) {
+            csv.flush();
+        } else {
+            json.flush();
+        }
+    }
+
+    private void writeCsvField(int index, String value) throws IOException {
+        if (index > 0) {
+            csv.write(',');
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private static String value(ResultSet rs, int index, ReportType.Kind kind) throws SQLException {
+        switch (kind) {
+            case DATE -> {
+                LocalDate date = rs.getObject(index, LocalDate.class);
+                return date == null ? null : date.toString();
+            }
+            case TIMESTAMP -> {
+                LocalDateTime timestamp = rs.getObject(index, LocalDateTime.class);
+                return timestamp == null ? null : timestamp.toString();
+            }
+            case CASE_STATUS -> {
+                String status = rs.getString(index);
+                return status == null ? null : CaseStatus.valueOf(status).getCode();
+            }
+            default -> {
+                return rs.getString(index);
+            }
+        }
+    }
+}
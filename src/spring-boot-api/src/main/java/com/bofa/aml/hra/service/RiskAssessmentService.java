@@ -0,0 +1,309 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.request.RiskSummaryRequest;
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.Client;
+import com.bofa.aml.hra.repository.CaseRepository;
+import com.bofa.aml.hra.repository.ClientRepository;
+import com.bofa.aml.hra.util.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for Risk Assessment business logic
+ * Company search and customer details come from the clients table, and CRR risk factors from the
+ * imported refresh snapshots when the client has one; other risk factor, mitigant and CAM/TRMS
+ * details still contain mock data. Lookups that only change when a client
+ * is refreshed go through {@link RiskLookupCache}.
+ */
+@Service
+@Slf4j
+public class RiskAssessmentService {
+
+    private final CompanySearchIndex companySearchIndex;
+    private final ClientRepository clientRepository;
+    private final CaseRepository caseRepository;
+    private final RiskLookupCache riskLookupCache;
+    private final CrrSnapshotStore crrSnapshotStore;
+    private final int maxSearchResults;
+
+    public RiskAssessmentService(CompanySearchIndex companySearchIndex,
+                                 ClientRepository clientRepository,
+                                 CaseRepository caseRepository,
+                                 RiskLookupCache riskLookupCache,
+                                 CrrSnapshotStore crrSnapshotStore,
+                                 @Value("${app.search.max-results:20}") int maxSearchResults) {
+        this.companySearchIndex = companySearchIndex;
+        this.clientRepository = clientRepository;
+        this.caseRepository = caseRepository;
+        this.riskLookupCache = riskLookupCache;
+        this.crrSnapshotStore = crrSnapshotStore;
+        this.maxSearchResults = maxSearchResults;
+    }
+
+    /**
+     * Served from the in-memory index, so type-ahead keystrokes never scan the clients table
+     */
+    public List<CompanySearchResult> searchCompanies(String query, String lob) {
+        log.debug("Searching companies for '{}' in LOB {}", query, lob);
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        return companySearchIndex.search(query, lob, maxSearchResults).stream()
+                .map(match -> CompanySearchResult.builder()
+                        .clientId(match.company().clientId())
+                        .legalName(match.company().legalName())
+                        .clientType(match.company().clientType())
+                        .businessLine(match.company().businessLine() == null
+                                ? null : match.company().businessLine().getLabel())
+                        .lob(match.company().lob())
+                        .jurisdiction(match.company().jurisdiction())
+                        .riskRating(match.company().riskRating())
+                        .matchType(match.matchType())
+                        .score(match.score())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Customer details, CRR risk factors and risk mitigants only change when the client is
+     * refreshed, so they are served from the risk lookup cache and loaded on a miss
+     */
+    public CustomerInfoResponse getCustomerInfo(String clientId) {
+        return riskLookupCache.customerInfo(clientId, this::loadCustomerInfo);
+    }
+
+    public CrrRiskFactorsResponse getCrrRiskFactors(String caseId) {
+        return riskLookupCache.crrRiskFactors(caseId, this::loadCrrRiskFactors);
+    }
+
+    public RiskMitigantsResponse getRiskMitigants(String caseId) {
+        return riskLookupCache.riskMitigants(caseId, this::loadRiskMitigants);
+    }
+
+    /**
+     * Client of a case, which never changes once the case exists
+     */
+    public String getClientId(String caseId) {
+        return riskLookupCache.clientOf(caseId, id -> findCase(id).getClientId());
+    }
+
+    private CustomerInfoResponse loadCustomerInfo(String clientId) {
+        log.debug("Fetching customer information for {}", clientId);
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", clientId));
+
+        return CustomerInfoResponse.builder()
+                .clientId(client.getClientId())
+                .legalName(client.getLegalName())
+                .entityType(client.getClientType())
+                .businessLine(client.getBusinessLine() == null ? null : client.getBusinessLine().getLabel())
+                .primaryFlu(client.getLob())
+                .additionalFlus(List.of("Wealth Management", "Global Markets"))
+                .bookingJurisdictions(client.getJurisdiction() == null
+                        ? List.of() : List.of(client.getJurisdiction()))
+                .isRegulated(true)
+                .regulator("Securities and Exchange Commission (SEC)")
+                .systemOfRecord("AWARE/Cesium")
+                .status(client.getStatus())
+                .mostRecentRefreshDate(client.getRefreshCompletionDate())
+                .mostRecentRiskRating(client.getRiskRating())
+                .previousRefreshDate(client.getRefreshCompletionDate() == null
+                        ? null : client.getRefreshCompletionDate().minusMonths(3))
+                .previousRiskRating("Medium")
+                .craCompletionDate(client.getCraCompletionDate())
+                .camCompletionDate(client.getCamCompletionDate())
+                .build();
+    }
+
+    private CrrRiskFactorsResponse loadCrrRiskFactors(String caseId) {
+        log.debug("Fetching CRR risk factors for case {}", caseId);
+        String clientId = getClientId(caseId);
+        CrrSnapshotStore.ClientHistory history = crrSnapshotStore.history(clientId);
+        if (history != null) {
+            return fromSnapshots(caseId, clientId, history);
+        }
+        Case hraCase = findCase(caseId);
+        String domicile = hraCase.getJurisdiction() != null ? hraCase.getJurisdiction() : "Cayman Islands";
+
+        return CrrRiskFactorsResponse.builder()
+                .caseId(caseId)
+                .clientId(hraCase.getClientId())
+                .mostRecentRefreshDate(LocalDate.of(2024, 6, 1))
+                .previousRefreshDate(LocalDate.of(2024, 3, 1))
+                .currentFactors(List.of(
+                        factor("Customer Attributes", "Business Type", "Investment Management", "medium", "unchanged"),
+                        factor("Customer Attributes", "Client Sophistication", "Institutional", "low", "unchanged"),
+                        factor("Geography", "Client Domicile", domicile, "high", "increased"),
+                        factor("Geography", "Operational Jurisdiction", "United States", "low", "unchanged"),
+                        factor("Industry", "NAICS Code", "523920 - Portfolio Management", "medium", "unchanged"),
+                        factor("Product", "Prime Brokerage", "Active", "high", "unchanged"),
+                        factor("Product", "Securities Lending", "Active", "medium", "increased"),
+                        factor("Bank Intelligence", "GFC Intelligence", "Present", "high", "new"),
+                        factor("SPF/PEP Status", "Politically Exposed Person", "Yes - Foreign", "high", "increased")))
+                .previousFactors(List.of(
+                        factor("Customer Attributes", "Business Type", "Investment Management", "medium", null),
+                        factor("Customer Attributes", "Client Sophistication", "Institutional", "low", null),
+                        factor("Geography", "Client Domicile", "United Kingdom", "medium", null),
+                        factor("Geography", "Operational Jurisdiction", "United States", "low", null),
+                        factor("Industry", "NAICS Code", "523920 - Portfolio Management", "medium", null),
+                        factor("Product", "Prime Brokerage", "Active", "high", null),
+                        factor("Product", "Securities Lending", "Inactive", "low", null),
+                        factor("Bank Intelligence", "GFC Intelligence", "Not Present", "low", null),
+                        factor("SPF/PEP Status", "Politically Exposed Person", "No", "low", null)))
+                .build();
+    }
+
+    public AdditionalRiskFactorsResponse getAdditionalRiskFactors(String caseId) {
+        log.debug("Fetching additional risk factors for case {}", caseId);
+        getClientId(caseId); // only checks that the case exists, from the cache when it can
+
+        return AdditionalRiskFactorsResponse.builder()
+                .caseId(caseId)
+                .cam(AdditionalRiskFactorsResponse.CamInfo.builder()
+                        .hadBreaches(true)
+                        .caseStatus("Resolved - No Action Required")
+                        .trmsFiled(true)
+                        .summaryNarrative("Latest CAM cycle identified increased transaction volumes in "
+                                + "cryptocurrency-related activities. All transactions were within expected "
+                                + "parameters for client profile. No suspicious activity detected.")
+                        .build())
+                .trms(AdditionalRiskFactorsResponse.TrmsInfo.builder()
+                        .hadTrmsReferrals(false)
+                        .referralTypes(List.of())
+                        .build())
+                .clientEscalation(AdditionalRiskFactorsResponse.EscalationInfo.builder()
+                        .hadEscalations(true)
+                        .escalationDescription("Client requested approval for cryptocurrency trading activities "
+                                + "exceeding normal thresholds. Escalated to Client Escalation Committee in Q1 2024. "
+                                + "Approved with enhanced monitoring requirements.")
+                        .build())
+                .attributeChanges(AdditionalRiskFactorsResponse.AttributeChanges.builder()
+                        .ownershipChanges(true)
+                        .addressChanges(true)
+                        .businessChanges(false)
+                        .incomeSourceChanges(false)
+                        .build())
+                .build();
+    }
+
+    private RiskMitigantsResponse loadRiskMitigants(String caseId) {
+        log.debug("Fetching risk mitigants for case {}", caseId);
+        Case hraCase = findCase(caseId);
+        String lob = hraCase.getLob() != null ? hraCase.getLob() : "Investment Banking";
+
+        return RiskMitigantsResponse.builder()
+                .caseId(caseId)
+                .mitigants(List.of(
+                        RiskMitigantsResponse.Mitigant.builder()
+                                .id("MIT-001")
+                                .riskCategory("Geography")
+                                .riskAttribute("Client Domicile")
+                                .craCode("GEO-01")
+                                .attributeDescription("Client domiciled in a high-risk jurisdiction")
+                                .controlProcess("Enhanced Due Diligence")
+                                .lob(lob)
+                                .description("Annual EDD review with source of wealth verification")
+                                .effectiveness("high")
+                                .build(),
+                        RiskMitigantsResponse.Mitigant.builder()
+                                .id("MIT-002")
+                                .riskCategory("SPF/PEP Status")
+                                .riskAttribute("Politically Exposed Person")
+                                .craCode("PEP-02")
+                                .attributeDescription("Foreign politically exposed person")
+                                .controlProcess("PEP Monitoring")
+                                .lob("Wealth Management")
+                                .description("Ongoing PEP screening and senior management approval")
+                                .effectiveness("high")
+                                .build(),
+                        RiskMitigantsResponse.Mitigant.builder()
+                                .id("MIT-003")
+                                .riskCategory("Product")
+                                .riskAttribute("Securities Lending")
+                                .craCode("PRD-04")
+                                .attributeDescription("Active securities lending relationship")
+                                .controlProcess("Transaction Monitoring")
+                                .lob(lob)
+                                .description("Targeted monitoring scenarios for lending activity")
+                                .effectiveness("medium")
+                                .build()))
+                .build();
+    }
+
+    public RiskSummaryResponse submitRiskSummary(RiskSummaryRequest request) {
+        log.debug("Submitting risk summary for case {}", request.getCaseId());
+        findCase(request.getCaseId());
+        if (request.getRecommendation().startsWith("escalate_")
+                && (request.getEscalationReason() == null || request.getEscalationReason().isBlank())) {
+            throw new ValidationException("Escalation reason is required when escalating");
+        }
+        if (request.isFileTrms()
+                && (request.getTrmsTrackingNumber() == null || request.getTrmsTrackingNumber().isBlank())) {
+            throw new ValidationException("TRMS tracking number is required when filing TRMS");
+        }
+
+        return RiskSummaryResponse.builder()
+                .caseId(request.getCaseId())
+                .recommendation(request.getRecommendation())
+                .escalationReason(request.getEscalationReason())
+                .trmsTrackingNumber(request.isFileTrms() ? request.getTrmsTrackingNumber() : null)
+                .submittedBy(SecurityUtils.currentUserId())
+                .submittedAt(LocalDateTime.now())
+                .message("Risk summary submitted")
+                .build();
+    }
+
+    private Case findCase(String caseId) {
+        return caseRepository.findById(caseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Case", caseId));
+    }
+
+    /**
+     * The latest refresh against the one before it, each current factor labelled with its change
+     */
+    private static CrrRiskFactorsResponse fromSnapshots(String caseId, String clientId,
+                                                        CrrSnapshotStore.ClientHistory history) {
+        Map<String, String> changes = history.changes().stream()
+                .collect(Collectors.toMap(change -> change.category() + '\u0000' + change.factor(),
+                        CrrSnapshotStore.FactorChange::change, (first, second) -> first));
+        boolean firstRefresh = history.previousDate() == null;
+        return CrrRiskFactorsResponse.builder()
+                .caseId(caseId)
+                .clientId(clientId)
+                .mostRecentRefreshDate(history.currentDate())
+                .previousRefreshDate(history.previousDate())
+                .currentFactors(history.current().stream()
+                        .map(current -> factor(current.category(), current.factor(), current.value(),
+                                current.impact(), firstRefresh ? null
+                                        : changes.getOrDefault(current.category() + '\u0000' + current.factor(),
+                                        "unchanged")))
+                        .toList())
+                .previousFactors(firstRefresh ? List.of() : history.previous().stream()
+                        .map(previous -> factor(previous.category(), previous.factor(), previous.value(),
+                                previous.impact(), null))
+                        .toList())
+                .build();
+    }
+
+    private static CrrRiskFactorsResponse.RiskFactor factor(String category, String factor, String value,
+                                                            String impact, String change) {
+        return CrrRiskFactorsResponse.RiskFactor.builder()
+                .category(category)
+                .factor(factor)
+                .value(value)
+                .impact(impact)
+                .change(change)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.response.CrrRiskFactorsResponse;
+import com.bofa.aml.hra.dto.response.CustomerInfoResponse;
+import com.bofa.aml.hra.dto.response.RiskMitigantsResponse;
+import com.bofa.aml.hra.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for the risk assessment lookups that only change when a client is refreshed:
+ * customer details by client, and CRR risk factors and risk mitigants by case. It also remembers
+ * which client each case belongs to, which never changes, so reopening a case reads nothing from
+ * the database.
+ * <p>
+ * Each cache is bounded by entry count and by a TTL, which also bounds how long a change made
+ * outside the application can go unseen. Changes the application knows about invalidate only the
+ * entries they affect: a client update drops the client and every cached case of that client, a
+ * LOB reassignment drops the reassigned cases, and a new CRR snapshot drops the CRR factors.
+ * Cached responses are shared between requests and must not be modified. Hits, misses and
+ * evictions are published per cache as cache.* meters.
+ */
+@Component
+@Slf4j
+public class RiskLookupCache {
+
+    private final Cache<String, CustomerInfoResponse> customerInfo;
+    private final Cache<String, CrrRiskFactorsResponse> crrRiskFactors;
+    private final Cache<String, RiskMitigantsResponse> riskMitigants;
+    private final Cache<String, String> caseClients;
+
+    public RiskLookupCache(MeterRegistry meterRegistry,
+                           @Value("${app.risk-cache.max-entries:10000}") long maxEntries,
+                           @Value("${app.risk-cache.ttl-minutes:60}") long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        this.customerInfo = CaffeineCacheMetrics.monitor(meterRegistry, build(maxEntries, ttl), "risk.customer-info");
+        this.crrRiskFactors = CaffeineCacheMetrics.monitor(meterRegistry, build(maxEntries, ttl), "risk.crr-factors");
+        this.riskMitigants = CaffeineCacheMetrics.monitor(meterRegistry, build(maxEntries, ttl), "risk.mitigants");
+        this.caseClients = CaffeineCacheMetrics.monitor(meterRegistry, build(maxEntries, ttl), "risk.case-clients");
+    }
+
+    private static <V> Cache<String, V> build(long maxEntries, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached value or the loader's, which runs once per key however many requests miss at the same
+     * time; an exception from the loader is thrown to the caller and nothing is cached
+     */
+    public CustomerInfoResponse customerInfo(String clientId, Function<String, CustomerInfoResponse> loader) {
+        return customerInfo.get(clientId, loader);
+    }
+
+    public CrrRiskFactorsResponse crrRiskFactors(String caseId, Function<String, CrrRiskFactorsResponse> loader) {
+        return crrRiskFactors.get(caseId, loader);
+    }
+
+    public RiskMitigantsResponse riskMitigants(String caseId, Function<String, RiskMitigantsResponse> loader) {
+        return riskMitigants.get(caseId, loader);
+    }
+
+    public String clientOf(String caseId, Function<String, String> loader) {
+        return caseClients.get(caseId, loader);
+    }
+
+    /**
+     * Drop everything cached for a client, e.g. when its refresh completes. Inside a transaction
+     * this happens once it commits, so a concurrent miss cannot cache the old values again.
+     */
+    public void invalidateClient(String clientId) {
+        AfterCommit.run(() -> evictClient(clientId));
+    }
+
+    /**
+     * Drop the case-keyed lookups of cases whose attributes changed; their client does not change
+     */
+    public void invalidateCases(Collection<String> caseIds) {
+        AfterCommit.run(() -> {
+            crrRiskFactors.invalidateAll(caseIds);
+            riskMitigants.invalidateAll(caseIds);
+        });
+    }
+
+    /**
+     * Drop every cached CRR factor comparison, when a new refresh snapshot is published
+     */
+    public void invalidateCrrFactors() {
+        AfterCommit.run(crrRiskFactors::invalidateAll);
+    }
+
+    private void evictClient(String clientId) {
+        customerInfo.invalidate(clientId);
+        Set<String> caseIds = caseClients.asMap().entrySet().stream()
+                .filter(entry -> clientId.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(HashSet::new));
+        crrRiskFactors.asMap().values().stream()
+                .filter(factors -> clientId.equals(factors.getClientId()))
+                .forEach(factors -> caseIds.add(factors.getCaseId()));
+        crrRiskFactors.invalidateAll(caseIds);
+        riskMitigants.invalidateAll(caseIds);
+        log.debug("Invalidated risk lookups for client {} and {} of its cases", clientId, caseIds.size());
+    }
+}
@@ -0,0 +1,24 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.Client;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the cached risk lookups of a client whenever it is updated through JPA, for example
+ * when its refresh completes. New clients have nothing cached yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskLookupCacheListener {
+
+    private final RiskLookupCache riskLookupCache;
+
+    @PostUpdate
+    @PostRemove
+    public void clientChanged(Client client) {
+        riskLookupCache.invalidateClient(client.getClientId());
+    }
+}
@@ -0,0 +1,205 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.repository.StageExitRepository;
+import com.bofa.aml.hra.util.AfterCommit;
+import com.bofa.aml.hra.util.QuantileSketch;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turnaround-time distributions per workflow stage and LOB behind the dashboard turnaround metrics.
+ * <p>
+ * When a case leaves a stage its time in that stage, in minutes, is recorded after the transaction
+ * commits into a {@link QuantileSketch} for (stage, LOB, day). A window is answered by merging the
+ * day sketches inside it, so percentiles cost a fixed amount of work per day and series however many
+ * cases there were, and no case rows are read. Days older than the retention are dropped.
+ * <p>
+ * Each exit is also written to stage_exits in the transaction of the workflow change. The sketches
+ * are rebuilt from that table at startup, and the closed days again after midnight, so a restarted
+ * node does not start empty and every node's closed days include the exits recorded by the others,
+ * returns and earlier round trips included. Cases whose workflow changes predate the table are
+ * rebuilt from their dates instead; a case row only keeps its latest escalation, return and
+ * completion, so those contribute the analyst exit at escalation and the destination exit at completion.
+ */
+@Component
+@Slf4j
+public class TurnaroundSketchStore {
+
+    /**
+     * 1% relative error on values up to a year in minutes, about 670 buckets per sketch
+     */
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final long MAX_MINUTES = Duration.ofDays(366).toMinutes();
+    private static final String UNKNOWN_LOB = "Unknown";
+
+    /**
+     * Workflow stage a case can leave: the analyst review, or the review by its escalation destination
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Stage {
+        ANALYST("HRA Analyst", 3.0),
+        MANAGER("HRA Manager", 2.0),
+        FLU("FLU AML", 5.0),
+        GFC("GFC", 4.0);
+
+        private final String role;
+        private final double targetDays;
+
+        public static Stage of(EscalationDestination destination) {
+            return switch (destination) {
+                case MANAGER -> MANAGER;
+                case FLU -> FLU;
+                case GFC -> GFC;
+            };
+        }
+    }
+
+    private record SeriesKey(Stage stage, String lob) {
+    }
+
+    private final DashboardVersion dashboardVersion;
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final StageExitRepository stageExitRepository;
+    private final int retentionDays;
+    private final Map<LocalDate, Map<SeriesKey, QuantileSketch>> days = new ConcurrentHashMap<>();
+
+    public TurnaroundSketchStore(DashboardVersion dashboardVersion,
+                                 CaseJdbcRepository caseJdbcRepository,
+                                 StageExitRepository stageExitRepository,
+                                 @Value("${app.turnaround.retention-days:90}") int retentionDays) {
+        this.dashboardVersion = dashboardVersion;
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.stageExitRepository = stageExitRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    /**
+     * Record the time a case spent in a stage: the exit row is written in the surrounding
+     * transaction, and the sketch updated once it commits, or immediately when called outside a
+     * transaction. Ignored when the stage start is unknown.
+     */
+    public void recordStage(String caseId, Stage stage, String lob, LocalDateTime enteredAt, LocalDateTime leftAt) {
+        if (enteredAt == null || leftAt == null) {
+            return;
+        }
+        long minutes = minutes(enteredAt, leftAt);
+        stageExitRepository.insert(caseId, stage.name(), lob, leftAt, minutes);
+        AfterCommit.run(() -> {
+            record(days, stage, lob, leftAt, minutes);
+            dashboardVersion.bump();
+        });
+    }
+
+    /**
+     * Merged distribution per stage of stage exits over the last windowDays days including today,
+     * optionally for one LOB. Stages with no exits in the window are absent.
+     */
+    public Map<Stage, QuantileSketch> window(int windowDays, String lob) {
+        Map<Stage, QuantileSketch> merged = new EnumMap<>(Stage.class);
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(windowDays - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            Map<SeriesKey, QuantileSketch> series = days.get(day);
+            if (series == null) {
+                continue;
+            }
+            series.forEach((key, sketch) -> {
+                if (lob == null || lob.equalsIgnoreCase(key.lob())) {
+                    merged.computeIfAbsent(key.stage(), s -> sketch.emptyCopy()).merge(sketch);
+                }
+            });
+        }
+        return merged;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        int rebuilt = rebuild(LocalDate.now().plusDays(1));
+        log.info("Turnaround sketches rebuilt for {} days", rebuilt);
+    }
+
+    /**
+     * Drop the days older than the retention, with their exit rows, and replace the closed days with
+     * the ones rebuilt from the stage exits. Today's sketch is not replaced, since a scan would race
+     * its live exits.
+     */
+    @Scheduled(cron = "${app.turnaround.eviction-cron:0 15 0 * * *}")
+    public void evictExpired() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        days.keySet().removeIf(day -> day.isBefore(cutoff));
+        int deleted = stageExitRepository.deleteBefore(cutoff.atStartOfDay());
+        log.debug("Deleted {} stage exits older than {}", deleted, cutoff);
+        int rebuilt = rebuild(LocalDate.now());
+        log.debug("Turnaround sketches rebuilt for {} closed days", rebuilt);
+    }
+
+    /**
+     * Replace the retained days before until with sketches of the recorded stage exits, plus the
+     * exits recoverable from the dates of cases that have none recorded
+     *
+     * @return the number of days with exits
+     */
+    private int rebuild(LocalDate until) {
+        LocalDate from = LocalDate.now().minusDays(retentionDays);
+        Map<LocalDate, Map<SeriesKey, QuantileSketch>> rebuilt = new HashMap<>();
+        stageExitRepository.scanBetween(from.atStartOfDay(), until.atStartOfDay(), row ->
+                record(rebuilt, Stage.valueOf(row.stage()), row.lob(), row.leftAt(), row.minutes()));
+        caseJdbcRepository.scanStageDates(from.atStartOfDay(), row -> {
+            LocalDateTime escalated = row.escalatedDate();
+            if (escalated != null) {
+                // The analyst stage restarted at a return that came before the escalation
+                boolean returnedBefore = row.returnedDate() != null && row.returnedDate().isBefore(escalated);
+                recordDates(rebuilt, Stage.ANALYST, row.lob(),
+                        returnedBefore ? row.returnedDate() : row.assignedDate(), escalated);
+            }
+            if (row.escalatedTo() != null && row.completedDate() != null) {
+                recordDates(rebuilt, Stage.of(EscalationDestination.fromCode(row.escalatedTo())), row.lob(),
+                        escalated, row.completedDate());
+            }
+        });
+        rebuilt.keySet().removeIf(day -> day.isBefore(from) || !day.isBefore(until));
+        days.keySet().removeIf(day -> day.isBefore(until) && !rebuilt.containsKey(day));
+        days.putAll(rebuilt);
+        dashboardVersion.bump();
+        return rebuilt.size();
+    }
+
+    private static void recordDates(Map<LocalDate, Map<SeriesKey, QuantileSketch>> days, Stage stage, String lob,
+                                    LocalDateTime enteredAt, LocalDateTime leftAt) {
+        if (enteredAt != null) {
+            record(days, stage, lob, leftAt, minutes(enteredAt, leftAt));
+        }
+    }
+
+    private static long minutes(LocalDateTime enteredAt, LocalDateTime leftAt) {
+        return Math.max(Duration.between(enteredAt, leftAt).toMinutes(), 0);
+    }
+
+    private static void record(Map<LocalDate, Map<SeriesKey, QuantileSketch>> days, Stage stage, String lob,
+                               LocalDateTime leftAt, long minutes) {
+        days.computeIfAbsent(leftAt.toLocalDate(), d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(new SeriesKey(stage, lob == null ? UNKNOWN_LOB : lob),
+                        k -> new QuantileSketch(RELATIVE_ACCURACY, MAX_MINUTES))
+                .record(minutes);
+    }
+}
@@ -0,0 +1,431 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.dto.request.*;
+import com.bofa.aml.hra.dto.response.*;
+import com.bofa.aml.hra.exception.ResourceNotFoundException;
+import com.bofa.aml.hra.exception.ValidationException;
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.model.EscalationDestination;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.repository.CaseRepository;
+import com.bofa.aml.hra.util.OffsetPageRequest;
+import com.bofa.aml.hra.util.PageCursor;
+import com.bofa.aml.hra.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Service layer for Workflow business logic
+ * Handles workbasket listings, case assignment, escalation, return, bulk reassignment and disposition.
+ * Escalations, returns and dispositions are written to the audit journal as their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowService {
+
+    private static final Sort FIFO_ORDER = Sort.by("createdDate", "caseId");
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_AUDIT_RECORDS = 1000;
+
+    private static final Map<String, Set<CaseStatus>> WORKBASKET_FILTERS = Map.of(
+            "active", EnumSet.of(CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, CaseStatus.MANUAL_REVIEW),
+            "escalations", EnumSet.of(CaseStatus.ESCALATED),
+            "completed", EnumSet.of(CaseStatus.COMPLETED),
+            "returned", EnumSet.of(CaseStatus.RETURNED)
+    );
+
+    private final CaseRepository caseRepository;
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final CaseAggregateStore caseAggregates;
+    private final CaseCapacityTracker capacityTracker;
+    private final QuickActionCounterIndex quickActionCounters;
+    private final CaseAssignmentEngine assignmentEngine;
+    private final BulkJobRegistry bulkJobRegistry;
+    private final BulkReassignmentProcessor bulkReassignmentProcessor;
+    private final ActivityFeed activityFeed;
+    private final EscalationRollupStore escalationRollups;
+    private final TurnaroundSketchStore turnaroundSketches;
+    private final AuditJournal auditJournal;
+    private final CaseStateMachine caseStateMachine;
+
+    /**
+     * Lists the caller's cases. A non-null cursor selects keyset paging, which stays flat
+     * however deep the page; offset paging is kept for existing clients.
+     */
+    @Transactional(readOnly = true)
+    public WorkbasketResponse getMyWorkbasket(String filter, int limit, int offset, String cursor) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Fetching workbasket for {} with filter: {}", userId, filter);
+
+        validateLimit(limit);
+        Set<CaseStatus> statuses = WORKBASKET_FILTERS.get(filter.toLowerCase());
+        if (cursor != null) {
+            ScrollPosition position = PageCursor.decode(cursor);
+            Window<Case> window = statuses == null
+                    ? caseRepository.findByAssignedAnalyst(userId, position, Limit.of(limit), FIFO_ORDER)
+                    : caseRepository.findByAssignedAnalystAndStatusIn(userId, statuses, position, Limit.of(limit), FIFO_ORDER);
+
+            return WorkbasketResponse.builder()
+                    .data(window.map(this::toSummary).getContent())
+                    .limit(limit)
+                    .next(window.hasNext() ? nextCursor(window.getContent()) : null)
+                    .build();
+        }
+
+        Pageable pageable = toPageable(limit, offset);
+        Page<Case> page = statuses == null
+                ? caseRepository.findByAssignedAnalyst(userId, pageable)
+                : caseRepository.findByAssignedAnalystAndStatusIn(userId, statuses, pageable);
+
+        return WorkbasketResponse.builder()
+                .data(page.map(this::toSummary).getContent())
+                .totalRecords(page.getTotalElements())
+                .limit(limit)
+                .offset(offset)
+                .next(hasMore(page, offset) ? nextCursor(page.getContent()) : null)
+                .build();
+    }
+
+    /**
+     * Lists unassigned cases, using keyset paging when a cursor is supplied.
+     * In cursor mode the total comes from the assignment queues rather than a COUNT query.
+     */
+    @Transactional(readOnly = true)
+    public WorkQueueResponse getWorkQueue(String lob, int limit, int offset, String cursor) {
+        log.debug("Fetching work queue for LOB: {}", lob);
+
+        validateLimit(limit);
+        if (cursor != null) {
+            ScrollPosition position = PageCursor.decode(cursor);
+            Window<Case> window = lob == null
+                    ? caseRepository.findByStatus(CaseStatus.UNASSIGNED, position, Limit.of(limit), FIFO_ORDER)
+                    : caseRepository.findByStatusAndLob(CaseStatus.UNASSIGNED, lob, position, Limit.of(limit), FIFO_ORDER);
+
+            return WorkQueueResponse.builder()
+                    .lob(lob)
+                    .data(window.map(this::toSummary).getContent())
+                    .totalRecords(lob == null
+                            ? caseAggregates.count(CaseStatus.UNASSIGNED)
+                            : (long) assignmentEngine.queueDepth(lob))
+                    .limit(limit)
+                    .next(window.hasNext() ? nextCursor(window.getContent()) : null)
+                    .build();
+        }
+
+        Pageable pageable = toPageable(limit, offset);
+        Page<Case> page = lob == null
+                ? caseRepository.findByStatus(CaseStatus.UNASSIGNED, pageable)
+                : caseRepository.findByStatusAndLob(CaseStatus.UNASSIGNED, lob, pageable);
+
+        return WorkQueueResponse.builder()
+                .lob(lob)
+                .data(page.map(this::toSummary).getContent())
+                .totalRecords(page.getTotalElements())
+                .limit(limit)
+                .offset(offset)
+                .next(hasMore(page, offset) ? nextCursor(page.getContent()) : null)
+                .build();
+    }
+
+    /**
+     * Claims the oldest unassigned case through the in-memory assignment engine.
+     * The claim is a lease until the analyst opens the case.
+     */
+    public CaseAssignmentResponse getNextCase(String lob) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Assigning next case to {} from LOB: {}", userId, lob);
+
+        CaseAssignmentEngine.Lease lease = assignmentEngine.claimNext(lob, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("No unassigned cases available in the work queue"));
+        Case nextCase = findCase(lease.caseId());
+        activityFeed.publish("assigned", String.format("Case %s assigned to %s", nextCase.getCaseId(), userId),
+                nextCase.getCaseId(), userId, null);
+
+        return CaseAssignmentResponse.builder()
+                .caseId(nextCase.getCaseId())
+                .clientId(nextCase.getClientId())
+                .clientName(nextCase.getClientName())
+                .lob(nextCase.getLob())
+                .priority(nextCase.getPriority())
+                .status(nextCase.getStatus().getCode())
+                .assignedTo(userId)
+                .assignedAt(nextCase.getAssignedDate())
+                .leaseExpiresAt(lease.expiresAt())
+                .build();
+    }
+
+    /**
+     * Opens a case claimed through get-next-case, turning the lease into a permanent assignment
+     */
+    public CaseAssignmentResponse openCase(String caseId) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Opening case {} for {}", caseId, userId);
+
+        boolean opened = caseJdbcRepository.openLeased(caseId, userId) == 1;
+        Case hraCase = findCase(caseId);
+        if (opened) {
+            assignmentEngine.confirm(caseId, userId);
+            caseAggregates.recordTransition(CaseStatus.ASSIGNED, CaseStatus.IN_PROGRESS, hraCase.isHighRisk());
+            quickActionCounters.recordTransition(
+                    new QuickActionCounterIndex.CaseFacts(userId, CaseStatus.ASSIGNED, null, hraCase.getPriority()),
+                    QuickActionCounterIndex.CaseFacts.of(hraCase));
+        } else if (hraCase.getStatus() != CaseStatus.IN_PROGRESS || !userId.equals(hraCase.getAssignedAnalyst())) {
+            // Opening a case the analyst already has in progress is a no-op
+            throw new ValidationException(String.format(
+                    "Case %s is not assigned to %s or its lease has expired", caseId, userId));
+        }
+
+        return CaseAssignmentResponse.builder()
+                .caseId(hraCase.getCaseId())
+                .clientId(hraCase.getClientId())
+                .clientName(hraCase.getClientName())
+                .lob(hraCase.getLob())
+                .priority(hraCase.getPriority())
+                .status(hraCase.getStatus().getCode())
+                .assignedTo(userId)
+                .assignedAt(hraCase.getAssignedDate())
+                .build();
+    }
+
+    /**
+     * Escalates a case. Like return and disposition, the change goes through the case state machine
+     * as a compare-and-set on the case version, so it fails with a conflict instead of overwriting a
+     * concurrent change to the same case.
+     */
+    public EscalationResponse escalateCase(EscalateRequest request) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Escalating case {} to {}", request.getCaseId(), request.getEscalateTo());
+
+        Case hraCase = findCase(request.getCaseId());
+        CaseStatus previous = hraCase.getStatus();
+        QuickActionCounterIndex.CaseFacts before = QuickActionCounterIndex.CaseFacts.of(hraCase);
+        LocalDateTime now = LocalDateTime.now();
+        EscalationDestination destination = EscalationDestination.fromCode(request.getEscalateTo());
+        caseStateMachine.apply(hraCase, CaseStateMachine.Action.ESCALATE, request.getVersion(), updated -> {
+            updated.setEscalatedTo(request.getEscalateTo());
+            updated.setEscalatedDate(now);
+        }, () -> {
+            caseAggregates.recordTransition(previous, CaseStatus.ESCALATED, hraCase.isHighRisk());
+            capacityTracker.recordTransition(hraCase.getAssignedAnalyst(), hraCase.getLob(), previous,
+                    hraCase.getAssignedAnalyst(), hraCase.getLob(), CaseStatus.ESCALATED);
+            quickActionCounters.recordTransition(before, QuickActionCounterIndex.CaseFacts.of(hraCase));
+            // A returned case's analyst stage restarts when it comes back
+            turnaroundSketches.recordStage(hraCase.getCaseId(), TurnaroundSketchStore.Stage.ANALYST, hraCase.getLob(),
+                    hraCase.getReturnedDate() != null ? hraCase.getReturnedDate() : hraCase.getAssignedDate(), now);
+            escalationRollups.recordEscalation(destination, now.toLocalDate());
+            activityFeed.publish("escalated", String.format("Case %s escalated to %s",
+                            hraCase.getCaseId(), destination.getLabel()),
+                    hraCase.getCaseId(), userId, Map.of("escalatedTo", request.getEscalateTo()));
+            Map<String, String> audit = new LinkedHashMap<>();
+            audit.put("from", previous.getCode());
+            audit.put("escalatedTo", request.getEscalateTo());
+            audit.put("reason", request.getReason());
+            auditJournal.record("escalated", hraCase.getCaseId(), userId, audit);
+        });
+
+        return EscalationResponse.builder()
+                .caseId(hraCase.getCaseId())
+                .escalatedTo(request.getEscalateTo())
+                .escalatedBy(userId)
+                .status(hraCase.getStatus().getCode())
+                .escalatedAt(now)
+                .version(hraCase.getVersion())
+                .build();
+    }
+
+    public ReturnCaseResponse returnCase(ReturnCaseRequest request) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Returning case {} to analyst", request.getCaseId());
+
+        Case hraCase = findCase(request.getCaseId());
+        CaseStatus previous = hraCase.getStatus();
+        QuickActionCounterIndex.CaseFacts before = QuickActionCounterIndex.CaseFacts.of(hraCase);
+        LocalDateTime now = LocalDateTime.now();
+        String escalatedTo = hraCase.getEscalatedTo();
+        caseStateMachine.apply(hraCase, CaseStateMachine.Action.RETURN, request.getVersion(), updated -> {
+            updated.setReturnReason(request.getReason());
+            updated.setEscalatedTo(null);
+            updated.setReturnedDate(now);
+        }, () -> {
+            recordEscalatedStage(escalatedTo, hraCase, now);
+            caseAggregates.recordTransition(previous, CaseStatus.RETURNED, hraCase.isHighRisk());
+            capacityTracker.recordTransition(hraCase.getAssignedAnalyst(), hraCase.getLob(), previous,
+                    hraCase.getAssignedAnalyst(), hraCase.getLob(), CaseStatus.RETURNED);
+            quickActionCounters.recordTransition(before, QuickActionCounterIndex.CaseFacts.of(hraCase));
+            activityFeed.publish("returned", String.format("Case %s returned for corrections", hraCase.getCaseId()),
+                    hraCase.getCaseId(), userId, null);
+            Map<String, String> audit = new LinkedHashMap<>();
+            audit.put("returnedTo", hraCase.getAssignedAnalyst());
+            audit.put("reason", request.getReason());
+            auditJournal.record("returned", hraCase.getCaseId(), userId, audit);
+        });
+
+        return ReturnCaseResponse.builder()
+                .caseId(hraCase.getCaseId())
+                .returnedTo(hraCase.getAssignedAnalyst())
+                .returnedBy(userId)
+                .reason(request.getReason())
+                .status(hraCase.getStatus().getCode())
+                .returnedAt(now)
+                .version(hraCase.getVersion())
+                .build();
+    }
+
+    /**
+     * Starts a background bulk reassignment job and returns its ID immediately.
+     * Progress and per-case failures are available from the bulk job status endpoint.
+     */
+    public BulkReassignmentResponse bulkReassign(BulkReassignRequest request) {
+        log.debug("Bulk reassigning {} cases", request.getCaseIds().size());
+
+        if (request.getTargetAnalyst() == null && request.getTargetLob() == null) {
+            throw new ValidationException("Either a target analyst or a target LOB is required");
+        }
+
+        BulkJob job = bulkJobRegistry.create("bulk-reassign", SecurityUtils.currentUserId(),
+                request.getCaseIds().stream().distinct().count());
+        bulkJobRegistry.submit(job, null, () -> bulkReassignmentProcessor.process(job, request));
+
+        return BulkReassignmentResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus())
+                .totalRequested(request.getCaseIds().size())
+                .targetAnalyst(request.getTargetAnalyst())
+                .targetLob(request.getTargetLob())
+                .build();
+    }
+
+    public DispositionResponse submitDisposition(DispositionRequest request) {
+        String userId = SecurityUtils.currentUserId();
+        log.debug("Submitting disposition {} for case {}", request.getDisposition(), request.getCaseId());
+
+        Case hraCase = findCase(request.getCaseId());
+        CaseStatus previous = hraCase.getStatus();
+        QuickActionCounterIndex.CaseFacts before = QuickActionCounterIndex.CaseFacts.of(hraCase);
+        caseStateMachine.apply(hraCase, CaseStateMachine.Action.DISPOSE, request.getVersion(), updated -> {
+            updated.setDisposition(request.getDisposition());
+            updated.setCompletedDate(LocalDateTime.now());
+        }, () -> {
+            caseAggregates.recordTransition(previous, CaseStatus.COMPLETED, hraCase.isHighRisk());
+            recordEscalatedStage(hraCase.getEscalatedTo(), hraCase, hraCase.getCompletedDate());
+            quickActionCounters.recordTransition(before, QuickActionCounterIndex.CaseFacts.of(hraCase));
+            activityFeed.publish("completed", String.format("Case %s completed with disposition %s",
+                            hraCase.getCaseId(), request.getDisposition()),
+                    hraCase.getCaseId(), userId, Map.of("disposition", request.getDisposition()));
+            Map<String, String> audit = new LinkedHashMap<>();
+            audit.put("disposition", request.getDisposition());
+            audit.put("comments", request.getComments());
+            auditJournal.record("completed", hraCase.getCaseId(), userId, audit);
+        });
+
+        return DispositionResponse.builder()
+                .caseId(hraCase.getCaseId())
+                .disposition(request.getDisposition())
+                .status(hraCase.getStatus().getCode())
+                .completedBy(userId)
+                .completedAt(hraCase.getCompletedDate())
+                .version(hraCase.getVersion())
+                .build();
+    }
+
+    /**
+     * Audit records oldest first, for one case or all cases, optionally limited to a time range
+     */
+    public AuditTrailResponse getAuditTrail(String caseId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit <= 0 || limit > MAX_AUDIT_RECORDS) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_AUDIT_RECORDS);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("from must be before to");
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        Instant fromInstant = from == null ? null : from.atZone(zone).toInstant();
+        Instant toInstant = to == null ? null : to.atZone(zone).toInstant();
+
+        List<AuditTrailResponse.AuditRecord> records = auditJournal.query(caseId, fromInstant, toInstant, limit).stream()
+                .map(entry -> AuditTrailResponse.AuditRecord.builder()
+                        .sequence(entry.sequence())
+                        .action(entry.action())
+                        .caseId(entry.caseId())
+                        .userId(entry.userId())
+                        .recordedAt(LocalDateTime.ofInstant(entry.recordedAt(), zone))
+                        .details(entry.details())
+                        .build())
+                .toList();
+        return AuditTrailResponse.builder()
+                .caseId(caseId)
+                .data(records)
+                .build();
+    }
+
+    private void recordEscalatedStage(String escalatedTo, Case hraCase, LocalDateTime leftAt) {
+        if (escalatedTo != null) {
+            turnaroundSketches.recordStage(hraCase.getCaseId(),
+                    TurnaroundSketchStore.Stage.of(EscalationDestination.fromCode(escalatedTo)),
+                    hraCase.getLob(), hraCase.getEscalatedDate(), leftAt);
+        }
+    }
+
+    private Case findCase(String caseId) {
+        return caseRepository.findById(caseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Case", caseId));
+    }
+
+    private void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private Pageable toPageable(int limit, int offset) {
+        if (offset < 0) {
+            throw new ValidationException("Offset must not be negative");
+        }
+        return new OffsetPageRequest(offset, limit, FIFO_ORDER);
+    }
+
+    /**
+     * Page.hasNext counts whole pages, which is wrong when the offset is not a multiple of the limit
+     */
+    private static boolean hasMore(Page<Case> page, int offset) {
+        return page.hasContent() && offset + page.getNumberOfElements() < page.getTotalElements();
+    }
+
+    private static String nextCursor(List<Case> content) {
+        Case last = content.get(content.size() - 1);
+        return PageCursor.encode(last.getCreatedDate(), last.getCaseId());
+    }
+
+    private CaseSummary toSummary(Case hraCase) {
+        return CaseSummary.builder()
+                .caseId(hraCase.getCaseId())
+                .clientId(hraCase.getClientId())
+                .clientName(hraCase.getClientName())
+                .clientType(hraCase.getClientType())
+                .status(hraCase.getStatus().getCode())
+                .priority(hraCase.getPriority())
+                .assignedAnalyst(hraCase.getAssignedAnalyst())
+                .createdDate(hraCase.getCreatedDate())
+                .dueDate(hraCase.getDueDate())
+                .riskRating(hraCase.getRiskRating())
+                .jurisdiction(hraCase.getJurisdiction())
+                .lob(hraCase.getLob())
+                .daysInQueue(ChronoUnit.DAYS.between(hraCase.getCreatedDate(), LocalDateTime.now()))
+                .returnReason(hraCase.getReturnReason())
+                .completedDate(hraCase.getCompletedDate())
+                .escalationPending(hraCase.getStatus() == CaseStatus.ESCALATED)
+                .version(hraCase.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.exception.CaseConflictException;
+import com.bofa.aml.hra.exception.TransitionPendingException;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Persists escalations, returns and dispositions as conditional updates on the cases table.
+ * <p>
+ * By default each transition is its own short transaction on the caller's thread. With write-behind
+ * enabled, transitions arriving within a few milliseconds of each other are applied by one writer
+ * thread as a single JDBC batch and a single commit, while each caller still waits for the outcome
+ * of its own transition. A transition whose case changed since it was read loses its version
+ * compare-and-set and fails with {@link CaseConflictException} on its own while the rest of the
+ * batch commits; if the batch as a whole fails, its transitions are retried one by one so every
+ * caller gets its own result. A caller that waits longer than the timeout gets a
+ * {@link TransitionPendingException}: its transition is withdrawn if the writer has not taken it
+ * yet, or else left to the writer, with the case and version to reconcile against.
+ * <p>
+ * The caller's bookkeeping runs inside the transaction that applies its transition, so in-memory
+ * stores, the activity feed and the audit journal are updated when that transaction commits. That
+ * transaction never joins the request's open-in-view persistence context, so committing it flushes
+ * nothing the request happened to load.
+ */
+@Component
+@Slf4j
+public class WorkflowTransitionWriter {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private record Pending(CaseJdbcRepository.Transition transition, Runnable onApplied,
+                           CompletableFuture<Void> done) {
+    }
+
+    private final CaseJdbcRepository caseJdbcRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean writeBehind;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long timeoutMs;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public WorkflowTransitionWriter(CaseJdbcRepository caseJdbcRepository,
+                                    EntityManagerFactory entityManagerFactory,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.workflow.write-behind.enabled:false}") boolean writeBehind,
+                                    @Value("${app.workflow.write-behind.window-ms:5}") long windowMs,
+                                    @Value("${app.workflow.write-behind.max-batch:200}") int maxBatch,
+                                    @Value("${app.workflow.write-behind.queue-capacity:5000}") int queueCapacity,
+                                    @Value("${app.workflow.write-behind.timeout-ms:5000}") long timeoutMs) {
+        this.caseJdbcRepository = caseJdbcRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeBehind = writeBehind;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = maxBatch;
+        this.timeoutMs = timeoutMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("hra.workflow.transitions.batch")
+                .description("Workflow transitions applied per commit")
+                .register(meterRegistry);
+        if (writeBehind) {
+            this.writer = new Thread(this::writeLoop, "workflow-write-behind");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Apply the transition and run onApplied in the same transaction, returning once it has
+     * committed. Throws CaseConflictException if the case is no longer at the expected version.
+     */
+    public void apply(CaseJdbcRepository.Transition transition, Runnable onApplied) {
+        if (!writeBehind) {
+            applyOne(transition, onApplied);
+            return;
+        }
+        Pending pending = new Pending(transition, onApplied, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pending, timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw pending(transition, true);
+            }
+            pending.done().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for case " + transition.caseId(), e);
+        } catch (TimeoutException e) {
+            // Still queued: withdrawn, so it is never applied. Otherwise the writer has taken it and
+            // decides its outcome, which the caller reconciles by reloading the case.
+            throw pending(transition, queue.remove(pending));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Update of case " + transition.caseId() + " failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void applyOne(CaseJdbcRepository.Transition transition, Runnable onApplied) {
+        // Set the request's entity manager aside so the transaction gets its own, unless it is
+        // already part of a caller's transaction
+        Object requestEntityManager = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null
+                : TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (caseJdbcRepository.applyTransition(transition) == 0) {
+                    throw conflict(transition);
+                }
+                onApplied.run();
+            });
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+        batchSize.record(1);
+    }
+
+    /**
+     * Collect transitions until the window after the first one closes or the batch is full
+     */
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Workflow write-behind failed on a batch of {} transitions", batch.size(), e);
+                batch.forEach(pending -> pending.done().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                int[] updated = caseJdbcRepository.batchTransitions(batch.stream().map(Pending::transition).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    // Drivers may report Statement.SUCCESS_NO_INFO for batched rows; only 0 means not updated
+                    if (updated[i] != 0) {
+                        batch.get(i).onApplied().run();
+                    }
+                }
+                return updated;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} workflow transitions failed, applying them one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    applyOne(pending.transition(), pending.onApplied());
+                    pending.done().complete(null);
+                } catch (RuntimeException failure) {
+                    pending.done().completeExceptionally(failure);
+                }
+            }
+            return;
+        }
+        batchSize.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            if (counts[i] == 0) {
+                pending.done().completeExceptionally(conflict(pending.transition()));
+            } else {
+                pending.done().complete(null);
+            }
+        }
+    }
+
+    private static TransitionPendingException pending(CaseJdbcRepository.Transition transition, boolean withdrawn) {
+        return new TransitionPendingException(transition.caseId(), transition.expectedVersion(),
+                transition.status().getCode(), withdrawn);
+    }
+
+    /**
+     * Reads the case once more so the client is told what it conflicted with; only on the conflict path
+     */
+    private CaseConflictException conflict(CaseJdbcRepository.Transition transition) {
+        CaseJdbcRepository.CaseState current = caseJdbcRepository.findStates(List.of(transition.caseId())).stream()
+                .findFirst()
+                .orElse(null);
+        return new CaseConflictException(transition.caseId(), transition.expectedVersion(),
+                current == null ? null : CaseStatus.valueOf(current.status()).getCode(),
+                current == null ? null : current.version());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bofa.aml.hra.util;
+
+import com.bofa.aml.hra.exception.ValidationException;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset pagination token built from the (createdDate, caseId) of the last row on a page
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private PageCursor() {
+    }
+
+    public static String encode(LocalDateTime createdDate, String caseId) {
+        String raw = createdDate.toString() + SEPARATOR + caseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token into a keyset scroll position; a blank token starts from the first row
+     */
+    public static ScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid page cursor");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("createdDate", LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put("caseId", raw.substring(separator + 1));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bofa.aml.hra.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, mergeable quantile sketch over non-negative long values with a bounded relative error.
+ * <p>
+ * Values fall into logarithmic buckets whose bounds grow by gamma = (1 + a) / (1 - a), so any
+ * reported quantile is within the relative accuracy a of a value that was recorded. Recording is a
+ * lock-free bucket increment; two sketches with the same parameters merge by adding bucket counts,
+ * which is what lets per-day, per-series sketches be combined into any window. Values below 1 are
+ * counted in a zero bucket and values above the maximum in the last bucket.
+ */
+public final class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final long maxValue;
+    private final double logGamma;
+    private final AtomicLongArray buckets;
+    private final AtomicLong zeroCount = new AtomicLong();
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    public QuantileSketch(double relativeAccuracy, long maxValue) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("Maximum value must be positive");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxValue = maxValue;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        this.buckets = new AtomicLongArray(index(maxValue) + 1);
+    }
+
+    public void record(long value) {
+        if (value < 1) {
+            zeroCount.incrementAndGet();
+        } else {
+            buckets.incrementAndGet(index(Math.min(value, maxValue)));
+        }
+        sum.addAndGet(Math.max(value, 0));
+        count.incrementAndGet();
+    }
+
+    /**
+     * Add another sketch's counts to this one; both must have been created with the same parameters
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.maxValue != maxValue) {
+            throw new IllegalArgumentException("Sketches with different parameters cannot be merged");
+        }
+        for (int i = 0; i < other.buckets.length(); i++) {
+            long bucketCount = other.buckets.get(i);
+            if (bucketCount != 0) {
+                buckets.addAndGet(i, bucketCount);
+            }
+        }
+        zeroCount.addAndGet(other.zeroCount.get());
+        sum.addAndGet(other.sum.get());
+        count.addAndGet(other.count.get());
+    }
+
+    /**
+     * Empty sketch with the same parameters, for merging into
+     */
+    public QuantileSketch emptyCopy() {
+        return new QuantileSketch(relativeAccuracy, maxValue);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double mean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Estimated value at quantile q (0..1), or 0 for an empty sketch
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long total = zeroCount.get();
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (total - 1));
+        long seen = zeroCount.get();
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (rank < seen) {
+                return Math.min(value(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private int index(long value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Midpoint of bucket i, which is within the relative accuracy of every value in the bucket
+     */
+    private double value(int i) {
+        return 2 * Math.exp(i * logGamma) / (1 + Math.exp(logGamma));
+    }
+}
@@ -0,0 +1,108 @@
+package com.bofa.aml.hra.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request-scoped count of JDBC statements, rows fetched and time spent in the driver.
+ * <p>
+ * The query budget filter opens a ledger on the request thread; the instrumented data source adds
+ * to the ledger of the calling thread and does nothing when there is none, so background jobs are
+ * not counted. Executors that load parts of a request concurrently carry the ledger over with
+ * {@link #propagate(Runnable)}, so their statements count towards the request.
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<Ledger> CURRENT = new ThreadLocal<>();
+
+    private QueryAccounting() {
+    }
+
+    public static final class Ledger {
+
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final Map<String, LongAdder> executionsBySql = new ConcurrentHashMap<>();
+
+        public void recordStatement(String sql, long nanos) {
+            statements.increment();
+            jdbcNanos.add(nanos);
+            if (sql != null) {
+                executionsBySql.computeIfAbsent(sql, k -> new LongAdder()).increment();
+            }
+        }
+
+        public void recordRow() {
+            rows.increment();
+        }
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+
+        public long jdbcNanos() {
+            return jdbcNanos.sum();
+        }
+
+        /**
+         * The statement run most often in this request with its count, or null if none ran;
+         * a high count for one SQL string is the signature of an N+1 access pattern
+         */
+        public Map.Entry<String, Long> mostRepeated() {
+            Map.Entry<String, Long> top = null;
+            for (Map.Entry<String, LongAdder> entry : executionsBySql.entrySet()) {
+                long count = entry.getValue().sum();
+                if (top == null || count > top.getValue()) {
+                    top = Map.entry(entry.getKey(), count);
+                }
+            }
+            return top;
+        }
+    }
+
+    public static Ledger begin() {
+        Ledger ledger = new Ledger();
+        CURRENT.set(ledger);
+        return ledger;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The calling thread's ledger, or null outside an accounted request
+     */
+    public static Ledger current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Task decorator: run the task with the submitting thread's ledger, if it has one
+     */
+    public static Runnable propagate(Runnable task) {
+        Ledger ledger = CURRENT.get();
+        if (ledger == null) {
+            return task;
+        }
+        return () -> {
+            Ledger previous = CURRENT.get();
+            CURRENT.set(ledger);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.bofa.aml.hra.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most JDBC statements one call to the annotated endpoint may run, concurrent section loads included.
+ * Checked by the query budget filter: a request over budget is logged and counted, and fails when
+ * app.query-budget.enforce is set, as it should be in tests. A streamed response has been sent by
+ * the time the check runs, so it is only logged.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int statements();
+}
@@ -0,0 +1,26 @@
+package com.bofa.aml.hra.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Helpers for reading the authenticated user from the security context
+ */
+public final class SecurityUtils {
+
+    private static final String ANONYMOUS_USER = "anonymous";
+
+    private SecurityUtils() {
+    }
+
+    /**
+     * Returns the user ID of the caller, or "anonymous" when no user is authenticated
+     */
+    public static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ANONYMOUS_USER;
+        }
+        return authentication.getName();
+    }
+}
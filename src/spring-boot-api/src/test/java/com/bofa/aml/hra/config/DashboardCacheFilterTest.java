@@ -0,0 +1,143 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.service.DashboardResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dashboard GETs answered by {@link DashboardCacheFilter}: replayed hits, 304s, invalidation by a
+ * workflow change and the per-user quick actions.
+ * <p>
+ * The dispatcher servlet is mapped to "/", so the servlet path of a request is its whole path
+ * below the context path; MockMvc leaves it empty unless it is set, as done here.
+ */
+@SpringBootTest(properties = "app.audit.directory=target/test-audit")
+@AutoConfigureMockMvc
+class DashboardCacheFilterTest {
+
+    private static final String WORKFLOW_DISTRIBUTION = "/v1/dashboard/workflow-distribution";
+    private static final String QUICK_ACTIONS = "/v1/dashboard/quick-actions";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DashboardResponseCache responseCache;
+
+    @Autowired
+    private CaseJdbcRepository caseJdbcRepository;
+
+    @Test
+    void repeatedRequestIsReplayedFromTheCache() throws Exception {
+        MockHttpServletResponse first = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", null);
+        long hits = responseCache.stats().hits();
+
+        MockHttpServletResponse second = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", null);
+
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(responseCache.stats().hits()).isEqualTo(hits + 1);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModified() throws Exception {
+        String etag = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", null).getHeader(HttpHeaders.ETAG);
+        long notModified = responseCache.stats().notModified();
+
+        MockHttpServletResponse response = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", "W/" + etag);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(responseCache.stats().notModified()).isEqualTo(notModified + 1);
+    }
+
+    @Test
+    void workflowChangeInvalidatesCachedResponses() throws Exception {
+        String caseId = seedInProgressCase();
+        MockHttpServletResponse before = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", null);
+        String etag = before.getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/v1/workflows/escalate")
+                        .with(user("analyst1"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"caseId\":\"" + caseId + "\",\"escalateTo\":\"gfc\","
+                                + "\"reason\":\"Adverse media hit\",\"version\":0}"))
+                .andExpect(status().isOk());
+        long misses = responseCache.stats().misses();
+
+        MockHttpServletResponse after = dashboard(WORKFLOW_DISTRIBUTION, "analyst1", etag);
+
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(responseCache.stats().misses()).isEqualTo(misses + 1);
+        assertThat(after.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(after.getContentAsString()).isNotEqualTo(before.getContentAsString());
+    }
+
+    @Test
+    void quickActionsAreCachedPerUser() throws Exception {
+        String path = QUICK_ACTIONS + "?userRole=hra-analyst";
+        String firstUser = dashboard(path, "qa-analyst1", null).getHeader(HttpHeaders.ETAG);
+        long misses = responseCache.stats().misses();
+
+        MockHttpServletResponse otherUser = dashboard(path, "qa-analyst2", firstUser);
+
+        assertThat(otherUser.getStatus()).isEqualTo(200);
+        assertThat(responseCache.stats().misses()).isEqualTo(misses + 1);
+        assertThat(otherUser.getHeader(HttpHeaders.ETAG)).isNotEqualTo(firstUser);
+        assertThat(dashboard(path, "qa-analyst1", firstUser).getStatus()).isEqualTo(304);
+    }
+
+    private MockHttpServletResponse dashboard(String pathAndQuery, String userId, String ifNoneMatch)
+            throws Exception {
+        String path = pathAndQuery.contains("?") ? pathAndQuery.substring(0, pathAndQuery.indexOf('?')) : pathAndQuery;
+        var request = get(pathAndQuery).servletPath(path).with(user(userId));
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private String seedInProgressCase() {
+        String caseId = "DC" + System.nanoTime() % 100_000_000L;
+        LocalDateTime createdDate = LocalDateTime.now().minusDays(1);
+        caseJdbcRepository.batchInsert(List.of(Case.builder()
+                .caseId(caseId)
+                .clientId("CL" + caseId)
+                .clientName("Test Client " + caseId)
+                .clientType("Corporate")
+                .status(CaseStatus.IN_PROGRESS)
+                .priority("high")
+                .riskRating("High")
+                .lob("Global Banking")
+                .jurisdiction("United States")
+                .assignedAnalyst("analyst1")
+                .createdDate(createdDate)
+                .dueDate(createdDate.toLocalDate().plusDays(30))
+                .assignedDate(createdDate.plusHours(1))
+                .build()));
+        return caseId;
+    }
+}
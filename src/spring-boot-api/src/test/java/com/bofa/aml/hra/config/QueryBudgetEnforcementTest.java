@@ -0,0 +1,135 @@
+package com.bofa.aml.hra.config;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.util.QueryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Every endpoint with a {@link QueryBudget} stays within it with the budget enforced, so a request
+ * over budget fails instead of being logged.
+ */
+@SpringBootTest(properties = {
+        "app.audit.directory=target/test-audit",
+        "app.query-budget.enforce=true"
+})
+@AutoConfigureMockMvc
+class QueryBudgetEnforcementTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CaseJdbcRepository caseJdbcRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void everyBudgetedEndpointStaysWithinItsBudget() throws Exception {
+        String caseId = seedInProgressCase("QB00001");
+        String clientId = "CL" + caseId;
+        seedInProgressCase("QB00002");
+        List<MockHttpServletRequestBuilder> requests = List.of(
+                get("/v1/risk-assessment/companies/search").param("query", "Test"),
+                get("/v1/risk-assessment/customer/{clientId}", clientId),
+                get("/v1/risk-assessment/case-view/{caseId}", caseId),
+                get("/v1/risk-assessment/crr-factors/{caseId}", caseId),
+                get("/v1/risk-assessment/crr-snapshots"),
+                get("/v1/risk-assessment/crr-diffs/{clientId}", clientId),
+                // JSON as well, for the not-found answer when no snapshots were imported
+                get("/v1/risk-assessment/crr-diffs").accept("application/x-ndjson", "application/json"),
+                get("/v1/risk-assessment/additional-factors/{caseId}", caseId),
+                get("/v1/risk-assessment/mitigants/{caseId}", caseId),
+                get("/v1/dashboard/risk-overview"),
+                get("/v1/dashboard/workflow-distribution"),
+                get("/v1/dashboard/escalation-trends"),
+                get("/v1/dashboard/turnaround-times"),
+                get("/v1/dashboard/recent-activity"),
+                get("/v1/dashboard/quick-actions").param("userRole", "hra-analyst"),
+                get("/v1/dashboard/team-capacity"),
+                get("/v1/dashboard/summary").param("userRole", "hra-analyst"),
+                get("/v1/reports/available-reports"),
+                get("/v1/workflows/workbasket/my-cases"),
+                get("/v1/workflows/work-queue"),
+                post("/v1/workflows/get-next-case"),
+                post("/v1/workflows/cases/{caseId}/open", "QB00002"),
+                get("/v1/workflows/audit").param("caseId", caseId));
+
+        Set<String> covered = new HashSet<>();
+        for (MockHttpServletRequestBuilder request : requests) {
+            // An endpoint over its budget throws QueryBudgetExceededException out of perform
+            MvcResult result = mockMvc.perform(request.with(user("analyst1")).with(csrf())).andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result = mockMvc.perform(asyncDispatch(result)).andReturn();
+            }
+            assertThat(result.getResponse().getStatus())
+                    .as(result.getRequest().getRequestURI())
+                    .isLessThan(500);
+            covered.add((String) result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        }
+
+        assertThat(covered).containsAll(budgetedPatterns());
+        assertThat(meterRegistry.find("hra.request.query.budget.exceeded").counters())
+                .extracting(Counter::count)
+                .allMatch(count -> count == 0);
+    }
+
+    private Set<String> budgetedPatterns() {
+        return handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(mapping -> mapping.getValue().hasMethodAnnotation(QueryBudget.class))
+                .map(Map.Entry::getKey)
+                .flatMap(info -> info.getPatternValues().stream())
+                .collect(Collectors.toSet());
+    }
+
+    private String seedInProgressCase(String caseId) {
+        LocalDateTime createdDate = LocalDateTime.now().minusDays(1);
+        caseJdbcRepository.batchInsert(List.of(Case.builder()
+                .caseId(caseId)
+                .clientId("CL" + caseId)
+                .clientName("Test Client " + caseId)
+                .clientType("Corporate")
+                .status(CaseStatus.IN_PROGRESS)
+                .priority("high")
+                .riskRating("High")
+                .lob("Global Banking")
+                .jurisdiction("United States")
+                .assignedAnalyst("analyst1")
+                .createdDate(createdDate)
+                .dueDate(createdDate.toLocalDate().plusDays(30))
+                .assignedDate(createdDate.plusHours(1))
+                .build()));
+        return caseId;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bofa.aml.hra.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The audit journal on its own, in a temporary directory, with segments of the smallest size
+ */
+class AuditJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void closeJournal() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void fullSegmentIsRotatedAndReplayedInOrder() throws Exception {
+        journal = open();
+        // About 10 KB each, so a 1 MB segment fills after roughly a hundred
+        String padding = "x".repeat(10_000);
+        for (int i = 0; i < 250; i++) {
+            journal.record("escalated", "C" + i, "analyst1", Map.of("reason", padding));
+        }
+
+        assertThat(journal.segmentCount()).isGreaterThanOrEqualTo(3);
+        assertThat(segmentFiles()).hasSize(journal.segmentCount());
+        assertThat(sequences(journal, 1)).hasSize(250).isSorted().startsWith(1L).endsWith(250L);
+        assertThat(sequences(journal, 200)).hasSize(51).startsWith(200L);
+    }
+
+    @Test
+    void reopenedJournalContinuesAfterTheLastRecord() throws Exception {
+        journal = open();
+        journal.record("escalated", "C1", "analyst1", Map.of("escalatedTo", "gfc"));
+        journal.record("returned", "C1", "analyst2", Map.of("reason", "Missing documents"));
+        journal.close();
+
+        journal = open();
+        assertThat(journal.lastSequence()).isEqualTo(2);
+        journal.record("escalated", "C1", "analyst1", Map.of("escalatedTo", "flu-aml"));
+
+        List<AuditJournal.Entry> entries = journal.query("C1", null, null, 10);
+        assertThat(entries).extracting(AuditJournal.Entry::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(entries).extracting(AuditJournal.Entry::action).containsExactly("escalated", "returned", "escalated");
+        assertThat(entries.get(1).userId()).isEqualTo("analyst2");
+        assertThat(entries.get(1).details()).containsEntry("reason", "Missing documents");
+    }
+
+    @Test
+    void preparedRecordsAreHiddenUntilTheirCommitMarker() throws Exception {
+        journal = open();
+        journal.record("escalated", "C1", "analyst1", Map.of());
+
+        // Committed: shown at once, and after a restart thanks to the marker
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> journal.record("returned", "C1", "analyst1", Map.of()));
+        // Rolled back after the records were prepared: never shown
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> journal.record("escalated", "C2", "analyst1", Map.of()));
+        // The process stops between preparing and committing: no marker is ever written
+        TransactionSynchronizationManager.initSynchronization();
+        journal.record("escalated", "C3", "analyst1", Map.of());
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(journal);
+
+        assertThat(actions(journal)).containsExactly("C1 escalated", "C1 returned");
+        journal.close();
+
+        journal = open();
+        assertThat(actions(journal)).containsExactly("C1 escalated", "C1 returned");
+        assertThat(journal.query("C3", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void queryFiltersByCaseAndTimeRange() throws Exception {
+        journal = open();
+        journal.record("escalated", "C1", "analyst1", Map.of());
+        journal.record("escalated", "C2", "analyst1", Map.of());
+        Instant from = pause();
+        journal.record("returned", "C1", "analyst1", Map.of());
+        journal.record("returned", "C2", "analyst1", Map.of());
+        Instant to = pause();
+        journal.record("completed", "C1", "analyst1", Map.of());
+
+        assertThat(journal.query("C1", null, null, 10)).extracting(AuditJournal.Entry::action)
+                .containsExactly("escalated", "returned", "completed");
+        assertThat(journal.query("C1", from, to, 10)).extracting(AuditJournal.Entry::action)
+                .containsExactly("returned");
+        assertThat(journal.query(null, from, to, 10)).extracting(AuditJournal.Entry::caseId)
+                .containsExactly("C1", "C2");
+        assertThat(journal.query(null, from, null, 10)).hasSize(3);
+        assertThat(journal.query(null, null, to, 10)).hasSize(4);
+        assertThat(journal.query(null, null, null, 2)).extracting(AuditJournal.Entry::sequence)
+                .containsExactly(1L, 2L);
+    }
+
+    private AuditJournal open() throws IOException {
+        return new AuditJournal(directory.toString(), 1, AuditJournal.FsyncPolicy.ALWAYS, 1000, 512, 10_000, 5000);
+    }
+
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * A time strictly after every record so far and before every later one
+     */
+    private static Instant pause() throws InterruptedException {
+        Thread.sleep(5);
+        Instant instant = Instant.now();
+        Thread.sleep(5);
+        return instant;
+    }
+
+    private static List<Long> sequences(AuditJournal journal, long fromSequence) {
+        List<Long> sequences = new ArrayList<>();
+        journal.replay(fromSequence, entry -> sequences.add(entry.sequence()));
+        return sequences;
+    }
+
+    private static List<String> actions(AuditJournal journal) {
+        List<String> actions = new ArrayList<>();
+        journal.replay(1, entry -> actions.add(entry.caseId() + " " + entry.action()));
+        return actions;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).toList();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.bofa.aml.hra.repository.ReportJdbcRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Reports streamed in the response and generated as background jobs, through the API
+ */
+@SpringBootTest(properties = {
+        "app.audit.directory=target/test-audit",
+        "app.reports.directory=target/test-reports"
+})
+@AutoConfigureMockMvc
+class ReportExportTest {
+
+    private static final String LOB = "Report Test Banking";
+    private static final int CASES = 3;
+    private static final Path REPORTS = Path.of("target/test-reports");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CaseJdbcRepository caseJdbcRepository;
+
+    @SpyBean
+    private ReportJdbcRepository reportJdbcRepository;
+
+    private final List<String> caseIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedCases() {
+        LocalDateTime createdDate = LocalDateTime.now().minusDays(1);
+        List<Case> cases = new ArrayList<>();
+        for (int i = 1; i <= CASES; i++) {
+            String caseId = String.format("RP%05d", i);
+            caseIds.add(caseId);
+            cases.add(Case.builder()
+                    .caseId(caseId)
+                    .clientId("CL" + caseId)
+                    // A comma and a quote, which CSV has to escape
+                    .clientName("Client \"" + i + "\", Ltd")
+                    .clientType("Corporate")
+                    .status(CaseStatus.IN_PROGRESS)
+                    .priority("high")
+                    .riskRating("High")
+                    .lob(LOB)
+                    .jurisdiction("United States")
+                    .assignedAnalyst("analyst1")
+                    .createdDate(createdDate)
+                    .dueDate(createdDate.toLocalDate().plusDays(30))
+                    .assignedDate(createdDate.plusHours(1))
+                    .build());
+        }
+        // Once per context; every test reports on the same cases
+        if (caseJdbcRepository.findStates(caseIds).isEmpty()) {
+            caseJdbcRepository.batchInsert(cases);
+        }
+    }
+
+    @Test
+    void csvReportIsStreamed() throws Exception {
+        MockHttpServletResponse response = streamed("csv");
+
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .startsWith("attachment").contains("case-detail-").contains(".csv");
+        String[] lines = response.getContentAsString().split("\r\n");
+        assertThat(lines).hasSize(CASES + 1);
+        assertThat(lines[0]).startsWith("caseId,clientId,clientName,");
+        assertThat(lines[1]).startsWith("RP00001,CLRP00001,\"Client \"\"1\"\", Ltd\",Corporate,in-progress,");
+    }
+
+    @Test
+    void jsonLinesReportIsStreamed() throws Exception {
+        MockHttpServletResponse response = streamed("jsonl");
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(CASES);
+        List<String> reported = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertThat(row.get("lob").asText()).isEqualTo(LOB);
+            reported.add(row.get("caseId").asText());
+        }
+        assertThat(reported).containsExactlyElementsOf(caseIds);
+        assertThat(objectMapper.readTree(lines[0]).get("clientName").asText()).isEqualTo("Client \"1\", Ltd");
+    }
+
+    @Test
+    void jobFileIsDownloadedFromARange() throws Exception {
+        String jobId = startJob("csv");
+        assertThat(awaitJob(jobId)).isEqualTo("completed");
+
+        byte[] whole = mockMvc.perform(get("/v1/reports/jobs/{jobId}/file", jobId).with(user("analyst1")))
+                .andReturn().getResponse().getContentAsByteArray();
+        MockHttpServletResponse rest = mockMvc.perform(get("/v1/reports/jobs/{jobId}/file", jobId)
+                        .with(user("analyst1"))
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andReturn().getResponse();
+
+        assertThat(new String(whole)).startsWith("caseId,").contains("RP00003");
+        assertThat(rest.getStatus()).isEqualTo(206);
+        assertThat(rest.getHeader(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes 10-" + (whole.length - 1) + "/" + whole.length);
+        assertThat(rest.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(whole, 10, whole.length));
+    }
+
+    @Test
+    void failedJobLeavesNoPartialFile() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Connection reset"))
+                .when(reportJdbcRepository).scan(any(), any(), any());
+
+        String jobId = startJob("jsonl");
+
+        assertThat(awaitJob(jobId)).isEqualTo("failed");
+        assertThat(reportFiles(jobId)).isEmpty();
+        mockMvc.perform(get("/v1/reports/jobs/{jobId}/file", jobId).with(user("analyst1")))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isEqualTo(404));
+    }
+
+    private MockHttpServletResponse streamed(String format) throws Exception {
+        MvcResult started = mockMvc.perform(post("/v1/reports/generate")
+                        .with(user("analyst1"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reportRequest(format)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        return response;
+    }
+
+    private String startJob(String format) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(post("/v1/reports/jobs")
+                        .with(user("analyst1"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reportRequest(format)))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(202);
+        return objectMapper.readTree(response.getContentAsString()).at("/data/jobId").asText();
+    }
+
+    /**
+     * Poll the job until it is no longer queued or running
+     */
+    private String awaitJob(String jobId) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            String body = mockMvc.perform(get("/v1/cases/bulk-jobs/{jobId}", jobId).with(user("analyst1")))
+                    .andReturn().getResponse().getContentAsString();
+            String status = objectMapper.readTree(body).at("/data/status").asText();
+            if (!status.equals("queued") && !status.equals("running") || System.nanoTime() > deadline) {
+                return status;
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private String reportRequest(String format) {
+        return "{\"reportType\":\"case-detail\",\"format\":\"" + format + "\",\"lob\":\"" + LOB + "\"}";
+    }
+
+    private static List<Path> reportFiles(String jobId) throws IOException {
+        try (Stream<Path> files = Files.list(REPORTS)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(jobId)).toList();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.Case;
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Escalations and returns made through the API at the same time as each other.
+ * <p>
+ * Requests go through MockMvc so they run with the request's open-in-view persistence context, as
+ * in production; calling the services directly would not hold the case in a persistence context
+ * across the conditional update.
+ */
+@SpringBootTest(properties = "app.audit.directory=target/test-audit")
+@AutoConfigureMockMvc
+class WorkflowTransitionConcurrencyTest {
+
+    static final int THREADS = 8;
+    private static final AtomicInteger NEXT_CASE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CaseJdbcRepository caseJdbcRepository;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Test
+    void escalationAndReturnAreAppliedOnce() throws Exception {
+        String caseId = seedInProgressCase();
+
+        escalate(caseId, 0L)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("escalated"))
+                .andExpect(jsonPath("$.data.version").value(1));
+        returnCase(caseId, 1L)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("returned"))
+                .andExpect(jsonPath("$.data.version").value(2));
+
+        CaseJdbcRepository.CaseState state = state(caseId);
+        assertThat(state.status()).isEqualTo(CaseStatus.RETURNED.name());
+        assertThat(state.version()).isEqualTo(2);
+    }
+
+    @Test
+    void staleVersionIsRejectedAsConflict() throws Exception {
+        String caseId = seedInProgressCase();
+        escalate(caseId, 0L).andExpect(status().isOk());
+
+        returnCase(caseId, 0L)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error.code").value("CASE_CONFLICT"))
+                .andExpect(jsonPath("$.error.details.expectedVersion").value(0))
+                .andExpect(jsonPath("$.error.details.currentVersion").value(1));
+
+        assertThat(state(caseId).status()).isEqualTo(CaseStatus.ESCALATED.name());
+    }
+
+    @Test
+    void concurrentEscalationsOfOneCaseHaveOneWinner() throws Exception {
+        String caseId = seedInProgressCase();
+
+        // All at the version they saw; a request that reads the case after the winner still conflicts
+        List<Integer> statuses = runConcurrently(worker ->
+                escalate(caseId, 0L).andReturn().getResponse().getStatus());
+
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 409).hasSize(THREADS - 1);
+        CaseJdbcRepository.CaseState state = state(caseId);
+        assertThat(state.status()).isEqualTo(CaseStatus.ESCALATED.name());
+        assertThat(state.version()).isEqualTo(1);
+    }
+
+    @Test
+    void noTransitionIsLostUnderContention() throws Exception {
+        List<String> caseIds = List.of(seedInProgressCase(), seedInProgressCase(), seedInProgressCase());
+        long firstSequence = auditJournal.lastSequence() + 1;
+        AtomicLong applied = new AtomicLong();
+
+        // Every worker keeps escalating and returning the same few cases at the version it last read
+        runConcurrently(worker -> {
+            for (int round = 0; round < 20; round++) {
+                CaseJdbcRepository.CaseState state = state(caseIds.get((worker + round) % caseIds.size()));
+                int status = CaseStatus.ESCALATED.name().equals(state.status())
+                        ? returnCase(state.caseId(), state.version()).andReturn().getResponse().getStatus()
+                        : escalate(state.caseId(), state.version()).andReturn().getResponse().getStatus();
+                assertThat(status).isIn(200, 409);
+                if (status == 200) {
+                    applied.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        long versions = caseJdbcRepository.findStates(caseIds).stream()
+                .mapToLong(CaseJdbcRepository.CaseState::version)
+                .sum();
+        Set<String> contended = Set.copyOf(caseIds);
+        AtomicLong audited = new AtomicLong();
+        auditJournal.replay(firstSequence, entry -> {
+            if (contended.contains(entry.caseId())) {
+                audited.incrementAndGet();
+            }
+            return true;
+        });
+        assertThat(applied.get()).isPositive();
+        assertThat(versions).isEqualTo(applied.get());
+        assertThat(audited.get()).isEqualTo(applied.get());
+    }
+
+    interface Worker<T> {
+        T run(int worker) throws Exception;
+    }
+
+    /**
+     * Run the worker on THREADS threads released at the same moment
+     */
+    static <T> List<T> runConcurrently(Worker<T> worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                Callable<T> task = () -> {
+                    start.await();
+                    return worker.run(index);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(THREADS);
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    ResultActions escalate(String caseId, Long version) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("caseId", caseId);
+        body.put("escalateTo", "gfc");
+        body.put("reason", "Adverse media hit");
+        body.put("version", version);
+        return perform("/v1/workflows/escalate", body);
+    }
+
+    ResultActions returnCase(String caseId, Long version) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("caseId", caseId);
+        body.put("reason", "Missing ownership documents");
+        body.put("version", version);
+        return perform("/v1/workflows/return", body);
+    }
+
+    ResultActions perform(String path, Map<String, Object> body) throws Exception {
+        return mockMvc.perform(post(path)
+                .with(user("analyst1"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+
+    CaseJdbcRepository.CaseState state(String caseId) {
+        return caseJdbcRepository.findStates(List.of(caseId)).get(0);
+    }
+
+    String seedInProgressCase() {
+        String caseId = String.format("TC%05d", NEXT_CASE.incrementAndGet());
+        LocalDateTime createdDate = LocalDateTime.now().minusDays(1);
+        caseJdbcRepository.batchInsert(List.of(Case.builder()
+                .caseId(caseId)
+                .clientId("CL" + caseId)
+                .clientName("Test Client " + caseId)
+                .clientType("Corporate")
+                .status(CaseStatus.IN_PROGRESS)
+                .priority("high")
+                .riskRating("High")
+                .lob("Global Banking")
+                .jurisdiction("United States")
+                .assignedAnalyst("analyst1")
+                .createdDate(createdDate)
+                .dueDate(createdDate.toLocalDate().plusDays(30))
+                .assignedDate(createdDate.plusHours(1))
+                .build()));
+        return caseId;
+    }
+}
@@ -0,0 +1,142 @@
+package com.bofa.aml.hra.service;
+
+import com.bofa.aml.hra.model.CaseStatus;
+import com.bofa.aml.hra.repository.CaseJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The concurrency tests again with write-behind on, plus the batch, fallback and timeout paths of
+ * the writer. Every transition must be applied and audited exactly once, or not at all.
+ */
+@SpringBootTest(properties = {
+        "app.audit.directory=target/test-audit-write-behind",
+        "app.workflow.write-behind.enabled=true",
+        "app.workflow.write-behind.window-ms=50",
+        "app.workflow.write-behind.timeout-ms=2000"
+})
+class WorkflowTransitionWriteBehindTest extends WorkflowTransitionConcurrencyTest {
+
+    @SpyBean
+    private CaseJdbcRepository caseJdbcRepository;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentTransitionsShareACommit() throws Exception {
+        List<String> caseIds = seedInProgressCases();
+        long firstSequence = auditJournal.lastSequence() + 1;
+
+        List<Integer> statuses = runConcurrently(worker ->
+                escalate(caseIds.get(worker), 0L).andReturn().getResponse().getStatus());
+
+        assertThat(statuses).containsOnly(200);
+        assertAppliedOnce(caseIds, firstSequence);
+        assertThat(meterRegistry.find("hra.workflow.transitions.batch").summary().max()).isGreaterThan(1);
+    }
+
+    @Test
+    void failedBatchIsAppliedOneByOne() throws Exception {
+        List<String> caseIds = seedInProgressCases();
+        long firstSequence = auditJournal.lastSequence() + 1;
+        doThrow(new DataAccessResourceFailureException("Connection reset"))
+                .doCallRealMethod()
+                .when(caseJdbcRepository).batchTransitions(anyList());
+
+        List<Integer> statuses = runConcurrently(worker ->
+                escalate(caseIds.get(worker), 0L).andReturn().getResponse().getStatus());
+
+        assertThat(statuses).containsOnly(200);
+        assertAppliedOnce(caseIds, firstSequence);
+        verify(caseJdbcRepository, atLeast(1)).batchTransitions(anyList());
+    }
+
+    @Test
+    void timedOutTransitionIsReportedAsPendingOrWithdrawn() throws Exception {
+        String taken = seedInProgressCase();
+        String queued = seedInProgressCase();
+        long firstSequence = auditJournal.lastSequence() + 1;
+        // The writer takes the first transition and stalls past the callers' timeout
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(4000);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(caseJdbcRepository).batchTransitions(anyList());
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return escalate(taken, 0L)
+                        .andExpect(jsonPath("$.error.code").value("TRANSITION_PENDING"))
+                        .andExpect(jsonPath("$.error.details.submittedVersion").value(0))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(500);
+        escalate(queued, 0L)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error.code").value("TRANSITION_WITHDRAWN"))
+                .andExpect(jsonPath("$.error.details.withdrawn").value(true));
+        assertThat(first.get(30, TimeUnit.SECONDS)).isEqualTo(202);
+
+        // The taken transition still lands once the writer resumes; the withdrawn one never does
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (state(taken).version() == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertAppliedOnce(List.of(taken), firstSequence);
+        assertThat(state(queued).version()).isZero();
+        assertThat(state(queued).status()).isEqualTo(CaseStatus.IN_PROGRESS.name());
+        assertThat(audited(queued, firstSequence)).isEmpty();
+    }
+
+    private List<String> seedInProgressCases() {
+        List<String> caseIds = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            caseIds.add(seedInProgressCase());
+        }
+        return caseIds;
+    }
+
+    private void assertAppliedOnce(List<String> caseIds, long firstSequence) {
+        for (String caseId : caseIds) {
+            CaseJdbcRepository.CaseState state = state(caseId);
+            assertThat(state.status()).as(caseId).isEqualTo(CaseStatus.ESCALATED.name());
+            assertThat(state.version()).as(caseId).isEqualTo(1);
+            assertThat(audited(caseId, firstSequence)).as(caseId).hasSize(1);
+        }
+    }
+
+    /**
+     * Audit records of the case from this run; the journal directory outlives the test database
+     */
+    private List<AuditJournal.Entry> audited(String caseId, long firstSequence) {
+        return auditJournal.query(caseId, null, null, 10).stream()
+                .filter(entry -> entry.sequence() >= firstSequence)
+                .toList();
+    }
+}